@@ -0,0 +1,123 @@
+package com.example.studypartner;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.view.ContextThemeWrapper;
+import android.widget.FrameLayout;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.studypartner.adapter.SectionedUserAdapter;
+import com.example.studypartner.data.database.ConnectionsDB;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
+import com.example.studypartner.data.model.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented test checking that tapping the like icon on a match card
+ * stores a request from the logged-in user to the card's user, through the
+ * hosting screen's DatabaseScope, so it shows up when the liked user's Likes
+ * tab reloads.
+ */
+@RunWith(AndroidJUnit4.class)
+public class LikePersistenceInstrumentedTest {
+
+    // The like is stored in the background; how long to wait for it
+    private static final long LIKE_TIMEOUT_MS = 5000;
+
+    private Instrumentation instrumentation;
+    private DatabaseManager manager;
+    private DatabaseScope scope;
+    private String senderEmail;
+    private String receiverEmail;
+
+    @Before
+    public void createUsers() throws Exception {
+        instrumentation = InstrumentationRegistry.getInstrumentation();
+        manager = DatabaseManager.getInstance(instrumentation.getTargetContext());
+
+        // Unique accounts, so an interrupted earlier run cannot collide
+        long run = System.currentTimeMillis();
+        senderEmail = "liker" + run + "@example.com";
+        receiverEmail = "liked" + run + "@example.com";
+
+        boolean created = manager.submit((users, connections) ->
+                users.insertUser(senderEmail, "password")
+                        && users.insertUser(receiverEmail, "password")).get();
+        assertTrue(created);
+    }
+
+    @After
+    public void deleteUsers() throws Exception {
+        if (scope != null) {
+            instrumentation.runOnMainSync(scope::cancel);
+        }
+        String[] emails = {senderEmail, receiverEmail};
+        manager.submit((users, connections) -> {
+            SQLiteDatabase db = users.getWritableDatabase();
+            String testUserIds = "(SELECT ID FROM users WHERE EMAIL IN (?, ?))";
+            db.delete(ConnectionsDB.TABLE_NAME, ConnectionsDB.COL_SENDER_ID + " IN " + testUserIds +
+                    " OR " + ConnectionsDB.COL_RECEIVER_ID + " IN " + testUserIds,
+                    new String[]{senderEmail, receiverEmail, senderEmail, receiverEmail});
+            db.delete("users", "EMAIL IN (?, ?)", emails);
+            return null;
+        }).get();
+    }
+
+    @Test
+    public void likeTappedOnCardSurvivesReloadingLikesTab() throws Exception {
+        Context themed = new ContextThemeWrapper(instrumentation.getTargetContext(), R.style.Theme_studyPartner);
+        User liked = new User(receiverEmail);
+
+        // Bind the liked user's card as the Match tab does, storing likes through
+        // the screen's scope, and tap its like icon
+        boolean[] clicked = {false};
+        instrumentation.runOnMainSync(() -> {
+            scope = manager.newScope();
+            SectionedUserAdapter adapter = new SectionedUserAdapter(
+                    Collections.singletonMap("Biology", Collections.singletonList(liked)));
+            adapter.setOnLikeListener(likedUser -> scope.write((users, connections) ->
+                    connections.insertConnectionRequest(senderEmail, likedUser.getEmail()), null));
+            int cardPosition = 1;
+            RecyclerView.ViewHolder holder = adapter.onCreateViewHolder(new FrameLayout(themed),
+                    adapter.getItemViewType(cardPosition));
+            adapter.onBindViewHolder(holder, cardPosition);
+            clicked[0] = holder.itemView.findViewById(R.id.toggleIcon).performClick();
+        });
+        assertTrue(clicked[0]);
+
+        // Same query the Likes tab runs when it loads
+        long deadline = System.currentTimeMillis() + LIKE_TIMEOUT_MS;
+        while (!containsEmail(manager.submit((users, connections) ->
+                connections.getLikes(receiverEmail)).get(), senderEmail)) {
+            assertTrue("Like was not stored", System.currentTimeMillis() < deadline);
+            Thread.sleep(50);
+        }
+
+        // The request goes one way only
+        assertFalse(containsEmail(manager.submit((users, connections) ->
+                connections.getLikes(senderEmail)).get(), receiverEmail));
+    }
+
+    private static boolean containsEmail(List<User> users, String email) {
+        for (User user : users) {
+            if (email.equals(user.getEmail())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
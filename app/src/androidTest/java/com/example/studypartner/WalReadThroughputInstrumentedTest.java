@@ -0,0 +1,147 @@
+package com.example.studypartner;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.ProfileUpdate;
+import com.example.studypartner.data.database.UserProjection;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented benchmark of read throughput on the WAL connection pool:
+ * profile lookups from one thread per pooled reader, first on an idle
+ * database, then while another thread commits profile edits back to back.
+ * With write-ahead logging the readers keep going during the writes.
+ */
+@RunWith(AndroidJUnit4.class)
+public class WalReadThroughputInstrumentedTest {
+
+    private static final String TAG = "WalReadThroughput";
+
+    private static final int USERS = 200;
+    private static final long RUN_MS = 2000;
+
+    // Reads during writes must keep at least this share of idle throughput
+    private static final double MIN_SHARE_DURING_WRITES = 0.25;
+
+    private DatabaseManager manager;
+    private final List<String> emails = new ArrayList<>();
+    private String writerEmail;
+
+    @Before
+    public void createUsers() throws Exception {
+        manager = DatabaseManager.getInstance(InstrumentationRegistry.getInstrumentation().getTargetContext());
+
+        // Unique accounts, so an interrupted earlier run cannot collide
+        long run = System.currentTimeMillis();
+        for (int i = 0; i < USERS; i++) {
+            emails.add("reader" + i + "-" + run + "@example.com");
+        }
+        writerEmail = "writer" + run + "@example.com";
+
+        boolean created = manager.submit((users, connections) -> {
+            boolean ok = users.insertUser(writerEmail, "password");
+            for (String email : emails) {
+                ok &= users.insertUser(email, "password");
+            }
+            return ok;
+        }).get();
+        assertTrue(created);
+    }
+
+    @After
+    public void deleteUsers() throws Exception {
+        List<String> all = new ArrayList<>(emails);
+        all.add(writerEmail);
+        manager.submit((users, connections) -> {
+            for (String email : all) {
+                users.getWritableDatabase().delete("users", "EMAIL = ?", new String[]{email});
+            }
+            return null;
+        }).get();
+    }
+
+    @Test
+    public void readsKeepGoingWhileWritesCommit() throws Exception {
+        DatabaseHelper users = manager.getUserDatabase();
+        int readers = manager.getWalPoolSize() - 1;
+
+        // Warm up the reader connections and the query cache
+        measure(users, readers, false);
+
+        double idle = measure(users, readers, false)[0];
+        double[] busy = measure(users, readers, true);
+
+        String report = String.format(Locale.US,
+                "%d readers: %.0f reads/s idle, %.0f reads/s during %.0f writes/s (%.0f%%)",
+                readers, idle, busy[0], busy[1], 100 * busy[0] / idle);
+        Log.i(TAG, report);
+
+        assertTrue("No writes committed: " + report, busy[1] > 0);
+        assertTrue("Reads stalled behind writes: " + report, busy[0] >= idle * MIN_SHARE_DURING_WRITES);
+    }
+
+    /**
+     * Runs the readers, and optionally one writer, for {@link #RUN_MS}.
+     *
+     * @return {reads per second, writes per second}
+     */
+    private double[] measure(DatabaseHelper users, int readers, boolean withWriter) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        AtomicLong missing = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int r = 0; r < readers; r++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    String email = emails.get(random.nextInt(emails.size()));
+                    if (users.getUserInfoByEmail(email, UserProjection.LIST_CARD) == null) {
+                        missing.incrementAndGet();
+                    }
+                    reads.incrementAndGet();
+                }
+            }, "benchmark-reader-" + r));
+        }
+        if (withWriter) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; running.get(); i++) {
+                    users.updateProfile(new ProfileUpdate(writerEmail).setOccupation("Run " + i));
+                    writes.incrementAndGet();
+                }
+            }, "benchmark-writer"));
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(RUN_MS);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals("Lookups found no user", 0, missing.get());
+        return new double[]{reads.get() / seconds, writes.get() / seconds};
+    }
+}
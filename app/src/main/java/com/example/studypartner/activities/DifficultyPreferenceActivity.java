@@ -1,7 +1,6 @@
 package com.example.studypartner.activities;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.widget.Button;
 import android.widget.RadioButton;
@@ -11,7 +10,6 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
 
 /**
  * DifficultyPreferenceActivity
@@ -23,23 +21,16 @@ import com.example.studypartner.data.database.DatabaseHelper;
  * Features:
  * - Single difficulty level selection via radio group
  * - Validation to ensure a difficulty is selected
- * - Saves selection to database linked to user's email
+ * - Carries the selection forward; the profile is saved once, at the end of setup
  * - Navigates to social media input screen upon completion
  *
  */
 public class DifficultyPreferenceActivity extends AppCompatActivity {
 
-    private static final String PREFS_NAME = "UserPrefs";
-    private static final String KEY_USER_EMAIL = "userEmail";
-
     // UI Components
     private RadioGroup difficultyRadioGroup;
     private Button saveButton;
 
-    // Business Logic
-    private DatabaseHelper databaseHelper;
-    private SharedPreferences sharedPreferences;
-
     /**
      * Initializes the difficulty preference activity and sets up UI components.
      *
@@ -50,17 +41,8 @@ public class DifficultyPreferenceActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_difficulty_preference);
 
-        initializeComponents();
-        setupClickListeners();
-    }
-
-    /**
-     * Initializes all components including views and database helper.
-     */
-    private void initializeComponents() {
         initializeViews();
-        initializeDatabase();
-        initializeSharedPreferences();
+        setupClickListeners();
     }
 
     /**
@@ -71,20 +53,6 @@ public class DifficultyPreferenceActivity extends AppCompatActivity {
         saveButton = findViewById(R.id.btnSaveDifficulty);
     }
 
-    /**
-     * Initializes the database helper.
-     */
-    private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
-    }
-
-    /**
-     * Initializes SharedPreferences for accessing user session data.
-     */
-    private void initializeSharedPreferences() {
-        sharedPreferences = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
-    }
-
     /**
      * Sets up click listeners for interactive UI components.
      */
@@ -94,14 +62,13 @@ public class DifficultyPreferenceActivity extends AppCompatActivity {
 
     /**
      * Handles the save button click.
-     * Collects selected difficulty, validates, saves, and navigates to next screen.
+     * Collects selected difficulty, validates, and navigates to next screen.
      */
     private void handleSave() {
         String selectedDifficulty = getSelectedDifficulty();
 
         if (validateDifficultySelection(selectedDifficulty)) {
-            saveDifficultyToDatabase(selectedDifficulty);
-            navigateToInputSocials();
+            navigateToInputSocials(selectedDifficulty);
         } else {
             showErrorMessage("Please select a difficulty level");
         }
@@ -134,54 +101,19 @@ public class DifficultyPreferenceActivity extends AppCompatActivity {
     }
 
     /**
-     * Saves selected difficulty level to database for the current logged-in user.
+     * Navigates to the social media input activity, passing along the
+     * profile collected so far.
      *
      * @param difficulty Selected difficulty level
      */
-    private void saveDifficultyToDatabase(String difficulty) {
-        String userEmail = getUserEmail();
-
-        if (userEmail == null) {
-            showErrorMessage("User not logged in");
-            return;
-        }
-
-        boolean isUpdated = databaseHelper.updateUserStudyDifficultyLevel(userEmail, difficulty);
-
-        if (isUpdated) {
-            showSuccessMessage("Difficulty preference saved!");
-        } else {
-            showErrorMessage("Failed to save difficulty preference");
-        }
-    }
-
-    /**
-     * Retrieves the logged-in user's email from SharedPreferences.
-     *
-     * @return User's email address, or null if not logged in
-     */
-    private String getUserEmail() {
-        return sharedPreferences.getString(KEY_USER_EMAIL, null);
-    }
-
-    /**
-     * Navigates to the social media input activity.
-     */
-    private void navigateToInputSocials() {
+    private void navigateToInputSocials(String difficulty) {
         Intent intent = new Intent(this, InputSocials.class);
+        intent.putExtras(getIntent());
+        intent.putExtra(InputSocials.EXTRA_DIFFICULTY, difficulty);
         startActivity(intent);
         finish();
     }
 
-    /**
-     * Displays a success message to the user.
-     *
-     * @param message Success message to display
-     */
-    private void showSuccessMessage(String message) {
-        Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
-    }
-
     /**
      * Displays an error message to the user.
      *
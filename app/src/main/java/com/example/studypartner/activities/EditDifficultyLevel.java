@@ -16,7 +16,8 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
 
 /**
  * EditDifficultyLevel
@@ -51,7 +52,7 @@ public class EditDifficultyLevel extends AppCompatActivity {
     private ImageButton backButton;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
 
     // Data
     private String userEmail;
@@ -73,6 +74,15 @@ public class EditDifficultyLevel extends AppCompatActivity {
         setupClickListeners();
     }
 
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
+    }
+
     /**
      * Sets up edge-to-edge display with proper window insets.
      */
@@ -102,10 +112,10 @@ public class EditDifficultyLevel extends AppCompatActivity {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope for this activity.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
+        databaseScope = DatabaseManager.getInstance(this).newScope();
     }
 
     /**
@@ -203,16 +213,17 @@ public class EditDifficultyLevel extends AppCompatActivity {
      * @param difficulty Selected difficulty level
      */
     private void saveDifficultyToDatabase(String difficulty) {
-        boolean isUpdated = databaseHelper.updateUserStudyDifficultyLevel(userEmail, difficulty);
-
-        if (isUpdated) {
-            Log.d(TAG, "Difficulty level updated successfully for user: " + userEmail);
-            showSuccessMessage("Study difficulty preferences updated successfully!");
-            navigateToMainActivity();
-        } else {
-            Log.e(TAG, "Failed to update difficulty level for user: " + userEmail);
-            showErrorMessage("Failed to update preferences.");
-        }
+        databaseScope.write((users, connections) -> users.updateUserStudyDifficultyLevel(userEmail, difficulty),
+                isUpdated -> {
+                    if (isUpdated) {
+                        Log.d(TAG, "Difficulty level updated successfully for user: " + userEmail);
+                        showSuccessMessage("Study difficulty preferences updated successfully!");
+                        navigateToMainActivity();
+                    } else {
+                        Log.e(TAG, "Failed to update difficulty level for user: " + userEmail);
+                        showErrorMessage("Failed to update preferences.");
+                    }
+                });
     }
 
     /**
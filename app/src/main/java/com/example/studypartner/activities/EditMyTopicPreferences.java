@@ -15,7 +15,9 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
+import com.example.studypartner.data.database.ProfileWriteBuffer;
 
 /**
  * EditMyTopicPreferences
@@ -28,7 +30,7 @@ import com.example.studypartner.data.database.DatabaseHelper;
  * - Pre-selected topics based on current user preferences
  * - Multiple topic selection via checkboxes (10 topics available)
  * - Validation to ensure at least one topic is selected
- * - Updates database with new topic preferences
+ * - Saves through the write buffer, so leaving the screen never waits on a database commit
  * - Navigates to MainActivity after successful update
  *
  * Available Topics:
@@ -57,7 +59,8 @@ public class EditMyTopicPreferences extends AppCompatActivity {
     private ImageView backButton;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
+    private ProfileWriteBuffer writeBuffer;
 
     // Data
     private String userEmail;
@@ -80,6 +83,15 @@ public class EditMyTopicPreferences extends AppCompatActivity {
         setupClickListeners();
     }
 
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
+    }
+
     /**
      * Sets up edge-to-edge display with proper window insets.
      */
@@ -119,10 +131,12 @@ public class EditMyTopicPreferences extends AppCompatActivity {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope and write buffer for this activity.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
+        DatabaseManager databaseManager = DatabaseManager.getInstance(this);
+        databaseScope = databaseManager.newScope();
+        writeBuffer = databaseManager.getWriteBuffer();
     }
 
     /**
@@ -137,16 +151,23 @@ public class EditMyTopicPreferences extends AppCompatActivity {
     }
 
     /**
-     * Loads user data from intent and pre-selects current topic preferences.
+     * Loads user data from intent and pre-selects current topic preferences
+     * once they are read in the background. A save still waiting in the
+     * write buffer takes precedence over the stored value.
      */
     private void loadUserData() {
         Intent intent = getIntent();
         userEmail = intent.getStringExtra(EXTRA_USER_EMAIL);
 
-        String currentUserTopics = databaseHelper.getUserTopicString(userEmail);
-        preSelectTopics(currentUserTopics);
+        String email = userEmail;
+        databaseScope.run((users, connections) -> {
+            String pending = writeBuffer.getPendingTopics(email);
+            return pending != null ? pending : users.getUserTopicString(email);
+        }, currentUserTopics -> {
+            preSelectTopics(currentUserTopics);
 
-        Log.d(TAG, "Loaded topics for editing: " + currentUserTopics);
+            Log.d(TAG, "Loaded topics for editing: " + currentUserTopics);
+        });
     }
 
     /**
@@ -228,7 +249,8 @@ public class EditMyTopicPreferences extends AppCompatActivity {
     }
 
     /**
-     * Saves the selected topics to the database.
+     * Saves the selected topics. The write is buffered and reaches the
+     * database in the background; success is shown once the save is journaled.
      *
      * @param topics Comma-separated string of selected topics
      */
@@ -238,16 +260,14 @@ public class EditMyTopicPreferences extends AppCompatActivity {
             return;
         }
 
-        boolean isSaved = databaseHelper.updateUserTopic(userEmail, topics);
-
-        if (isSaved) {
-            Log.d(TAG, "Topics updated successfully for user: " + userEmail);
+        writeBuffer.setTopics(userEmail, topics, () -> {
+            Log.d(TAG, "Topics saved for user: " + userEmail);
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
             showSuccessMessage("Topics Updated Successfully!");
             navigateToMainActivity();
-        } else {
-            Log.e(TAG, "Failed to update topics for user: " + userEmail);
-            showErrorMessage("Failed to save topics.");
-        }
+        });
     }
 
     /**
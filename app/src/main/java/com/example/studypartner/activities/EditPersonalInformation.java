@@ -17,7 +17,8 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
 import com.example.studypartner.utils.ValidationUtils;
 
 /**
@@ -61,7 +62,7 @@ public class EditPersonalInformation extends AppCompatActivity {
     private ImageButton backButton;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
 
     // Data
     private String userEmail;
@@ -83,6 +84,15 @@ public class EditPersonalInformation extends AppCompatActivity {
         setupClickListeners();
     }
 
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
+    }
+
     /**
      * Sets up edge-to-edge display with proper window insets.
      */
@@ -116,10 +126,10 @@ public class EditPersonalInformation extends AppCompatActivity {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope for this activity.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
+        databaseScope = DatabaseManager.getInstance(this).newScope();
     }
 
     /**
@@ -318,16 +328,18 @@ public class EditPersonalInformation extends AppCompatActivity {
      * @param occupation User's occupation
      */
     private void saveProfileToDatabase(String firstName, String lastName, int age, String gender, String occupation) {
-        boolean isUpdated = databaseHelper.updateUserProfile(userEmail, firstName, lastName, age, gender, occupation);
-
-        if (isUpdated) {
-            Log.d(TAG, "Profile updated successfully for user: " + userEmail);
-            showSuccessMessage("Profile updated successfully!");
-            navigateToMainActivity();
-        } else {
-            Log.e(TAG, "Failed to update profile for user: " + userEmail);
-            showErrorMessage("Failed to update profile.");
-        }
+        databaseScope.write((users, connections) ->
+                        users.updateUserProfile(userEmail, firstName, lastName, age, gender, occupation),
+                isUpdated -> {
+                    if (isUpdated) {
+                        Log.d(TAG, "Profile updated successfully for user: " + userEmail);
+                        showSuccessMessage("Profile updated successfully!");
+                        navigateToMainActivity();
+                    } else {
+                        Log.e(TAG, "Failed to update profile for user: " + userEmail);
+                        showErrorMessage("Failed to update profile.");
+                    }
+                });
     }
 
     /**
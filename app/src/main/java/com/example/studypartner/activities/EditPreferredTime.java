@@ -15,7 +15,9 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
+import com.example.studypartner.data.database.ProfileWriteBuffer;
 
 /**
  * EditPreferredTime
@@ -28,7 +30,7 @@ import com.example.studypartner.data.database.DatabaseHelper;
  * - Pre-selected time slots based on current user preferences
  * - Multiple time slot selection via checkboxes (6 slots available)
  * - Validation to ensure at least one time slot is selected
- * - Updates database with new time preferences
+ * - Saves through the write buffer, so leaving the screen never waits on a database commit
  * - Navigates to MainActivity after successful update
  *
  * Available Time Slots:
@@ -53,7 +55,8 @@ public class EditPreferredTime extends AppCompatActivity {
     private ImageView backButton;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
+    private ProfileWriteBuffer writeBuffer;
 
     // Data
     private String userEmail;
@@ -76,6 +79,15 @@ public class EditPreferredTime extends AppCompatActivity {
         setupClickListeners();
     }
 
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
+    }
+
     /**
      * Sets up edge-to-edge display with proper window insets.
      */
@@ -111,10 +123,12 @@ public class EditPreferredTime extends AppCompatActivity {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope and write buffer for this activity.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
+        DatabaseManager databaseManager = DatabaseManager.getInstance(this);
+        databaseScope = databaseManager.newScope();
+        writeBuffer = databaseManager.getWriteBuffer();
     }
 
     /**
@@ -128,16 +142,23 @@ public class EditPreferredTime extends AppCompatActivity {
     }
 
     /**
-     * Loads user data from intent and pre-selects current time preferences.
+     * Loads user data from intent and pre-selects current time preferences
+     * once they are read in the background. A save still waiting in the
+     * write buffer takes precedence over the stored value.
      */
     private void loadUserData() {
         Intent intent = getIntent();
         userEmail = intent.getStringExtra(EXTRA_USER_EMAIL);
 
-        String timePreference = databaseHelper.getUserStudyTimeString(userEmail);
-        preSelectTimeSlots(timePreference);
+        String email = userEmail;
+        databaseScope.run((users, connections) -> {
+            String pending = writeBuffer.getPendingStudyTime(email);
+            return pending != null ? pending : users.getUserStudyTimeString(email);
+        }, timePreference -> {
+            preSelectTimeSlots(timePreference);
 
-        Log.d(TAG, "Loaded time preferences for editing: " + timePreference);
+            Log.d(TAG, "Loaded time preferences for editing: " + timePreference);
+        });
     }
 
     /**
@@ -221,21 +242,20 @@ public class EditPreferredTime extends AppCompatActivity {
     }
 
     /**
-     * Saves the selected time preferences to the database.
+     * Saves the selected time preferences. The write is buffered and reaches
+     * the database in the background; success is shown once the save is journaled.
      *
      * @param selectedTimes Comma-separated string of selected time slots
      */
     private void saveTimePreferencesToDatabase(String selectedTimes) {
-        boolean isUpdated = databaseHelper.updateUserStudyTime(userEmail, selectedTimes);
-
-        if (isUpdated) {
-            Log.d(TAG, "Time preferences updated successfully for user: " + userEmail);
+        writeBuffer.setStudyTime(userEmail, selectedTimes, () -> {
+            Log.d(TAG, "Time preferences saved for user: " + userEmail);
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
             showSuccessMessage("Time preferences updated successfully!");
             navigateToMainActivity();
-        } else {
-            Log.e(TAG, "Failed to update time preferences for user: " + userEmail);
-            showErrorMessage("Failed to update preferences.");
-        }
+        });
     }
 
     /**
@@ -13,7 +13,8 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
 import com.example.studypartner.utils.ValidationUtils;
 import android.widget.EditText;
 
@@ -48,7 +49,7 @@ public class EditSocialAccounts extends AppCompatActivity {
     private Button saveButton;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
 
     // State
     private String userEmail;
@@ -70,6 +71,15 @@ public class EditSocialAccounts extends AppCompatActivity {
         setupClickListeners();
     }
 
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
+    }
+
     /**
      * Sets up window insets for edge-to-edge display.
      */
@@ -101,10 +111,10 @@ public class EditSocialAccounts extends AppCompatActivity {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope for this activity.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
+        databaseScope = DatabaseManager.getInstance(this).newScope();
     }
 
     /**
@@ -239,14 +249,15 @@ public class EditSocialAccounts extends AppCompatActivity {
      * @param personalUrl Personal website URL
      */
     private void saveSocialsToDatabase(String linkedInUrl, String githubUrl, String personalUrl) {
-        boolean isUpdated = databaseHelper.saveSocials(userEmail, linkedInUrl, githubUrl, personalUrl);
-
-        if (isUpdated) {
-            showSuccessMessage("Social accounts updated successfully!");
-            navigateToMainActivity();
-        } else {
-            showErrorMessage("Failed to update social accounts");
-        }
+        databaseScope.write((users, connections) -> users.saveSocials(userEmail, linkedInUrl, githubUrl, personalUrl),
+                isUpdated -> {
+                    if (isUpdated) {
+                        showSuccessMessage("Social accounts updated successfully!");
+                        navigateToMainActivity();
+                    } else {
+                        showErrorMessage("Failed to update social accounts");
+                    }
+                });
     }
 
     /**
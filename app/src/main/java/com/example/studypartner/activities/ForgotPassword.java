@@ -17,7 +17,8 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
 import com.example.studypartner.utils.ValidationUtils;
 import com.google.android.material.textfield.TextInputEditText;
 
@@ -68,7 +69,7 @@ public class ForgotPassword extends AppCompatActivity {
     private TextView backToLoginLink;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
 
     /**
      * Initializes the forgot password activity and sets up UI components.
@@ -86,6 +87,15 @@ public class ForgotPassword extends AppCompatActivity {
         setupClickListeners();
     }
 
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
+    }
+
     /**
      * Sets up window insets for edge-to-edge display.
      */
@@ -119,10 +129,10 @@ public class ForgotPassword extends AppCompatActivity {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope for this activity.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
+        databaseScope = DatabaseManager.getInstance(this).newScope();
     }
 
     /**
@@ -145,7 +155,7 @@ public class ForgotPassword extends AppCompatActivity {
 
         // Generate reset token and update database
         String resetToken = generateResetToken();
-        databaseHelper.updatePassword(email, resetToken);
+        databaseScope.write((users, connections) -> users.updatePassword(email, resetToken), null);
 
         // Send reset email asynchronously
         new SendEmailTask().execute(email, resetToken);
@@ -15,7 +15,9 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
+import com.example.studypartner.data.database.ProfileUpdate;
 import com.example.studypartner.utils.ValidationUtils;
 
 /**
@@ -25,11 +27,16 @@ import com.example.studypartner.utils.ValidationUtils;
  * This activity allows users to input their LinkedIn, GitHub, and personal website URLs.
  * Users can skip this step by leaving all fields empty to proceed directly to the main app.
  *
+ * The earlier setup screens (profile, topics, study times, difficulty) pass their
+ * answers forward as intent extras instead of saving them one by one. This screen
+ * writes everything, socials and the setup-complete flag included, in one update.
+ *
  * Features:
  * - Optional social media link input (LinkedIn, GitHub, Personal Website)
  * - URL format validation for provided links
  * - Skip functionality if all fields are empty
- * - Marks user setup as complete upon successful save
+ * - Saves the whole onboarding profile in a single transaction
+ * - Marks user setup as complete in the same update
  * - Navigates to MainActivity after completion
  */
 public class InputSocials extends AppCompatActivity {
@@ -38,6 +45,16 @@ public class InputSocials extends AppCompatActivity {
     private static final String PREFS_NAME = "UserPrefs";
     private static final String KEY_USER_EMAIL = "userEmail";
 
+    // Intent extras carried through the setup flow
+    static final String EXTRA_FIRST_NAME = "firstName";
+    static final String EXTRA_LAST_NAME = "lastName";
+    static final String EXTRA_AGE = "age";
+    static final String EXTRA_GENDER = "gender";
+    static final String EXTRA_OCCUPATION = "occupation";
+    static final String EXTRA_TOPICS = "topics";
+    static final String EXTRA_STUDY_TIME = "studyTime";
+    static final String EXTRA_DIFFICULTY = "difficulty";
+
     // UI Components
     private EditText editLinkedIn;
     private EditText editGithub;
@@ -45,7 +62,7 @@ public class InputSocials extends AppCompatActivity {
     private Button buttonSaveProfile;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
     private SharedPreferences sharedPreferences;
 
     /**
@@ -64,6 +81,15 @@ public class InputSocials extends AppCompatActivity {
         setupClickListeners();
     }
 
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
+    }
+
     /**
      * Sets up edge-to-edge display with proper window insets.
      */
@@ -95,10 +121,10 @@ public class InputSocials extends AppCompatActivity {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope for this activity.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
+        databaseScope = DatabaseManager.getInstance(this).newScope();
     }
 
     /**
@@ -117,7 +143,7 @@ public class InputSocials extends AppCompatActivity {
 
     /**
      * Handles the save profile button click.
-     * Either saves social links or skips to MainActivity if all fields are empty.
+     * Saves the profile with the social links, or without them if all fields are empty.
      */
     private void handleSaveProfile() {
         String linkedIn = getLinkedInUrl();
@@ -125,10 +151,10 @@ public class InputSocials extends AppCompatActivity {
         String personal = getPersonalUrl();
 
         if (areAllFieldsEmpty(linkedIn, github, personal)) {
-            Log.d(TAG, "All social fields empty - skipping to MainActivity");
-            markSetupCompleteAndNavigate();
-        } else {
-            saveSocials(linkedIn, github, personal);
+            Log.d(TAG, "All social fields empty - skipping socials");
+            saveProfile(null, null, null);
+        } else if (validateSocialUrls(linkedIn, github, personal)) {
+            saveProfile(linkedIn, github, personal);
         }
     }
 
@@ -171,36 +197,6 @@ public class InputSocials extends AppCompatActivity {
         return linkedIn.isEmpty() && github.isEmpty() && personal.isEmpty();
     }
 
-    /**
-     * Validates and saves social media links to the database.
-     *
-     * @param linkedIn LinkedIn URL
-     * @param github GitHub URL
-     * @param personal Personal website URL
-     */
-    private void saveSocials(String linkedIn, String github, String personal) {
-        if (!validateSocialUrls(linkedIn, github, personal)) {
-            return;
-        }
-
-        String userEmail = getUserEmail();
-        if (userEmail == null) {
-            showErrorMessage("User not logged in.");
-            return;
-        }
-
-        boolean isUpdated = databaseHelper.saveSocials(userEmail, linkedIn, github, personal);
-
-        if (isUpdated) {
-            Log.d(TAG, "Social links saved successfully for user: " + userEmail);
-            showSuccessMessage("Socials updated successfully!");
-            markSetupCompleteAndNavigate();
-        } else {
-            Log.e(TAG, "Failed to save social links for user: " + userEmail);
-            showErrorMessage("Failed to update preferences.");
-        }
-    }
-
     /**
      * Validates social media URLs if they are provided.
      * Empty URLs are considered valid (optional fields).
@@ -239,15 +235,71 @@ public class InputSocials extends AppCompatActivity {
     }
 
     /**
-     * Marks the user's setup as complete and navigates to MainActivity.
+     * Saves the profile collected during setup, the social links and the
+     * setup-complete flag in one database update, then navigates to MainActivity.
+     *
+     * @param linkedIn LinkedIn URL, or null to skip socials
+     * @param github GitHub URL, or null to skip socials
+     * @param personal Personal website URL, or null to skip socials
      */
-    private void markSetupCompleteAndNavigate() {
+    private void saveProfile(String linkedIn, String github, String personal) {
         String userEmail = getUserEmail();
-        if (userEmail != null) {
-            databaseHelper.setUserSetupComplete(userEmail);
-            Log.d(TAG, "User setup marked complete for: " + userEmail);
+        if (userEmail == null) {
+            showErrorMessage("User not logged in.");
+            return;
         }
-        navigateToMainActivity();
+
+        ProfileUpdate update = buildSetupProfile(userEmail);
+        if (linkedIn != null) {
+            update.setLinkedIn(linkedIn)
+                    .setGithub(github)
+                    .setPersonalWebsite(personal);
+        }
+        update.setSetupComplete();
+
+        buttonSaveProfile.setEnabled(false);
+        databaseScope.write((users, connections) -> users.updateProfile(update), isUpdated -> {
+            if (isUpdated) {
+                Log.d(TAG, "Profile saved and setup marked complete for: " + userEmail);
+                showSuccessMessage("Profile saved successfully!");
+                navigateToMainActivity();
+            } else {
+                Log.e(TAG, "Failed to save profile for user: " + userEmail);
+                showErrorMessage("Failed to save profile.");
+                buttonSaveProfile.setEnabled(true);
+            }
+        });
+    }
+
+    /**
+     * Builds a profile update from the answers passed forward by the earlier
+     * setup screens. Answers that are missing are left unchanged.
+     *
+     * @param userEmail Email of the user being set up
+     * @return Update holding the setup answers
+     */
+    private ProfileUpdate buildSetupProfile(String userEmail) {
+        Intent intent = getIntent();
+        ProfileUpdate update = new ProfileUpdate(userEmail);
+
+        if (intent.hasExtra(EXTRA_FIRST_NAME)) {
+            update.setFirstName(intent.getStringExtra(EXTRA_FIRST_NAME))
+                    .setLastName(intent.getStringExtra(EXTRA_LAST_NAME))
+                    .setAge(intent.getIntExtra(EXTRA_AGE, 0))
+                    .setGender(intent.getStringExtra(EXTRA_GENDER))
+                    .setOccupation(intent.getStringExtra(EXTRA_OCCUPATION));
+        }
+        if (intent.hasExtra(EXTRA_TOPICS)) {
+            update.setTopics(intent.getStringExtra(EXTRA_TOPICS));
+        }
+        if (intent.hasExtra(EXTRA_STUDY_TIME)) {
+            update.setStudyTime(intent.getStringExtra(EXTRA_STUDY_TIME));
+        }
+        if (intent.hasExtra(EXTRA_DIFFICULTY)) {
+            update.setStudyDifficultyLevel(intent.getStringExtra(EXTRA_DIFFICULTY));
+        }
+
+        return update;
     }
 
     /**
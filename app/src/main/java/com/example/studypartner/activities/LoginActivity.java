@@ -15,7 +15,8 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
 
@@ -50,12 +51,25 @@ public class LoginActivity extends AppCompatActivity {
     private TextView forgotPasswordLink;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
     private SharedPreferences sharedPreferences;
 
     // State
     private boolean isPasswordVisible = false;
 
+    /**
+     * What a successful login reads from the database, loaded in one call.
+     */
+    private static final class LoginResult {
+        final String userID;
+        final boolean isSetupComplete;
+
+        LoginResult(String userID, boolean isSetupComplete) {
+            this.userID = userID;
+            this.isSetupComplete = isSetupComplete;
+        }
+    }
+
     /**
      * Initializes the login activity and sets up UI components.
      * Checks for existing user session and auto-navigates if found.
@@ -72,6 +86,15 @@ public class LoginActivity extends AppCompatActivity {
         checkExistingSession();
     }
 
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
+    }
+
     /**
      * Initializes all components including views and database helper.
      */
@@ -98,10 +121,10 @@ public class LoginActivity extends AppCompatActivity {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope for this activity.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
+        databaseScope = DatabaseManager.getInstance(this).newScope();
     }
 
     /**
@@ -129,7 +152,7 @@ public class LoginActivity extends AppCompatActivity {
 
         if (savedEmail != null) {
             Log.d(TAG, "Existing session found for: " + savedEmail);
-            navigateBasedOnSetupStatus(savedEmail);
+            databaseScope.run((users, connections) -> users.isSetUp(savedEmail), this::navigateBasedOnSetupStatus);
         } else {
             Log.d(TAG, "No existing session found");
         }
@@ -146,13 +169,7 @@ public class LoginActivity extends AppCompatActivity {
             return;
         }
 
-        if (authenticateUser(email, password)) {
-            saveUserSession(email);
-            showSuccessMessage();
-            navigateBasedOnSetupStatus(email);
-        } else {
-            showErrorMessage("Invalid email or password");
-        }
+        authenticateUser(email, password);
     }
 
     /**
@@ -189,29 +206,42 @@ public class LoginActivity extends AppCompatActivity {
     }
 
     /**
-     * Authenticates user credentials against the database.
+     * Authenticates user credentials in the background; on success saves the
+     * session and navigates on. The login button is disabled meanwhile.
      *
      * @param email User's email
      * @param password User's password
-     * @return true if credentials are valid, false otherwise
      */
-    private boolean authenticateUser(String email, String password) {
-        return databaseHelper.validateUser(email, password);
+    private void authenticateUser(String email, String password) {
+        loginButton.setEnabled(false);
+        databaseScope.run((users, connections) -> users.validateUser(email, password)
+                ? new LoginResult(users.getUserIDByEmail(email), users.isSetUp(email))
+                : null, result -> {
+            loginButton.setEnabled(true);
+
+            if (result != null) {
+                saveUserSession(email, result.userID);
+                showSuccessMessage();
+                navigateBasedOnSetupStatus(result.isSetupComplete);
+            } else {
+                showErrorMessage("Invalid email or password");
+            }
+        });
     }
 
     /**
      * Saves user session information to SharedPreferences.
      *
      * @param email User's email to save
+     * @param userID User's ID to save
      */
-    private void saveUserSession(String email) {
+    private void saveUserSession(String email, String userID) {
         SharedPreferences.Editor editor = sharedPreferences.edit();
 
         // Save email
         editor.putString(KEY_USER_EMAIL, email);
 
         // Save user ID
-        String userID = databaseHelper.getUserIDByEmail(email);
         editor.putString(KEY_USER_ID, userID);
 
         editor.apply();
@@ -223,11 +253,9 @@ public class LoginActivity extends AppCompatActivity {
      * - If setup incomplete: Navigate to UserProfileActivity
      * - If setup complete: Navigate to MainActivity
      *
-     * @param email User's email to check setup status
+     * @param isSetupComplete true if the user has finished profile setup
      */
-    private void navigateBasedOnSetupStatus(String email) {
-        boolean isSetupComplete = databaseHelper.isSetUp(email);
-
+    private void navigateBasedOnSetupStatus(boolean isSetupComplete) {
         Intent intent;
         if (isSetupComplete) {
             intent = new Intent(this, MainActivity.class);
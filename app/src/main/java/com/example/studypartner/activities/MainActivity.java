@@ -6,6 +6,8 @@ import android.view.MenuItem;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+import androidx.fragment.app.FragmentTransaction;
 
 import com.example.studypartner.R;
 import com.example.studypartner.fragments.AccountFragment;
@@ -29,6 +31,9 @@ import com.google.android.material.bottomnavigation.BottomNavigationView;
  * - Fragment management for different sections
  * - Default landing on matched buddies screen
  * - Smooth fragment transitions
+ * - Tabs are added once and then shown or hidden, so switching tabs does not
+ *   rebuild views or re-run queries; each tab keeps itself current through
+ *   observed queries instead
  *
  */
 public class MainActivity extends AppCompatActivity
@@ -43,6 +48,12 @@ public class MainActivity extends AppCompatActivity
     private GenAiFragment genAiFragment;
     private AccountFragment accountFragment;
 
+    // Fragment tags, so tabs restored after a configuration change are reused
+    private static final String TAG_MATCH = "match";
+    private static final String TAG_LIKES = "likes";
+    private static final String TAG_GENAI = "genai";
+    private static final String TAG_ACCOUNT = "account";
+
     /**
      * Initializes the main activity and sets up bottom navigation.
      * Sets matched buddies as the default selected tab.
@@ -60,13 +71,28 @@ public class MainActivity extends AppCompatActivity
 
     /**
      * Initializes fragment instances that will be reused across navigation.
-     * Maintains fragment state when switching between tabs.
+     * Maintains fragment state when switching between tabs; instances restored
+     * by the fragment manager are picked up instead of duplicated.
      */
     private void initializeFragments() {
-        matchUserFragment = new MatchUserFragment();
-        likeFragment = new LikeFragment();
-        genAiFragment = new GenAiFragment();
-        accountFragment = new AccountFragment();
+        FragmentManager fragmentManager = getSupportFragmentManager();
+
+        matchUserFragment = (MatchUserFragment) fragmentManager.findFragmentByTag(TAG_MATCH);
+        if (matchUserFragment == null) {
+            matchUserFragment = new MatchUserFragment();
+        }
+        likeFragment = (LikeFragment) fragmentManager.findFragmentByTag(TAG_LIKES);
+        if (likeFragment == null) {
+            likeFragment = new LikeFragment();
+        }
+        genAiFragment = (GenAiFragment) fragmentManager.findFragmentByTag(TAG_GENAI);
+        if (genAiFragment == null) {
+            genAiFragment = new GenAiFragment();
+        }
+        accountFragment = (AccountFragment) fragmentManager.findFragmentByTag(TAG_ACCOUNT);
+        if (accountFragment == null) {
+            accountFragment = new AccountFragment();
+        }
     }
 
     /**
@@ -90,21 +116,26 @@ public class MainActivity extends AppCompatActivity
     @Override
     public boolean onNavigationItemSelected(@NonNull MenuItem item) {
         Fragment selectedFragment = null;
+        String selectedTag = null;
 
         // Determine which fragment to display based on selection
         if (item.getItemId() == R.id.nav_matched_buddies) {
             selectedFragment = matchUserFragment;
+            selectedTag = TAG_MATCH;
         } else if (item.getItemId() == R.id.nav_likes) {
             selectedFragment = likeFragment;
+            selectedTag = TAG_LIKES;
         } else if (item.getItemId() == R.id.nav_genai) {
             selectedFragment = genAiFragment;
+            selectedTag = TAG_GENAI;
         } else if (item.getItemId() == R.id.nav_account) {
             selectedFragment = accountFragment;
+            selectedTag = TAG_ACCOUNT;
         }
 
-        // Replace current fragment with selected fragment
+        // Show selected fragment in place of the current one
         if (selectedFragment != null) {
-            replaceFragment(selectedFragment);
+            showFragment(selectedFragment, selectedTag);
             return true;
         }
 
@@ -112,15 +143,24 @@ public class MainActivity extends AppCompatActivity
     }
 
     /**
-     * Replaces the current fragment with a new fragment.
-     * Uses fragment transaction to switch between main sections.
+     * Shows a fragment and hides the current one.
+     * Each fragment is added on first selection and kept, with its view, afterwards.
      *
      * @param fragment The fragment to display
+     * @param tag The fragment's tab tag
      */
-    private void replaceFragment(Fragment fragment) {
-        getSupportFragmentManager()
-                .beginTransaction()
-                .replace(R.id.fragment_container, fragment)
-                .commit();
+    private void showFragment(Fragment fragment, String tag) {
+        FragmentTransaction transaction = getSupportFragmentManager().beginTransaction();
+        for (Fragment tab : new Fragment[]{matchUserFragment, likeFragment, genAiFragment, accountFragment}) {
+            if (tab != fragment && tab.isAdded() && !tab.isHidden()) {
+                transaction.hide(tab);
+            }
+        }
+        if (fragment.isAdded()) {
+            transaction.show(fragment);
+        } else {
+            transaction.add(R.id.fragment_container, fragment, tag);
+        }
+        transaction.commit();
     }
 }
@@ -10,11 +10,12 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.studypartner.R;
 import com.example.studypartner.adapter.SectionedUserAdapter;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
+import com.example.studypartner.data.database.UserProjection;
+import com.example.studypartner.data.match.TopicSections;
 import com.example.studypartner.data.model.User;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -46,7 +47,7 @@ public class MatchUserActivity extends AppCompatActivity {
     private RecyclerView recyclerView;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
     private SharedPreferences sharedPreferences;
 
     // Data
@@ -64,16 +65,16 @@ public class MatchUserActivity extends AppCompatActivity {
         setContentView(R.layout.activity_match_user);
 
         initializeComponents();
+        loadCurrentUser();
+    }
 
-        if (!loadCurrentUser()) {
-            return;
-        }
-
-        if (!validateUserTopics()) {
-            return;
-        }
-
-        loadAndDisplayMatches();
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
     }
 
     /**
@@ -94,10 +95,10 @@ public class MatchUserActivity extends AppCompatActivity {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope for this activity.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
+        databaseScope = DatabaseManager.getInstance(this).newScope();
     }
 
     /**
@@ -110,20 +111,32 @@ public class MatchUserActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads the current user's data from database.
+     * Loads the current user's data in the background, then their matches.
+     */
+    private void loadCurrentUser() {
+        String email = currentUserEmail;
+        databaseScope.run((users, connections) -> users.getUserInfoByEmail(email, UserProjection.MATCHING),
+                this::onCurrentUserLoaded);
+    }
+
+    /**
+     * Receives the current user and starts loading matches if they have topics.
      *
-     * @return true if user loaded successfully, false otherwise
+     * @param user The current user, or null if not found
      */
-    private boolean loadCurrentUser() {
-        currentUser = databaseHelper.getUserInfoByEmail(currentUserEmail);
-
-        if (currentUser != null) {
-            Log.d(TAG, "Current user fetched: " + currentUser.getEmail());
-            Log.d(TAG, "Topics interested: " + currentUser.getTopicInterested());
-            return true;
-        } else {
+    private void onCurrentUserLoaded(User user) {
+        currentUser = user;
+
+        if (currentUser == null) {
             Log.e(TAG, "No user found with email: " + currentUserEmail);
-            return false;
+            return;
+        }
+
+        Log.d(TAG, "Current user fetched: " + currentUser.getEmail());
+        Log.d(TAG, "Topics interested: " + currentUser.getTopicInterested());
+
+        if (validateUserTopics()) {
+            loadAndDisplayMatches();
         }
     }
 
@@ -144,77 +157,22 @@ public class MatchUserActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads matched users and displays them in the RecyclerView.
+     * Loads matched users in the background and displays them in the RecyclerView.
      */
     private void loadAndDisplayMatches() {
         List<String> currentUserTopics = currentUser.getTopicInterested();
-        ArrayList<User> matchedUsers = getMatchedUsers(currentUserTopics);
-
-        if (matchedUsers.isEmpty()) {
-            Log.e(TAG, "No users found with matching topics.");
-            return;
-        }
-
-        Map<String, List<User>> sectionedData = organizeUsersByTopic(currentUserTopics, matchedUsers);
-        displayMatches(sectionedData);
-    }
-
-    /**
-     * Retrieves users with matching topic interests.
-     *
-     * @param currentUserTopics List of current user's topics
-     * @return List of matched users
-     */
-    private ArrayList<User> getMatchedUsers(List<String> currentUserTopics) {
-        if (currentUserTopics == null || currentUserTopics.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        return databaseHelper.getUsersWithSameTopics(currentUserTopics, currentUserEmail);
-    }
-
-    /**
-     * Organizes users by their matching topics into sections.
-     *
-     * @param currentUserTopics Current user's topic interests
-     * @param users List of matched users
-     * @return Map of topics to lists of users interested in that topic
-     */
-    private Map<String, List<User>> organizeUsersByTopic(List<String> currentUserTopics, ArrayList<User> users) {
-        Map<String, List<User>> sectionedData = new HashMap<>();
-
-        if (users == null || users.isEmpty()) {
-            return sectionedData;
-        }
-
-        for (String topic : currentUserTopics) {
-            List<User> filteredUsers = getUsersForTopic(users, topic);
-
-            if (!filteredUsers.isEmpty()) {
-                sectionedData.put(topic, filteredUsers);
-            }
-        }
-
-        return sectionedData;
-    }
-
-    /**
-     * Filters users who are interested in a specific topic.
-     *
-     * @param users List of users to filter
-     * @param topic Topic to filter by
-     * @return List of users interested in the topic
-     */
-    private List<User> getUsersForTopic(ArrayList<User> users, String topic) {
-        List<User> filteredUsers = new ArrayList<>();
-
-        for (User user : users) {
-            if (user.getTopicInterested() != null && user.getTopicInterested().contains(topic)) {
-                filteredUsers.add(user);
-            }
-        }
-
-        return filteredUsers;
+        String email = currentUserEmail;
+        databaseScope.run((users, connections) -> users.getUsersWithSameTopics(currentUserTopics, email),
+                matchedUsers -> {
+                    if (matchedUsers.isEmpty()) {
+                        Log.e(TAG, "No users found with matching topics.");
+                        return;
+                    }
+
+                    Map<String, List<User>> sectionedData =
+                            TopicSections.byTopic(currentUser.getTopicMask(), matchedUsers);
+                    displayMatches(sectionedData);
+                });
     }
 
     /**
@@ -224,7 +182,25 @@ public class MatchUserActivity extends AppCompatActivity {
      */
     private void displayMatches(Map<String, List<User>> sectionedData) {
         SectionedUserAdapter adapter = new SectionedUserAdapter(sectionedData);
+        adapter.setOnLikeListener(this::sendConnectionRequest);
         recyclerView.setAdapter(adapter);
     }
-}
 
+    /**
+     * Sends the logged-in user's connection request to a liked user in the background.
+     *
+     * @param likedUser User whose card was liked
+     */
+    private void sendConnectionRequest(User likedUser) {
+        String senderEmail = currentUserEmail;
+        String receiverEmail = likedUser.getEmail();
+        databaseScope.write((users, connections) -> connections.insertConnectionRequest(senderEmail, receiverEmail),
+                isConnected -> {
+                    if (isConnected) {
+                        Log.d(TAG, "Connection request sent to " + receiverEmail);
+                    } else {
+                        Log.w(TAG, "Connection request not stored: " + senderEmail + " -> " + receiverEmail);
+                    }
+                });
+    }
+}
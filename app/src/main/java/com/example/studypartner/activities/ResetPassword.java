@@ -16,7 +16,8 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
 import com.example.studypartner.utils.ValidationUtils;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
@@ -52,7 +53,7 @@ public class ResetPassword extends AppCompatActivity {
     private Button buttonSaveProfile;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
 
     // State
     private boolean isPasswordVisible = false;
@@ -78,6 +79,15 @@ public class ResetPassword extends AppCompatActivity {
         setupClickListeners();
     }
 
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
+    }
+
     /**
      * Sets up edge-to-edge display with proper window insets.
      */
@@ -111,10 +121,10 @@ public class ResetPassword extends AppCompatActivity {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope for this activity.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
+        databaseScope = DatabaseManager.getInstance(this).newScope();
     }
 
     /**
@@ -155,12 +165,7 @@ public class ResetPassword extends AppCompatActivity {
             return;
         }
 
-        if (updatePassword(newPassword)) {
-            showSuccessMessage("Password Updated Successfully");
-            navigateToMainActivity();
-        } else {
-            showErrorMessage("Can't update password. Please try again");
-        }
+        updatePassword(newPassword);
     }
 
     /**
@@ -208,21 +213,22 @@ public class ResetPassword extends AppCompatActivity {
     }
 
     /**
-     * Updates the password in the database for the current user.
+     * Updates the password in the background for the current user, then
+     * returns to the main screen or reports the failure.
      *
      * @param newPassword The new password to set
-     * @return true if update successful, false otherwise
      */
-    private boolean updatePassword(String newPassword) {
-        boolean rowsUpdated = databaseHelper.updatePassword(userEmail, newPassword);
-
-        if (rowsUpdated) {
-            Log.d(TAG, "Password updated successfully for user: " + userEmail);
-        } else {
-            Log.e(TAG, "Failed to update password for user: " + userEmail);
-        }
-
-        return rowsUpdated;
+    private void updatePassword(String newPassword) {
+        databaseScope.write((users, connections) -> users.updatePassword(userEmail, newPassword), rowsUpdated -> {
+            if (rowsUpdated) {
+                Log.d(TAG, "Password updated successfully for user: " + userEmail);
+                showSuccessMessage("Password Updated Successfully");
+                navigateToMainActivity();
+            } else {
+                Log.e(TAG, "Failed to update password for user: " + userEmail);
+                showErrorMessage("Can't update password. Please try again");
+            }
+        });
     }
 
     /**
@@ -19,8 +19,9 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.studypartner.R;
 import com.example.studypartner.adapter.InterestsAdapter;
-import com.example.studypartner.data.database.ConnectionsDB;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
+import com.example.studypartner.data.database.UserProjection;
 import com.example.studypartner.data.model.User;
 
 /**
@@ -38,6 +39,7 @@ import com.example.studypartner.data.model.User;
  * - Send connection request to the user
  * - Hide social media section if no links provided
  * - Back navigation via toolbar
+ * - Profile read and connection request sent off the main thread
  */
 public class ShowOtherUserProfileActivity extends AppCompatActivity {
 
@@ -66,15 +68,13 @@ public class ShowOtherUserProfileActivity extends AppCompatActivity {
     private LinearLayout personalContainer;
 
     // Business Logic
-    private ConnectionsDB connectionsDB;
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
     private SharedPreferences sharedPreferences;
 
     // Data
     private String otherUserEmail;
     private String currentUserEmail;
     private User user;
-    private User userSocials;
 
     /**
      * Initializes the show other user profile activity and sets up UI components.
@@ -87,12 +87,18 @@ public class ShowOtherUserProfileActivity extends AppCompatActivity {
         setContentView(R.layout.activity_show_user_profile);
 
         initializeComponents();
-        loadUserData();
-        populateUserProfile();
-        setupSocialMediaLinks();
-        setupInterestsRecyclerView();
         setupToolbar();
         setupClickListeners();
+        loadUserData();
+    }
+
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
     }
 
     /**
@@ -124,11 +130,10 @@ public class ShowOtherUserProfileActivity extends AppCompatActivity {
     }
 
     /**
-     * Initializes database helpers.
+     * Initializes the database scope for this activity.
      */
     private void initializeDatabase() {
-        connectionsDB = new ConnectionsDB(this);
-        databaseHelper = new DatabaseHelper(this);
+        databaseScope = DatabaseManager.getInstance(this).newScope();
     }
 
     /**
@@ -140,16 +145,30 @@ public class ShowOtherUserProfileActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads user data from intent.
+     * Loads the user named in the intent in the background, then displays them.
      */
     private void loadUserData() {
         Intent intent = getIntent();
         otherUserEmail = intent.getStringExtra(EXTRA_EMAIL);
 
-        user = databaseHelper.getUserInfoByEmail(otherUserEmail);
-        userSocials = databaseHelper.getUserDetailsForMyProfilePage(otherUserEmail);
+        // One read covers both the profile fields and the social links
+        String email = otherUserEmail;
+        databaseScope.run((users, connections) -> users.getUserInfoByEmail(email, UserProjection.PROFILE),
+                this::onUserLoaded);
+    }
 
+    /**
+     * Receives the loaded profile and populates the page.
+     *
+     * @param loadedUser The displayed user
+     */
+    private void onUserLoaded(User loadedUser) {
+        user = loadedUser;
         Log.d(TAG, "Loaded profile for user: " + otherUserEmail);
+
+        populateUserProfile();
+        setupSocialMediaLinks();
+        setupInterestsRecyclerView();
     }
 
     /**
@@ -166,9 +185,9 @@ public class ShowOtherUserProfileActivity extends AppCompatActivity {
      * Sets up social media links and visibility.
      */
     private void setupSocialMediaLinks() {
-        String linkedInLink = userSocials.getLinkedIn();
-        String githubLink = userSocials.getGithub();
-        String personalLink = userSocials.getPersonal();
+        String linkedInLink = user.getLinkedIn();
+        String githubLink = user.getGithub();
+        String personalLink = user.getPersonal();
 
         if (areAllSocialLinksEmpty(linkedInLink, githubLink, personalLink)) {
             socialAccountsContainer.setVisibility(View.INVISIBLE);
@@ -290,15 +309,17 @@ public class ShowOtherUserProfileActivity extends AppCompatActivity {
     private void sendConnectionRequest(String receiverEmail) {
         Log.d(TAG, "Sending connection request from " + currentUserEmail + " to " + receiverEmail);
 
-        boolean success = connectionsDB.insertConnectionRequest(currentUserEmail, receiverEmail);
-
-        if (success) {
-            showSuccessMessage("Request Sent");
-            Log.d(TAG, "Connection request sent successfully");
-        } else {
-            showErrorMessage("Failed to Send Request");
-            Log.e(TAG, "Failed to send connection request");
-        }
+        String senderEmail = currentUserEmail;
+        databaseScope.write((users, connections) -> connections.insertConnectionRequest(senderEmail, receiverEmail),
+                success -> {
+                    if (success) {
+                        showSuccessMessage("Request Sent");
+                        Log.d(TAG, "Connection request sent successfully");
+                    } else {
+                        showErrorMessage("Failed to Send Request");
+                        Log.e(TAG, "Failed to send connection request");
+                    }
+                });
     }
 
     /**
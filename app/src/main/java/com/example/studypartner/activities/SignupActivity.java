@@ -14,7 +14,8 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
 import com.example.studypartner.utils.ValidationUtils;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
@@ -50,7 +51,7 @@ public class SignupActivity extends AppCompatActivity {
     private TextView loginLink;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
 
     // State
     private boolean isPasswordVisible = false;
@@ -70,6 +71,15 @@ public class SignupActivity extends AppCompatActivity {
         setupClickListeners();
     }
 
+    /**
+     * Cancels pending database calls when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        databaseScope.cancel();
+        super.onDestroy();
+    }
+
     /**
      * Initializes all components including views and database helper.
      */
@@ -97,10 +107,10 @@ public class SignupActivity extends AppCompatActivity {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope for this activity.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
+        databaseScope = DatabaseManager.getInstance(this).newScope();
     }
 
     /**
@@ -126,12 +136,7 @@ public class SignupActivity extends AppCompatActivity {
             return;
         }
 
-        if (registerUser(email, password)) {
-            showSuccessMessage();
-            navigateToLogin();
-        } else {
-            showErrorMessage("The email already exists. Please login!");
-        }
+        registerUser(email, password);
     }
 
     /**
@@ -209,22 +214,26 @@ public class SignupActivity extends AppCompatActivity {
     }
 
     /**
-     * Registers a new user in the database.
+     * Registers a new user in the background, then moves on to login or reports
+     * that the email already exists. The signup button is disabled meanwhile.
      *
      * @param email User's email
      * @param password User's password
-     * @return true if registration successful, false if email already exists
      */
-    private boolean registerUser(String email, String password) {
-        boolean isInserted = databaseHelper.insertUser(email, password);
-
-        if (isInserted) {
-            Log.d(TAG, "User registered successfully: " + email);
-        } else {
-            Log.d(TAG, "Registration failed - email already exists: " + email);
-        }
-
-        return isInserted;
+    private void registerUser(String email, String password) {
+        signupButton.setEnabled(false);
+        databaseScope.write((users, connections) -> users.insertUser(email, password), isInserted -> {
+            signupButton.setEnabled(true);
+
+            if (isInserted) {
+                Log.d(TAG, "User registered successfully: " + email);
+                showSuccessMessage();
+                navigateToLogin();
+            } else {
+                Log.d(TAG, "Registration failed - email already exists: " + email);
+                showErrorMessage("The email already exists. Please login!");
+            }
+        });
     }
 
     /**
@@ -1,7 +1,6 @@
 package com.example.studypartner.activities;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.widget.Button;
 import android.widget.CheckBox;
@@ -10,7 +9,6 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
 
 /**
  * StudyTimePreferenceActivity
@@ -26,15 +24,12 @@ import com.example.studypartner.data.database.DatabaseHelper;
  * Features:
  * - Multiple time slot selection via checkboxes
  * - Validation to ensure at least one time slot is selected
- * - Saves selections to database linked to user's email
+ * - Carries the selections forward; the profile is saved once, at the end of setup
  * - Navigates to difficulty preference screen upon completion
  *
  */
 public class StudyTimePreferenceActivity extends AppCompatActivity {
 
-    private static final String PREFS_NAME = "UserPrefs";
-    private static final String KEY_USER_EMAIL = "userEmail";
-
     // UI Components
     private Button nextButton;
     private CheckBox weekdayMorningCheckbox;
@@ -44,10 +39,6 @@ public class StudyTimePreferenceActivity extends AppCompatActivity {
     private CheckBox weekendAfternoonCheckbox;
     private CheckBox weekendEveningCheckbox;
 
-    // Business Logic
-    private DatabaseHelper databaseHelper;
-    private SharedPreferences sharedPreferences;
-
     /**
      * Initializes the study time preference activity and sets up UI components.
      *
@@ -58,17 +49,8 @@ public class StudyTimePreferenceActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_study_time_preference);
 
-        initializeComponents();
-        setupClickListeners();
-    }
-
-    /**
-     * Initializes all components including views and database helper.
-     */
-    private void initializeComponents() {
         initializeViews();
-        initializeDatabase();
-        initializeSharedPreferences();
+        setupClickListeners();
     }
 
     /**
@@ -88,20 +70,6 @@ public class StudyTimePreferenceActivity extends AppCompatActivity {
         weekendEveningCheckbox = findViewById(R.id.checkWeekendEvening);
     }
 
-    /**
-     * Initializes the database helper.
-     */
-    private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
-    }
-
-    /**
-     * Initializes SharedPreferences for accessing user session data.
-     */
-    private void initializeSharedPreferences() {
-        sharedPreferences = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
-    }
-
     /**
      * Sets up click listeners for interactive UI components.
      */
@@ -111,14 +79,13 @@ public class StudyTimePreferenceActivity extends AppCompatActivity {
 
     /**
      * Handles the next button click.
-     * Collects selected time slots, validates, saves, and navigates to next screen.
+     * Collects selected time slots, validates, and navigates to next screen.
      */
     private void handleNext() {
         String selectedTimes = collectSelectedTimes();
 
         if (validateTimeSelection(selectedTimes)) {
-            saveTimesToDatabase(selectedTimes);
-            navigateToDifficultyPreference();
+            navigateToDifficultyPreference(selectedTimes);
         } else {
             showErrorMessage("Please select at least one study time");
         }
@@ -161,54 +128,19 @@ public class StudyTimePreferenceActivity extends AppCompatActivity {
     }
 
     /**
-     * Saves selected time slots to database for the current logged-in user.
+     * Navigates to the difficulty preference activity, passing along the
+     * profile collected so far.
      *
      * @param times Comma-separated string of selected time slots
      */
-    private void saveTimesToDatabase(String times) {
-        String userEmail = getUserEmail();
-
-        if (userEmail == null) {
-            showErrorMessage("User not logged in");
-            return;
-        }
-
-        boolean isUpdated = databaseHelper.updateUserStudyTime(userEmail, times);
-
-        if (isUpdated) {
-            showSuccessMessage("Study time preferences saved! Selected: " + times);
-        } else {
-            showErrorMessage("Failed to save study time preferences");
-        }
-    }
-
-    /**
-     * Retrieves the logged-in user's email from SharedPreferences.
-     *
-     * @return User's email address, or null if not logged in
-     */
-    private String getUserEmail() {
-        return sharedPreferences.getString(KEY_USER_EMAIL, null);
-    }
-
-    /**
-     * Navigates to the difficulty preference activity.
-     */
-    private void navigateToDifficultyPreference() {
+    private void navigateToDifficultyPreference(String times) {
         Intent intent = new Intent(this, DifficultyPreferenceActivity.class);
+        intent.putExtras(getIntent());
+        intent.putExtra(InputSocials.EXTRA_STUDY_TIME, times);
         startActivity(intent);
         finish();
     }
 
-    /**
-     * Displays a success message to the user.
-     *
-     * @param message Success message to display
-     */
-    private void showSuccessMessage(String message) {
-        Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
-    }
-
     /**
      * Displays an error message to the user.
      *
@@ -1,7 +1,6 @@
 package com.example.studypartner.activities;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.widget.Button;
 import android.widget.CheckBox;
@@ -10,7 +9,6 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
 
 /**
  * TopicPreferenceActivity
@@ -26,15 +24,12 @@ import com.example.studypartner.data.database.DatabaseHelper;
  * Features:
  * - Multiple topic selection via checkboxes
  * - Validation to ensure at least one topic is selected
- * - Saves selections to database linked to user's email
+ * - Carries the selections forward; the profile is saved once, at the end of setup
  * - Navigates to study time preference screen upon completion
  *
  */
 public class TopicPreferenceActivity extends AppCompatActivity {
 
-    private static final String PREFS_NAME = "UserPrefs";
-    private static final String KEY_USER_EMAIL = "userEmail";
-
     // UI Components
     private Button nextButton;
     private CheckBox computerScienceCheckbox;
@@ -48,10 +43,6 @@ public class TopicPreferenceActivity extends AppCompatActivity {
     private CheckBox historyCheckbox;
     private CheckBox philosophyCheckbox;
 
-    // Business Logic
-    private DatabaseHelper databaseHelper;
-    private SharedPreferences sharedPreferences;
-
     /**
      * Initializes the topic preference activity and sets up UI components.
      *
@@ -62,17 +53,8 @@ public class TopicPreferenceActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_topic_preference);
 
-        initializeComponents();
-        setupClickListeners();
-    }
-
-    /**
-     * Initializes all components including views and database helper.
-     */
-    private void initializeComponents() {
         initializeViews();
-        initializeDatabase();
-        initializeSharedPreferences();
+        setupClickListeners();
     }
 
     /**
@@ -94,20 +76,6 @@ public class TopicPreferenceActivity extends AppCompatActivity {
         philosophyCheckbox = findViewById(R.id.checkPhilosophy);
     }
 
-    /**
-     * Initializes the database helper.
-     */
-    private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
-    }
-
-    /**
-     * Initializes SharedPreferences for accessing user session data.
-     */
-    private void initializeSharedPreferences() {
-        sharedPreferences = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
-    }
-
     /**
      * Sets up click listeners for interactive UI components.
      */
@@ -117,14 +85,13 @@ public class TopicPreferenceActivity extends AppCompatActivity {
 
     /**
      * Handles the next button click.
-     * Collects selected topics, validates, saves, and navigates to next screen.
+     * Collects selected topics, validates, and navigates to next screen.
      */
     private void handleNext() {
         String selectedTopics = collectSelectedTopics();
 
         if (validateTopicSelection(selectedTopics)) {
-            saveTopicsToDatabase(selectedTopics);
-            navigateToStudyTimePreference();
+            navigateToStudyTimePreference(selectedTopics);
         } else {
             showErrorMessage("Please select at least one topic");
         }
@@ -169,54 +136,19 @@ public class TopicPreferenceActivity extends AppCompatActivity {
     }
 
     /**
-     * Saves selected topics to database for the current logged-in user.
+     * Navigates to the study time preference activity, passing along the
+     * profile collected so far.
      *
      * @param topics Comma-separated string of selected topics
      */
-    private void saveTopicsToDatabase(String topics) {
-        String userEmail = getUserEmail();
-
-        if (userEmail == null) {
-            showErrorMessage("User not logged in");
-            return;
-        }
-
-        boolean isSaved = databaseHelper.updateUserTopic(userEmail, topics);
-
-        if (isSaved) {
-            showSuccessMessage("Topics saved! Selected: " + topics);
-        } else {
-            showErrorMessage("Failed to save topics");
-        }
-    }
-
-    /**
-     * Retrieves the logged-in user's email from SharedPreferences.
-     *
-     * @return User's email address, or null if not logged in
-     */
-    private String getUserEmail() {
-        return sharedPreferences.getString(KEY_USER_EMAIL, null);
-    }
-
-    /**
-     * Navigates to the study time preference activity.
-     */
-    private void navigateToStudyTimePreference() {
+    private void navigateToStudyTimePreference(String topics) {
         Intent intent = new Intent(this, StudyTimePreferenceActivity.class);
+        intent.putExtras(getIntent());
+        intent.putExtra(InputSocials.EXTRA_TOPICS, topics);
         startActivity(intent);
         finish();
     }
 
-    /**
-     * Displays a success message to the user.
-     *
-     * @param message Success message to display
-     */
-    private void showSuccessMessage(String message) {
-        Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
-    }
-
     /**
      * Displays an error message to the user.
      *
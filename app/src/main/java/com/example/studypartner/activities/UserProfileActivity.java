@@ -1,7 +1,6 @@
 package com.example.studypartner.activities;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.widget.Button;
 import android.widget.EditText;
@@ -12,7 +11,6 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.studypartner.R;
-import com.example.studypartner.data.database.DatabaseHelper;
 import com.example.studypartner.utils.ValidationUtils;
 
 /**
@@ -33,15 +31,12 @@ import com.example.studypartner.utils.ValidationUtils;
  * - Input validation for required fields
  * - Age validation using ValidationUtils
  * - Radio button group for gender selection
- * - Saves profile data to database
+ * - Carries profile data forward; the profile is saved once, at the end of setup
  * - Navigates to topic preference screen upon completion
  *
  */
 public class UserProfileActivity extends AppCompatActivity {
 
-    private static final String PREFS_NAME = "UserPrefs";
-    private static final String KEY_USER_EMAIL = "userEmail";
-
     // UI Components
     private EditText firstNameInput;
     private EditText lastNameInput;
@@ -50,10 +45,6 @@ public class UserProfileActivity extends AppCompatActivity {
     private RadioGroup genderRadioGroup;
     private Button saveProfileButton;
 
-    // Business Logic
-    private DatabaseHelper databaseHelper;
-    private SharedPreferences sharedPreferences;
-
     /**
      * Initializes the user profile activity and sets up UI components.
      *
@@ -63,17 +54,8 @@ public class UserProfileActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_user_profile);
-        initializeComponents();
-        setupClickListeners();
-    }
-
-    /**
-     * Initializes all components including views and database helper.
-     */
-    private void initializeComponents() {
         initializeViews();
-        initializeDatabase();
-        initializeSharedPreferences();
+        setupClickListeners();
     }
 
     /**
@@ -88,20 +70,6 @@ public class UserProfileActivity extends AppCompatActivity {
         saveProfileButton = findViewById(R.id.buttonSaveProfile);
     }
 
-    /**
-     * Initializes the database helper.
-     */
-    private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(this);
-    }
-
-    /**
-     * Initializes SharedPreferences for accessing user session data.
-     */
-    private void initializeSharedPreferences() {
-        sharedPreferences = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
-    }
-
     /**
      * Sets up click listeners for interactive UI components.
      */
@@ -111,7 +79,7 @@ public class UserProfileActivity extends AppCompatActivity {
 
     /**
      * Handles the save profile button click.
-     * Collects user input, validates, and saves to database.
+     * Collects user input, validates, and moves on to topic selection.
      */
     private void handleSaveProfile() {
         String firstName = getFirstName();
@@ -124,7 +92,7 @@ public class UserProfileActivity extends AppCompatActivity {
             return;
         }
 
-        saveProfileToDatabase(firstName, lastName, age, gender, occupation);
+        navigateToTopicPreference(firstName, lastName, age, gender, occupation);
     }
 
     /**
@@ -215,7 +183,8 @@ public class UserProfileActivity extends AppCompatActivity {
     }
 
     /**
-     * Saves user profile data to database for the current logged-in user.
+     * Navigates to the topic preference activity, passing along the profile
+     * data entered here.
      *
      * @param firstName User's first name
      * @param lastName User's last name
@@ -223,51 +192,18 @@ public class UserProfileActivity extends AppCompatActivity {
      * @param gender User's gender
      * @param occupation User's occupation
      */
-    private void saveProfileToDatabase(String firstName, String lastName, int age, String gender, String occupation) {
-        String userEmail = getUserEmail();
-
-        if (userEmail == null) {
-            showErrorMessage("User not logged in");
-            return;
-        }
-
-        boolean isUpdated = databaseHelper.updateUserProfile(userEmail, firstName, lastName, age, gender, occupation);
-
-        if (isUpdated) {
-            showSuccessMessage("Profile saved successfully!");
-            navigateToTopicPreference();
-        } else {
-            showErrorMessage("Failed to save profile");
-        }
-    }
-
-    /**
-     * Retrieves the logged-in user's email from SharedPreferences.
-     *
-     * @return User's email address, or null if not logged in
-     */
-    private String getUserEmail() {
-        return sharedPreferences.getString(KEY_USER_EMAIL, null);
-    }
-
-    /**
-     * Navigates to the topic preference activity.
-     */
-    private void navigateToTopicPreference() {
+    private void navigateToTopicPreference(String firstName, String lastName, int age, String gender,
+                                           String occupation) {
         Intent intent = new Intent(this, TopicPreferenceActivity.class);
+        intent.putExtra(InputSocials.EXTRA_FIRST_NAME, firstName);
+        intent.putExtra(InputSocials.EXTRA_LAST_NAME, lastName);
+        intent.putExtra(InputSocials.EXTRA_AGE, age);
+        intent.putExtra(InputSocials.EXTRA_GENDER, gender);
+        intent.putExtra(InputSocials.EXTRA_OCCUPATION, occupation);
         startActivity(intent);
         finish();
     }
 
-    /**
-     * Displays a success message to the user.
-     *
-     * @param message Success message to display
-     */
-    private void showSuccessMessage(String message) {
-        Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
-    }
-
     /**
      * Displays an error message to the user.
      *
@@ -13,11 +13,12 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.studypartner.R;
 import com.example.studypartner.activities.ShowOtherUserProfileActivity;
-import com.example.studypartner.data.database.ConnectionsDB;
+import com.example.studypartner.data.match.TopicSections;
 import com.example.studypartner.data.model.User;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +29,13 @@ import java.util.Map;
  * Features collapsible sections and a like/unlike functionality for connecting with users.
  * Each section represents a study topic, and users with matching interests are displayed under it.
  *
+ * Supports incremental loading: when the user scrolls near the end of the list and more
+ * pages are available, the OnLoadMoreListener is asked for the next page, which is then
+ * merged into the existing sections with appendSectionedData().
+ *
+ * Likes are handed to the OnLikeListener, so the hosting screen stores the
+ * connection request through its own DatabaseScope.
+ *
  */
 public class SectionedUserAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
@@ -37,11 +45,44 @@ public class SectionedUserAdapter extends RecyclerView.Adapter<RecyclerView.View
     private static final int VIEW_TYPE_HEADER = 0;
     private static final int VIEW_TYPE_USER = 1;
 
+    // Request the next page when this many items remain below the bound position
+    private static final int LOAD_MORE_THRESHOLD = 5;
+
     // Data structures
     private Map<String, List<User>> sectionedData;
     private List<Object> displayList;
     private Map<String, Boolean> sectionVisibilityMap;  // Tracks which sections are expanded
     private Map<String, Boolean> iconStateMap;  // Tracks which users are liked
+    private OnLikeListener onLikeListener;
+
+    // Paging state
+    private OnLoadMoreListener onLoadMoreListener;
+    private boolean hasMorePages;
+    private boolean isLoadingMore;
+
+    /**
+     * Callback for requesting the next page of users.
+     */
+    public interface OnLoadMoreListener {
+        /**
+         * Called when the list is scrolled near its end and more pages are available.
+         * The listener should eventually call appendSectionedData() or setHasMorePages(false).
+         */
+        void onLoadMore();
+    }
+
+    /**
+     * Callback for storing a like.
+     */
+    public interface OnLikeListener {
+        /**
+         * Called when the like icon of a user's card is switched on.
+         * The listener should send the logged-in user's connection request to that user.
+         *
+         * @param likedUser User whose card was liked
+         */
+        void onLike(User likedUser);
+    }
 
     /**
      * Creates a new SectionedUserAdapter with the specified sectioned user data.
@@ -49,7 +90,7 @@ public class SectionedUserAdapter extends RecyclerView.Adapter<RecyclerView.View
      * @param sectionedData Map of topic sections to lists of matching users
      */
     public SectionedUserAdapter(Map<String, List<User>> sectionedData) {
-        this.sectionedData = sectionedData;
+        this.sectionedData = copySections(sectionedData);
         this.displayList = new ArrayList<>();
         this.sectionVisibilityMap = new HashMap<>();
         this.iconStateMap = new HashMap<>();
@@ -85,11 +126,62 @@ public class SectionedUserAdapter extends RecyclerView.Adapter<RecyclerView.View
      * @param newSectionedData New map of topic sections to user lists
      */
     public void updateData(Map<String, List<User>> newSectionedData) {
-        this.sectionedData = newSectionedData;
+        this.sectionedData = copySections(newSectionedData);
+        buildDisplayList();
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Merges the next page of sectioned data into the existing sections.
+     * Users are appended to their section; a new section takes its topic's
+     * place in catalog order, as on the first page.
+     *
+     * @param pageSectionedData Map of topic sections to the page's users
+     */
+    public void appendSectionedData(Map<String, List<User>> pageSectionedData) {
+        sectionedData = TopicSections.merge(sectionedData, pageSectionedData);
+
+        isLoadingMore = false;
         buildDisplayList();
         notifyDataSetChanged();
     }
 
+    /**
+     * Sets the listener asked for further pages.
+     *
+     * @param listener Load-more listener, or null to disable paging
+     */
+    public void setOnLoadMoreListener(OnLoadMoreListener listener) {
+        this.onLoadMoreListener = listener;
+    }
+
+    /**
+     * Sets the listener that stores likes.
+     *
+     * @param listener Like listener, or null to only toggle the icon
+     */
+    public void setOnLikeListener(OnLikeListener listener) {
+        this.onLikeListener = listener;
+    }
+
+    /**
+     * Sets whether more pages can be loaded, and ends any pending load.
+     *
+     * @param hasMorePages true if another page is available
+     */
+    public void setHasMorePages(boolean hasMorePages) {
+        this.hasMorePages = hasMorePages;
+        this.isLoadingMore = false;
+    }
+
+    /**
+     * Ends a page load that failed, so the next bind near the end of the
+     * list asks for the same page again.
+     */
+    public void onLoadMoreFailed() {
+        this.isLoadingMore = false;
+    }
+
     /**
      * Returns the total number of items in the display list.
      *
@@ -146,6 +238,27 @@ public class SectionedUserAdapter extends RecyclerView.Adapter<RecyclerView.View
         } else {
             bindUserViewHolder((UserViewHolder) holder, position);
         }
+
+        maybeRequestNextPage(holder, position);
+    }
+
+    /**
+     * Asks the listener for the next page once binding reaches the end of the list.
+     * The request is posted so the adapter is not modified during layout.
+     *
+     * @param holder The ViewHolder just bound
+     * @param position Position just bound
+     */
+    private void maybeRequestNextPage(RecyclerView.ViewHolder holder, int position) {
+        if (onLoadMoreListener == null || !hasMorePages || isLoadingMore) {
+            return;
+        }
+
+        if (position >= getItemCount() - LOAD_MORE_THRESHOLD) {
+            isLoadingMore = true;
+            OnLoadMoreListener listener = onLoadMoreListener;
+            holder.itemView.post(listener::onLoadMore);
+        }
     }
 
     /**
@@ -225,12 +338,12 @@ public class SectionedUserAdapter extends RecyclerView.Adapter<RecyclerView.View
         intent.putExtra("email", user.getEmail());
         intent.putExtra("firstName", user.getFirstName());
         intent.putExtra("lastName", user.getLastName());
-        intent.putExtra("topics", user.getTopicInterested());
+        intent.putStringArrayListExtra("topics", new ArrayList<>(user.getTopicInterested()));
         view.getContext().startActivity(intent);
     }
 
     /**
-     * Toggles the like state for a user and creates/removes connection.
+     * Toggles the like state for a user and reports a new like to the listener.
      *
      * @param holder The UserViewHolder containing the toggle icon
      * @param user The user to like/unlike
@@ -242,14 +355,8 @@ public class SectionedUserAdapter extends RecyclerView.Adapter<RecyclerView.View
         iconStateMap.put(user.getEmail(), newState);
         updateLikeIcon(holder.toggleIcon, user.getEmail());
 
-        // Create connection if liked
-        if (newState) {
-            ConnectionsDB connectionsDB = new ConnectionsDB(holder.itemView.getContext());
-            boolean isConnected = connectionsDB.insertConnectionRequest(user.getEmail(), user.getEmail());
-
-            if (isConnected) {
-                Log.d(TAG, "Connection request sent to " + user.getEmail());
-            }
+        if (newState && onLikeListener != null) {
+            onLikeListener.onLike(user);
         }
     }
 
@@ -264,6 +371,20 @@ public class SectionedUserAdapter extends RecyclerView.Adapter<RecyclerView.View
         icon.setImageResource(isLiked ? R.drawable.thumb_up_fill : R.drawable.thumb_up_blank);
     }
 
+    /**
+     * Copies sectioned data into mutable lists so pages can be appended.
+     *
+     * @param source Map of topic sections to user lists
+     * @return Mutable copy preserving section order
+     */
+    private static Map<String, List<User>> copySections(Map<String, List<User>> source) {
+        Map<String, List<User>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, List<User>> entry : source.entrySet()) {
+            copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        return copy;
+    }
+
     /**
      * ViewHolder for section header items.
      */
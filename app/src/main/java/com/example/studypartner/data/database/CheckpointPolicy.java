@@ -0,0 +1,123 @@
+package com.example.studypartner.data.database;
+
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+/**
+ * CheckpointPolicy
+ *
+ * Controls how a write-ahead-logged database copies its WAL back into the
+ * main file. Small automatic checkpoints keep reads fast; explicit
+ * checkpoints after bulk writes or when the app goes idle keep the WAL
+ * file from growing.
+ *
+ * Settings:
+ * - Auto-checkpoint threshold: WAL size in pages that triggers a passive
+ *   checkpoint on commit (0 disables automatic checkpoints)
+ * - Explicit mode: how {@link #checkpoint(SQLiteDatabase)} treats readers
+ *   still using old WAL frames
+ *
+ * wal_autocheckpoint is a per-connection setting, and {@link DatabaseHelper}
+ * applies it from onConfigure, which runs on the primary connection only.
+ * That is enough: automatic checkpoints run on the connection that commits,
+ * and every write commits on the primary connection, while the pooled
+ * connections are read-only and keep the framework's threshold unused.
+ */
+public final class CheckpointPolicy {
+
+    private static final String TAG = "CheckpointPolicy";
+
+    /**
+     * Checkpoint modes, as accepted by PRAGMA wal_checkpoint.
+     */
+    public enum Mode {
+        // Copy what it can without waiting for readers or the writer
+        PASSIVE,
+        // Wait for the writer, then copy everything
+        FULL,
+        // As FULL, then wait for readers so the next writer restarts the WAL
+        RESTART,
+        // As RESTART, then truncate the WAL file to zero bytes
+        TRUNCATE
+    }
+
+    // SQLite's own default threshold, about 4 MB of 4 KB pages
+    public static final CheckpointPolicy DEFAULT = new CheckpointPolicy(1000, Mode.PASSIVE);
+
+    private final int autoCheckpointPages;
+    private final Mode mode;
+
+    /**
+     * Creates a policy.
+     *
+     * @param autoCheckpointPages WAL pages that trigger an automatic checkpoint, or 0 to disable
+     * @param mode Mode used by explicit checkpoints
+     * @throws IllegalArgumentException if the threshold is negative or the mode is null
+     */
+    public CheckpointPolicy(int autoCheckpointPages, Mode mode) {
+        if (autoCheckpointPages < 0 || mode == null) {
+            throw new IllegalArgumentException("Invalid checkpoint policy");
+        }
+        this.autoCheckpointPages = autoCheckpointPages;
+        this.mode = mode;
+    }
+
+    /**
+     * Gets the automatic checkpoint threshold.
+     *
+     * @return WAL pages, or 0 if automatic checkpoints are disabled
+     */
+    public int getAutoCheckpointPages() {
+        return autoCheckpointPages;
+    }
+
+    /**
+     * Gets the explicit checkpoint mode.
+     *
+     * @return Checkpoint mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Applies the automatic checkpoint threshold to the database's primary
+     * connection, the one that commits writes.
+     *
+     * @param db Database to configure
+     */
+    void apply(SQLiteDatabase db) {
+        // A transaction pins the primary connection; outside one, the pragma may run on a pooled reader
+        db.beginTransactionNonExclusive();
+        try {
+            DatabaseUtils.longForQuery(db, "PRAGMA wal_autocheckpoint = " + autoCheckpointPages, null);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Runs an explicit checkpoint in this policy's mode.
+     *
+     * @param db Database to checkpoint
+     * @return true if the checkpoint completed, false if it was blocked by readers or the writer
+     */
+    boolean checkpoint(SQLiteDatabase db) {
+        Cursor cursor = db.rawQuery("PRAGMA wal_checkpoint(" + mode.name() + ")", null);
+
+        boolean completed = false;
+        if (cursor != null && cursor.moveToFirst()) {
+            // Columns: busy flag, WAL frames, frames checkpointed
+            completed = cursor.getInt(0) == 0;
+            Log.d(TAG, mode + " checkpoint: " + cursor.getInt(2) + " of " + cursor.getInt(1) +
+                    " frames" + (completed ? "" : ", blocked"));
+        }
+        if (cursor != null) {
+            cursor.close();
+        }
+        return completed;
+    }
+}
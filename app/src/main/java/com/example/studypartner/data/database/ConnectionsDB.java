@@ -1,108 +1,430 @@
 package com.example.studypartner.data.database;
 
-import android.annotation.SuppressLint;
-import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
 import com.example.studypartner.data.model.Connections;
+import com.example.studypartner.data.model.User;
 
+import java.io.File;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * ConnectionsDB
  *
- * SQLite database helper class for managing study partner connection requests.
- * Handles the storage and retrieval of connection requests between users, tracking
- * the sender, receiver, and status of each connection.
+ * Data access for study partner connection requests. Handles the storage and
+ * retrieval of connection requests between users, tracking the sender,
+ * receiver, and status of each connection.
+ *
+ * The Connections table lives in User.db next to the users table, so request
+ * lists can be joined to user rows in one query. Its schema is created and
+ * upgraded by {@link DatabaseHelper}; row copies from older layouts run as
+ * batched, resumable {@link Migration}s.
  *
  * Database Structure:
  * - ID: Auto-incrementing primary key
- * - SENDER_EMAIL: Email of the user who sent the connection request
- * - RECEIVER_EMAIL: Email of the user who received the connection request
+ * - SENDER_ID: users.ID of the user who sent the connection request
+ * - RECEIVER_ID: users.ID of the user who received the connection request
  * - STATUS: Current status of the connection (Sent, Accepted, Rejected)
+ * - UNIQUE (SENDER_ID, RECEIVER_ID), also serving outbox lookups
+ * - Index on (RECEIVER_ID, SENDER_ID, STATUS), covering inbox lookups
  *
  * Features:
  * - Create and insert connection requests
- * - Retrieve pending connection requests for a user
- * - Prevents duplicate connections between same users
- * - Version 3 database schema
+ * - Retrieve received and sent connection requests with index range scans
+ * - Likes list (senders of received requests) as a single indexed join
+ * - Duplicate and self requests rejected by table constraints at write time
+ * - Edges keyed by integer user IDs, so they survive email changes; the
+ *   public API still takes emails and resolves them inside each query
  *
+ * Obtain the shared instance from {@link DatabaseManager}; the database stays open between calls.
  */
-public class ConnectionsDB extends SQLiteOpenHelper {
+public class ConnectionsDB {
 
     private static final String TAG = "ConnectionsDB";
 
-    // Database configuration
-    private static final String DATABASE_NAME = "Connections.db";
-    private static final int DATABASE_VERSION = 3;
+    // Standalone database used before the table moved into User.db
+    static final String LEGACY_DATABASE_NAME = "Connections.db";
+
+    // Data migrations, see DatabaseHelper#runPendingMigrations
+    static final String MIGRATION_LEGACY_IMPORT = "connections_legacy_import";
+    static final String MIGRATION_USER_IDS = "connections_user_ids";
 
     // Table and column names
     public static final String TABLE_NAME = "Connections";
     public static final String COL_ID = "ID";
-    public static final String COL_SENDER_EMAIL = "SENDER_EMAIL";
-    public static final String COL_RECEIVER_EMAIL = "RECEIVER_EMAIL";
+    public static final String COL_SENDER_ID = "SENDER_ID";
+    public static final String COL_RECEIVER_ID = "RECEIVER_ID";
     public static final String COL_STATUS = "STATUS";
+    private static final String INDEX_BY_RECEIVER = "idx_connections_receiver";
+
+    // Email-keyed table of User.db version 10, and its columns (also those of Connections.db)
+    private static final String EMAIL_KEYED_TABLE_NAME = TABLE_NAME + "_v10";
+    private static final String COL_SENDER_EMAIL = "SENDER_EMAIL";
+    private static final String COL_RECEIVER_EMAIL = "RECEIVER_EMAIL";
 
     // Connection status values
     public static final String STATUS_SENT = "Sent";
     public static final String STATUS_ACCEPTED = "Accepted";
     public static final String STATUS_REJECTED = "Rejected";
 
+    // Fixed SQL text, so each connection reuses its prepared statement. Emails are
+    // resolved to IDs once per query; the connection rows are read by ID only.
+    private static final String USERS = DatabaseHelper.TABLE_NAME;
+    private static final String USER_ID = DatabaseHelper.COL_ID;
+    private static final String USER_EMAIL = DatabaseHelper.COL_EMAIL;
+    private static final String SQL_INSERT_REQUEST =
+            "INSERT OR IGNORE INTO " + TABLE_NAME + " (" + COL_SENDER_ID + ", " + COL_RECEIVER_ID + ", " + COL_STATUS + ")" +
+            " SELECT s." + USER_ID + ", r." + USER_ID + ", ? FROM " + USERS + " s, " + USERS + " r" +
+            " WHERE s." + USER_EMAIL + " = ? AND r." + USER_EMAIL + " = ?";
+    private static final String SQL_REQUESTS_BY_RECEIVER =
+            "SELECT c." + COL_ID + ", s." + USER_EMAIL + ", r." + USER_EMAIL + ", c." + COL_STATUS +
+            " FROM " + USERS + " r" +
+            " CROSS JOIN " + TABLE_NAME + " c ON c." + COL_RECEIVER_ID + " = r." + USER_ID +
+            " JOIN " + USERS + " s ON s." + USER_ID + " = c." + COL_SENDER_ID +
+            " WHERE r." + USER_EMAIL + " = ?";
+    private static final String SQL_REQUESTS_BY_SENDER =
+            "SELECT c." + COL_ID + ", s." + USER_EMAIL + ", r." + USER_EMAIL + ", c." + COL_STATUS +
+            " FROM " + USERS + " s" +
+            " CROSS JOIN " + TABLE_NAME + " c ON c." + COL_SENDER_ID + " = s." + USER_ID +
+            " JOIN " + USERS + " r ON r." + USER_ID + " = c." + COL_RECEIVER_ID +
+            " WHERE s." + USER_EMAIL + " = ?";
+    private static final String SQL_IMPORT_REQUEST =
+            "INSERT OR IGNORE INTO " + TABLE_NAME + " (" + COL_SENDER_ID + ", " + COL_RECEIVER_ID + ", " + COL_STATUS + ")" +
+            " VALUES ((SELECT " + USER_ID + " FROM " + USERS + " WHERE " + USER_EMAIL + " = ?)," +
+            " (SELECT " + USER_ID + " FROM " + USERS + " WHERE " + USER_EMAIL + " = ?), ?)";
+    // Receiver lookup, inbox index range scan, then one users rowid lookup per sender
+    private static final String SQL_LIKES_BY_RECEIVER =
+            "SELECT " + UserProjection.LIST_CARD.selectList("s") +
+            " FROM " + USERS + " r" +
+            " CROSS JOIN " + TABLE_NAME + " c ON c." + COL_RECEIVER_ID + " = r." + USER_ID +
+            " JOIN " + USERS + " s ON s." + USER_ID + " = c." + COL_SENDER_ID +
+            " WHERE r." + USER_EMAIL + " = ?";
+
+    // While the email-keyed table is still being copied, rows not yet copied are read from it too
+    private static final String PENDING_COPY_FILTER =
+            " AND s." + USER_ID + " != r." + USER_ID +
+            " AND NOT EXISTS (SELECT 1 FROM " + TABLE_NAME + " n WHERE n." + COL_SENDER_ID + " = s." + USER_ID +
+            " AND n." + COL_RECEIVER_ID + " = r." + USER_ID + ")";
+    private static final String PENDING_COPY_JOIN =
+            " FROM " + EMAIL_KEYED_TABLE_NAME + " o" +
+            " JOIN " + USERS + " s ON s." + USER_EMAIL + " = o." + COL_SENDER_EMAIL +
+            " JOIN " + USERS + " r ON r." + USER_EMAIL + " = o." + COL_RECEIVER_EMAIL;
+    private static final String SQL_REQUESTS_BY_RECEIVER_DURING_COPY = SQL_REQUESTS_BY_RECEIVER +
+            " UNION ALL SELECT o." + COL_ID + ", s." + USER_EMAIL + ", r." + USER_EMAIL + ", o." + COL_STATUS +
+            PENDING_COPY_JOIN + " WHERE o." + COL_RECEIVER_EMAIL + " = ?" + PENDING_COPY_FILTER;
+    private static final String SQL_REQUESTS_BY_SENDER_DURING_COPY = SQL_REQUESTS_BY_SENDER +
+            " UNION ALL SELECT o." + COL_ID + ", s." + USER_EMAIL + ", r." + USER_EMAIL + ", o." + COL_STATUS +
+            PENDING_COPY_JOIN + " WHERE o." + COL_SENDER_EMAIL + " = ?" + PENDING_COPY_FILTER;
+    private static final String SQL_LIKES_BY_RECEIVER_DURING_COPY = SQL_LIKES_BY_RECEIVER +
+            " UNION SELECT " + UserProjection.LIST_CARD.selectList("s") +
+            PENDING_COPY_JOIN + " WHERE o." + COL_RECEIVER_EMAIL + " = ?" + PENDING_COPY_FILTER;
+
+    private final DatabaseHelper userDatabase;
+
+    // Set once the email-keyed table is gone; it never comes back
+    private volatile boolean emailKeyedTableDropped;
+
     /**
-     * Constructs a new ConnectionsDB helper.
+     * Constructs the connections data access object.
      *
-     * @param context Application context
+     * @param userDatabase Helper owning User.db, where the table lives
      */
-    public ConnectionsDB(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    public ConnectionsDB(DatabaseHelper userDatabase) {
+        this.userDatabase = userDatabase;
     }
 
+    // ==================== Schema ====================
+
     /**
-     * Creates the connections table when the database is created for the first time.
+     * Creates the connections table and its inbox index.
+     * Duplicate (sender, receiver) pairs, self requests and missing emails
+     * violate the table's constraints.
      *
      * @param db The database to create tables in
      */
-    @Override
-    public void onCreate(SQLiteDatabase db) {
-        String createTableQuery = "CREATE TABLE " + TABLE_NAME + " (" +
-                COL_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                COL_SENDER_EMAIL + " TEXT, " +
-                COL_RECEIVER_EMAIL + " TEXT, " +
-                COL_STATUS + " TEXT)";
-        db.execSQL(createTableQuery);
+    static void createTables(SQLiteDatabase db) {
+        createConnectionsTable(db, TABLE_NAME);
+        createReceiverIndex(db);
         Log.d(TAG, "Connections table created successfully");
     }
 
     /**
-     * Handles database upgrades by dropping the old table and creating a new one.
-     * Note: This will delete all existing connection data.
+     * Retires the version 10, email-keyed table and creates the ID-keyed one in
+     * its place. Existing rows are copied later, in batches, by
+     * {@link #userIdMigration()}; until the old table is dropped, request and
+     * Likes lists also read the rows not yet copied from it.
+     *
+     * @param db User.db, inside the upgrade transaction, with the progress table created
+     */
+    static void retireEmailKeyedTable(SQLiteDatabase db) {
+        // The index name must be free for the new table
+        db.execSQL("DROP INDEX IF EXISTS " + INDEX_BY_RECEIVER);
+        db.execSQL("ALTER TABLE " + TABLE_NAME + " RENAME TO " + EMAIL_KEYED_TABLE_NAME);
+        createTables(db);
+        MigrationRunner.schedule(db, MIGRATION_USER_IDS);
+    }
+
+    /**
+     * Creates a connections table. Duplicate (sender, receiver) pairs, self
+     * requests and missing users violate its constraints.
+     *
+     * @param db The database instance
+     * @param tableName Name of the table to create
+     */
+    private static void createConnectionsTable(SQLiteDatabase db, String tableName) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + tableName + " (" +
+                COL_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                COL_SENDER_ID + " INTEGER NOT NULL, " +
+                COL_RECEIVER_ID + " INTEGER NOT NULL, " +
+                COL_STATUS + " TEXT, " +
+                "UNIQUE (" + COL_SENDER_ID + ", " + COL_RECEIVER_ID + "), " +
+                "CHECK (" + COL_SENDER_ID + " != " + COL_RECEIVER_ID + "))");
+    }
+
+    /**
+     * Creates the inbox index. It carries the status, so inbox reads never touch the table.
+     *
+     * @param db The database instance
+     */
+    private static void createReceiverIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_BY_RECEIVER + " ON " + TABLE_NAME +
+                " (" + COL_RECEIVER_ID + ", " + COL_SENDER_ID + ", " + COL_STATUS + ")");
+    }
+
+    // ==================== Data Migrations ====================
+
+    /**
+     * Creates the migration that imports the standalone Connections.db, if
+     * present, resolving emails to user IDs. The earliest of any duplicate
+     * requests is kept; self requests and rows whose emails match no user are
+     * dropped by the table constraints. The old file is deleted once every
+     * batch has committed and no source rows remain past the last one; a file
+     * that cannot be opened is left in place.
+     *
+     * @param context Context used to locate the old database
+     * @return Migration, to be scheduled under {@link #MIGRATION_LEGACY_IMPORT}
+     */
+    static Migration legacyImportMigration(Context context) {
+        return new LegacyImport(context);
+    }
+
+    /**
+     * Creates the migration that copies the retired email-keyed table into the
+     * ID-keyed one (see {@link #retireEmailKeyedTable(SQLiteDatabase)}) and
+     * then drops it. Requests whose sender or receiver has no users row are dropped.
+     *
+     * @return Migration, to be scheduled under {@link #MIGRATION_USER_IDS}
+     */
+    static Migration userIdMigration() {
+        return new UserIdRekey();
+    }
+
+    /**
+     * Batched import of the standalone Connections.db, keyed on its request IDs.
+     * Only a file that cannot be opened is skipped; any other failure aborts the
+     * batch, so the runner rolls it back and resumes after the last committed key.
+     */
+    private static final class LegacyImport extends Migration {
+
+        private final Context context;
+        private SQLiteDatabase legacy;
+        // Set when the file exists but cannot be opened; it is then kept, not deleted
+        private boolean unreadable;
+        // Key after which the source held no rows, or -1 until the last batch has run
+        private long exhaustedAfterKey = -1;
+
+        LegacyImport(Context context) {
+            super(MIGRATION_LEGACY_IMPORT);
+            this.context = context;
+        }
+
+        @Override
+        protected long countRemaining(SQLiteDatabase db, long afterKey) {
+            SQLiteDatabase source = openLegacy();
+            if (source == null) {
+                return 0;
+            }
+            return countAfter(source, afterKey);
+        }
+
+        @Override
+        protected long migrateBatch(SQLiteDatabase db, long afterKey, int batchSize) {
+            SQLiteDatabase source = openLegacy();
+            if (source == null) {
+                return -1;
+            }
+
+            long lastKey = -1;
+            Cursor cursor = null;
+            SQLiteStatement insert = db.compileStatement(SQL_IMPORT_REQUEST);
+            try {
+                cursor = source.rawQuery("SELECT " + COL_ID + ", " + COL_SENDER_EMAIL + ", " + COL_RECEIVER_EMAIL +
+                        ", " + COL_STATUS + " FROM " + TABLE_NAME + " WHERE " + COL_ID + " > ?" +
+                        " ORDER BY " + COL_ID + " LIMIT " + batchSize, new String[]{String.valueOf(afterKey)});
+                while (cursor.moveToNext()) {
+                    lastKey = cursor.getLong(0);
+                    if (cursor.isNull(1) || cursor.isNull(2)) {
+                        continue;
+                    }
+                    insert.clearBindings();
+                    insert.bindString(1, cursor.getString(1));
+                    insert.bindString(2, cursor.getString(2));
+                    if (!cursor.isNull(3)) {
+                        insert.bindString(3, cursor.getString(3));
+                    }
+                    insert.executeInsert();
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+                insert.close();
+            }
+            if (lastKey < 0) {
+                exhaustedAfterKey = afterKey;
+            }
+            return lastKey;
+        }
+
+        @Override
+        protected void finish(SQLiteDatabase db) {
+            if (unreadable) {
+                Log.w(TAG, "Kept unreadable " + LEGACY_DATABASE_NAME + ", nothing was imported from it");
+                return;
+            }
+            SQLiteDatabase source = openLegacy();
+            if (source != null) {
+                // Never delete rows that were not imported; the runner retries on the next start
+                if (exhaustedAfterKey < 0 || countAfter(source, exhaustedAfterKey) > 0) {
+                    throw new IllegalStateException(LEGACY_DATABASE_NAME + " still has rows to import");
+                }
+                legacy.close();
+                legacy = null;
+            }
+            File legacyFile = context.getDatabasePath(LEGACY_DATABASE_NAME);
+            if (legacyFile != null && legacyFile.exists() && context.deleteDatabase(LEGACY_DATABASE_NAME)) {
+                Log.d(TAG, "Deleted " + LEGACY_DATABASE_NAME);
+            }
+        }
+
+        private static long countAfter(SQLiteDatabase source, long afterKey) {
+            return DatabaseUtils.longForQuery(source, "SELECT COUNT(*) FROM " + TABLE_NAME +
+                    " WHERE " + COL_ID + " > ?", new String[]{String.valueOf(afterKey)});
+        }
+
+        private SQLiteDatabase openLegacy() {
+            if (legacy == null && !unreadable) {
+                File legacyFile = context.getDatabasePath(LEGACY_DATABASE_NAME);
+                if (legacyFile == null || !legacyFile.exists()) {
+                    return null;
+                }
+                try {
+                    // Read-write, so a WAL left behind by the old helper is recovered on open
+                    legacy = SQLiteDatabase.openDatabase(legacyFile.getPath(), null, SQLiteDatabase.OPEN_READWRITE);
+                } catch (SQLiteException e) {
+                    Log.e(TAG, "Could not open " + LEGACY_DATABASE_NAME + ", skipping import", e);
+                    unreadable = true;
+                }
+            }
+            return legacy;
+        }
+    }
+
+    /**
+     * Batched copy of the retired email-keyed table, keyed on its request IDs.
+     */
+    private static final class UserIdRekey extends Migration {
+
+        UserIdRekey() {
+            super(MIGRATION_USER_IDS);
+        }
+
+        @Override
+        protected long countRemaining(SQLiteDatabase db, long afterKey) {
+            if (!emailKeyedTableExists(db)) {
+                return 0;
+            }
+            return DatabaseUtils.longForQuery(db, "SELECT COUNT(*) FROM " + EMAIL_KEYED_TABLE_NAME +
+                    " WHERE " + COL_ID + " > ?", new String[]{String.valueOf(afterKey)});
+        }
+
+        @Override
+        protected long migrateBatch(SQLiteDatabase db, long afterKey, int batchSize) {
+            if (!emailKeyedTableExists(db)) {
+                return -1;
+            }
+
+            String batch = "SELECT * FROM " + EMAIL_KEYED_TABLE_NAME + " WHERE " + COL_ID + " > ?" +
+                    " ORDER BY " + COL_ID + " LIMIT " + batchSize;
+            db.execSQL("INSERT OR IGNORE INTO " + TABLE_NAME +
+                    " (" + COL_SENDER_ID + ", " + COL_RECEIVER_ID + ", " + COL_STATUS + ")" +
+                    " SELECT s." + USER_ID + ", r." + USER_ID + ", c." + COL_STATUS +
+                    " FROM (" + batch + ") c" +
+                    " JOIN " + USERS + " s ON s." + USER_EMAIL + " = c." + COL_SENDER_EMAIL +
+                    " JOIN " + USERS + " r ON r." + USER_EMAIL + " = c." + COL_RECEIVER_EMAIL +
+                    " ORDER BY c." + COL_ID, new Object[]{afterKey});
+
+            return DatabaseUtils.longForQuery(db, "SELECT IFNULL(MAX(" + COL_ID + "), -1) FROM (" +
+                    "SELECT " + COL_ID + " FROM " + EMAIL_KEYED_TABLE_NAME + " WHERE " + COL_ID + " > ?" +
+                    " ORDER BY " + COL_ID + " LIMIT " + batchSize + ")", new String[]{String.valueOf(afterKey)});
+        }
+
+        @Override
+        protected void finish(SQLiteDatabase db) {
+            db.execSQL("DROP TABLE IF EXISTS " + EMAIL_KEYED_TABLE_NAME);
+        }
+
+    }
+
+    /**
+     * Checks whether the version 10, email-keyed table still exists.
      *
-     * @param db The database to upgrade
-     * @param oldVersion The old database version
-     * @param newVersion The new database version
+     * @param db Open database
+     * @return true until {@link #userIdMigration()} has dropped it
      */
-    @Override
-    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        Log.d(TAG, "Upgrading database from version " + oldVersion + " to " + newVersion);
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_NAME);
-        onCreate(db);
+    private static boolean emailKeyedTableExists(SQLiteDatabase db) {
+        return DatabaseUtils.longForQuery(db, "SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = ?",
+                new String[]{EMAIL_KEYED_TABLE_NAME}) > 0;
+    }
+
+    /**
+     * Checks whether rows may still be waiting in the email-keyed table.
+     * Once the table is found gone the answer is cached.
+     *
+     * @param db Open database
+     * @return true while the user ID copy has not finished
+     */
+    private boolean isCopyPending(SQLiteDatabase db) {
+        if (emailKeyedTableDropped) {
+            return false;
+        }
+        if (emailKeyedTableExists(db)) {
+            return true;
+        }
+        emailKeyedTableDropped = true;
+        return false;
     }
 
+    // ==================== Connection Requests ====================
+
     /**
      * Inserts a new connection request into the database.
      *
      * Creates a connection request from the sender to the receiver with status "Sent".
      * The connection is immediately marked as sent and awaits receiver action.
+     * A repeated request for the same pair is ignored by the unique constraint.
+     * Both emails are resolved to user IDs within the insert itself.
+     * A stored request notifies observers of the Connections table.
      *
      * @param senderEmail Email of the user sending the connection request
      * @param receiverEmail Email of the user receiving the connection request
-     * @return true if insertion was successful, false otherwise
+     * @return true if a new request was stored, false if invalid, unknown or already sent
      */
     public boolean insertConnectionRequest(String senderEmail, String receiverEmail) {
         // Validate input
@@ -117,22 +439,19 @@ public class ConnectionsDB extends SQLiteOpenHelper {
             return false;
         }
 
-        SQLiteDatabase db = this.getWritableDatabase();
+        SQLiteDatabase db = userDatabase.getWritableDatabase();
 
         // Create connection request with "Sent" status
-        ContentValues contentValues = new ContentValues();
-        contentValues.put(COL_SENDER_EMAIL, senderEmail);
-        contentValues.put(COL_RECEIVER_EMAIL, receiverEmail);
-        contentValues.put(COL_STATUS, STATUS_SENT);
-
-        long result = db.insert(TABLE_NAME, null, contentValues);
-        db.close();
+        long result = userDatabase.getStatementCache().executeInsert(db, SQL_INSERT_REQUEST,
+                STATUS_SENT, senderEmail, receiverEmail);
 
         if (result != -1) {
             Log.d(TAG, "Connection request inserted: " + senderEmail + " -> " + receiverEmail);
+            userDatabase.getInvalidationTracker().notifyChanged(TABLE_NAME);
             return true;
         } else {
-            Log.e(TAG, "Failed to insert connection request");
+            Log.w(TAG, "Connection request not stored (already sent or unknown user): " +
+                    senderEmail + " -> " + receiverEmail);
             return false;
         }
     }
@@ -140,72 +459,103 @@ public class ConnectionsDB extends SQLiteOpenHelper {
     /**
      * Retrieves all connection requests received by a specific user.
      *
-     * Returns a list of connection requests where the specified user is the receiver.
-     * Automatically filters out:
-     * - Self-connections (sender equals receiver)
-     * - Duplicate requests from the same sender
+     * Returns a list of connection requests where the specified user is the receiver,
+     * read with a range scan of the receiver index and sender emails joined by ID. Duplicate and self requests
+     * cannot be stored, so no filtering is needed.
      *
      * @param receiverEmail Email of the user whose connection requests to retrieve
      * @return ArrayList of Connections objects representing pending requests, or empty list if none found
      */
     public ArrayList<Connections> getConnectionRequests(String receiverEmail) {
         // Validate input
-        if (receiverEmail == null || receiverEmail.trim().isEmpty()) {
+        if (!isValidEmail(receiverEmail)) {
             Log.e(TAG, "Receiver email is null or empty. Returning empty list.");
             return new ArrayList<>();
         }
 
-        ArrayList<Connections> connections = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
+        ArrayList<Connections> connections = queryConnections(SQL_REQUESTS_BY_RECEIVER,
+                SQL_REQUESTS_BY_RECEIVER_DURING_COPY, receiverEmail);
+        Log.d(TAG, "Retrieved " + connections.size() + " connection requests for " + receiverEmail);
+        return connections;
+    }
 
-        // Query for connection requests where user is receiver
-        String query = "SELECT * FROM " + TABLE_NAME + " WHERE " + COL_RECEIVER_EMAIL + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{receiverEmail});
+    /**
+     * Retrieves all connection requests sent by a specific user,
+     * read with a range scan of the (sender, receiver) unique index and receiver emails joined by ID.
+     *
+     * @param senderEmail Email of the user whose sent requests to retrieve
+     * @return ArrayList of Connections objects, or empty list if none found
+     */
+    public ArrayList<Connections> getSentConnectionRequests(String senderEmail) {
+        if (!isValidEmail(senderEmail)) {
+            Log.e(TAG, "Sender email is null or empty. Returning empty list.");
+            return new ArrayList<>();
+        }
 
-        // Use set to track unique senders and prevent duplicates
-        Set<String> senderSet = new HashSet<>();
+        ArrayList<Connections> connections = queryConnections(SQL_REQUESTS_BY_SENDER,
+                SQL_REQUESTS_BY_SENDER_DURING_COPY, senderEmail);
+        Log.d(TAG, "Retrieved " + connections.size() + " sent connection requests for " + senderEmail);
+        return connections;
+    }
+
+    /**
+     * Retrieves the users who sent connection requests to a specific user, for
+     * the Likes list. One join reads the inbox index and each sender's row by ID.
+     *
+     * @param receiverEmail Email of the user whose likes to retrieve
+     * @return ArrayList of senders with the {@link UserProjection#LIST_CARD} columns, or empty list if none found
+     */
+    public ArrayList<User> getLikes(String receiverEmail) {
+        ArrayList<User> senders = new ArrayList<>();
+        if (!isValidEmail(receiverEmail)) {
+            Log.e(TAG, "Receiver email is null or empty. Returning empty list.");
+            return senders;
+        }
+
+        SQLiteDatabase db = userDatabase.getReadableDatabase();
+        Cursor cursor = isCopyPending(db)
+                ? db.rawQuery(SQL_LIKES_BY_RECEIVER_DURING_COPY, new String[]{receiverEmail, receiverEmail})
+                : db.rawQuery(SQL_LIKES_BY_RECEIVER, new String[]{receiverEmail});
 
         if (cursor != null && cursor.moveToFirst()) {
+            UserRowMapper mapper = new UserRowMapper(cursor);
             do {
-                Connections connection = extractConnectionFromCursor(cursor, receiverEmail);
-
-                // Only add if not self-connection and sender is unique
-                if (connection != null &&
-                    !connection.getSenderEmail().equals(receiverEmail) &&
-                    !senderSet.contains(connection.getSenderEmail())) {
-                    connections.add(connection);
-                    senderSet.add(connection.getSenderEmail());
-                }
+                senders.add(mapper.map(cursor));
             } while (cursor.moveToNext());
-
+        }
+        if (cursor != null) {
             cursor.close();
         }
 
-        db.close();
-
-        Log.d(TAG, "Retrieved " + connections.size() + " connection requests for " + receiverEmail);
-        return connections;
+        Log.d(TAG, "Retrieved " + senders.size() + " likes for " + receiverEmail);
+        return senders;
     }
 
     /**
-     * Extracts a Connections object from the current cursor position.
+     * Runs a connections query keyed on one email.
      *
-     * @param cursor Cursor positioned at a connection record
-     * @param receiverEmail Email of the receiver for this connection
-     * @return Connections object, or null if extraction fails
+     * @param sql Query selecting request ID, sender email, receiver email and status, in that order
+     * @param sqlDuringCopy Same query, also reading rows not yet copied from the email-keyed table
+     * @param email Email bound to the query
+     * @return ArrayList of Connections objects
      */
-    @SuppressLint("Range")
-    private Connections extractConnectionFromCursor(Cursor cursor, String receiverEmail) {
-        try {
-            String connectionId = cursor.getString(cursor.getColumnIndex(COL_ID));
-            String senderEmail = cursor.getString(cursor.getColumnIndex(COL_SENDER_EMAIL));
-            String status = cursor.getString(cursor.getColumnIndex(COL_STATUS));
+    private ArrayList<Connections> queryConnections(String sql, String sqlDuringCopy, String email) {
+        ArrayList<Connections> connections = new ArrayList<>();
+        SQLiteDatabase db = userDatabase.getReadableDatabase();
+        Cursor cursor = isCopyPending(db)
+                ? db.rawQuery(sqlDuringCopy, new String[]{email, email})
+                : db.rawQuery(sql, new String[]{email});
 
-            return new Connections(connectionId, senderEmail, receiverEmail, status);
-        } catch (Exception e) {
-            Log.e(TAG, "Error extracting connection from cursor", e);
-            return null;
+        if (cursor != null && cursor.moveToFirst()) {
+            do {
+                connections.add(new Connections(cursor.getString(0), cursor.getString(1),
+                        cursor.getString(2), cursor.getString(3)));
+            } while (cursor.moveToNext());
         }
+        if (cursor != null) {
+            cursor.close();
+        }
+        return connections;
     }
 
     /**
@@ -0,0 +1,23 @@
+package com.example.studypartner.data.database;
+
+/**
+ * DatabaseCall
+ *
+ * One unit of database work, run off the main thread by
+ * {@link DatabaseManager#submit(DatabaseCall)} or a {@link DatabaseScope}.
+ * Both accessors share the same User.db connection pool, so a call may use
+ * either or both.
+ *
+ * @param <T> Result type
+ */
+public interface DatabaseCall<T> {
+
+    /**
+     * Runs the work on a database I/O thread.
+     *
+     * @param users User database helper
+     * @param connections Connection request accessor
+     * @return Result delivered to the caller
+     */
+    T call(DatabaseHelper users, ConnectionsDB connections);
+}
@@ -4,15 +4,37 @@ import android.annotation.SuppressLint;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
+import com.example.studypartner.data.index.LshRecallReport;
+import com.example.studypartner.data.index.MinHashLshIndex;
+import com.example.studypartner.data.index.TopicBitmapIndex;
+import com.example.studypartner.data.match.CandidatePool;
+import com.example.studypartner.data.match.MatchPage;
+import com.example.studypartner.data.match.MatchProfile;
+import com.example.studypartner.data.match.MatchResult;
+import com.example.studypartner.data.match.MatchScorer;
+import com.example.studypartner.data.match.ParallelMatcher;
+import com.example.studypartner.data.match.TopKHeap;
+import com.example.studypartner.data.model.StudyPreferences;
 import com.example.studypartner.data.model.User;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * DatabaseHelper Class
@@ -24,36 +46,150 @@ import java.util.List;
  * Database Schema:
  * - Table: users
  * - Stores user credentials, personal info, study preferences, and social media links
+ * - Table: topics
+ * - Lookup of distinct topic names, keyed by integer ID
+ * - Table: user_topics
+ * - Junction of (USER_ID, TOPIC_ID) pairs, an inverted index used for matching
+ * - Table: match_cache
+ * - Materialized (USER_ID, CANDIDATE_ID, SCORE, COMPUTED_AT) match lists
+ * - Table: match_cache_state
+ * - Users whose match list is materialized, and when it was last computed
+ * - Table: match_cache_approx
+ * - Approximate (LSH) match lists from {@link #rebuildMatchCache}, never served as exact pages
+ * - Table: Connections
+ * - Connection requests between users, keyed by user ID, accessed through {@link ConnectionsDB}
+ * - Table: schema_migrations
+ * - Progress of batched data migrations, see {@link #runPendingMigrations}
  *
- * @version 6.0
+ * The database runs in write-ahead-log mode, so reads proceed on pooled
+ * connections while a write is in progress.
+ *
+ * Every committed write to the users table is reported to the
+ * {@link InvalidationTracker}, so observed queries re-run and push fresh results.
+ *
+ * Bulk reads (exports, batch matching) should use the {@link UserIterator}
+ * variants, which stream rows in keyset chunks instead of building a list.
+ *
+ * Obtain the shared instance from {@link DatabaseManager}; the database stays open between calls.
+ *
+ * @version 13.0
  */
 public class DatabaseHelper extends SQLiteOpenHelper {
 
     // Database constants
     private static final String DATABASE_NAME = "User.db";
-    private static final int DATABASE_VERSION = 6;
+    private static final int DATABASE_VERSION = 13;
 
     // Table and column names
-    private static final String TABLE_NAME = "users";
-    private static final String COL_ID = "ID";
-    private static final String COL_EMAIL = "EMAIL";
-    private static final String COL_PASSWORD = "PASSWORD";
-    private static final String COL_FIRST_NAME = "FIRST_NAME";
-    private static final String COL_LAST_NAME = "LAST_NAME";
-    private static final String COL_AGE = "AGE";
-    private static final String COL_GENDER = "GENDER";
-    private static final String COL_PREFERRED_STUDY_TIME = "PREFERRED_STUDY_TIME";
-    private static final String COL_TOPICS_INTERESTED = "TOPICS_INTERESTED";
-    private static final String COL_STUDY_DIFFICULTY_LEVEL = "STUDY_DIFFICULTY_LEVEL";
-    private static final String COL_ALREADY_SIGN_UP = "ALREADY_SIGN_UP";
-    private static final String COL_OCCUPATION = "OCCUPATION";
-    private static final String COL_LINKED_IN_URL = "LINKED_IN_URL";
-    private static final String COL_GITHUB_URL = "GITHUB_URL";
-    private static final String COL_PERSONAL_WEBSITE_URL = "PERSONAL_WEBSITE_URL";
+    static final String TABLE_NAME = "users";
+    static final String COL_ID = "ID";
+    static final String COL_EMAIL = "EMAIL";
+    static final String COL_PASSWORD = "PASSWORD";
+    static final String COL_FIRST_NAME = "FIRST_NAME";
+    static final String COL_LAST_NAME = "LAST_NAME";
+    static final String COL_AGE = "AGE";
+    static final String COL_GENDER = "GENDER";
+    static final String COL_PREFERRED_STUDY_TIME = "PREFERRED_STUDY_TIME";
+    static final String COL_TOPICS_INTERESTED = "TOPICS_INTERESTED";
+    static final String COL_STUDY_DIFFICULTY_LEVEL = "STUDY_DIFFICULTY_LEVEL";
+    static final String COL_ALREADY_SIGN_UP = "ALREADY_SIGN_UP";
+    static final String COL_OCCUPATION = "OCCUPATION";
+    static final String COL_LINKED_IN_URL = "LINKED_IN_URL";
+    static final String COL_GITHUB_URL = "GITHUB_URL";
+    static final String COL_PERSONAL_WEBSITE_URL = "PERSONAL_WEBSITE_URL";
+    static final String COL_TOPICS_MASK = "TOPICS_MASK";
+    static final String COL_STUDY_TIME_MASK = "STUDY_TIME_MASK";
+
+    // Topic index tables
+    private static final String TABLE_TOPICS = "topics";
+    private static final String COL_TOPIC_NAME = "NAME";
+    private static final String TABLE_USER_TOPICS = "user_topics";
+    private static final String COL_USER_ID = "USER_ID";
+    private static final String COL_TOPIC_ID = "TOPIC_ID";
+    private static final String INDEX_USER_TOPICS_BY_USER = "idx_user_topics_user";
+    static final String COL_SHARED_TOPIC_COUNT = "SHARED_TOPIC_COUNT";
+
+    // Match cache tables
+    private static final String TABLE_MATCH_CACHE = "match_cache";
+    private static final String COL_CANDIDATE_ID = "CANDIDATE_ID";
+    private static final String COL_SCORE = "SCORE";
+    private static final String COL_COMPUTED_AT = "COMPUTED_AT";
+    private static final String INDEX_MATCH_CACHE_RANK = "idx_match_cache_rank";
+    private static final String INDEX_MATCH_CACHE_CANDIDATE = "idx_match_cache_candidate";
+    private static final String TABLE_MATCH_CACHE_STATE = "match_cache_state";
+    private static final String COL_MATERIALIZED = "MATERIALIZED";
+    private static final String TABLE_MATCH_CACHE_APPROX = "match_cache_approx";
+    private static final String INDEX_MATCH_CACHE_APPROX_CANDIDATE = "idx_match_cache_approx_candidate";
 
     // Logging tag
     private static final String TAG = "DatabaseHelper";
 
+    // Candidate IDs hydrated per query; stays under SQLite's 999 bound-argument limit
+    private static final int CANDIDATE_BATCH_SIZE = 500;
+
+    // Rows per chunk for streamed reads; a chunk of list-card rows fits one CursorWindow
+    private static final int STREAM_CHUNK_SIZE = 1000;
+
+    // Process-wide in-memory topic index, built lazily on first use
+    private static volatile TopicBitmapIndex topicBitmapIndex;
+
+    // Scorer used for the materialized match cache
+    private static final MatchScorer MATCH_CACHE_SCORER = new MatchScorer();
+
+    // Longest materialized match list; match pages end after this many candidates
+    static final int MATCH_CACHE_LIMIT = 200;
+    private static final long MATCH_CACHE_KEEP_ALIVE_SECONDS = 30;
+
+    // Hot-path lookups, compiled once and served from the statement cache
+    private static final String SQL_USER_ID_BY_EMAIL =
+            "SELECT " + COL_ID + " FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ?";
+    private static final String SQL_VALIDATE_USER =
+            "SELECT COUNT(*) FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ? AND " + COL_PASSWORD + " = ?";
+    private static final String SQL_IS_SET_UP =
+            "SELECT " + COL_ALREADY_SIGN_UP + " FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ?";
+    private static final String SQL_INSERT_MATCH_CACHE_ROW = "INSERT OR REPLACE INTO " + TABLE_MATCH_CACHE +
+            " (" + COL_USER_ID + ", " + COL_CANDIDATE_ID + ", " + COL_SCORE + ", " + COL_COMPUTED_AT + ")" +
+            " VALUES (?, ?, ?, ?)";
+    private static final String SQL_INSERT_APPROX_MATCH_ROW = "INSERT OR REPLACE INTO " + TABLE_MATCH_CACHE_APPROX +
+            " (" + COL_USER_ID + ", " + COL_CANDIDATE_ID + ", " + COL_SCORE + ", " + COL_COMPUTED_AT + ")" +
+            " VALUES (?, ?, ?, ?)";
+    private static final String SQL_TOPIC_ID_BY_NAME =
+            "SELECT " + COL_ID + " FROM " + TABLE_TOPICS + " WHERE " + COL_TOPIC_NAME + " = ?";
+
+    // Data migrations over the users table
+    private static final String MIGRATION_USER_TOPICS = "user_topics_backfill";
+    private static final String MIGRATION_PREFERENCE_MASKS = "preference_masks_backfill";
+
+    // Match cache rebuild: users per transaction, so edits and likes interleave between batches
+    private static final int REBUILD_BATCH_USERS = 500;
+
+    // Bulk import: rows per transaction, and the users columns written, in bind order
+    private static final int IMPORT_BATCH_SIZE = 1000;
+    private static final String[] IMPORT_COLUMNS = {
+            COL_EMAIL, COL_PASSWORD, COL_FIRST_NAME, COL_LAST_NAME, COL_AGE, COL_GENDER,
+            COL_PREFERRED_STUDY_TIME, COL_TOPICS_INTERESTED, COL_STUDY_DIFFICULTY_LEVEL, COL_OCCUPATION,
+            COL_LINKED_IN_URL, COL_GITHUB_URL, COL_PERSONAL_WEBSITE_URL, COL_TOPICS_MASK, COL_STUDY_TIME_MASK
+    };
+
+    // Prepared statements kept per connection for row queries with identical SQL
+    static final int SQL_CACHE_SIZE = 100;
+
+    // Write-ahead log checkpointing
+    private volatile CheckpointPolicy checkpointPolicy = CheckpointPolicy.DEFAULT;
+
+    // Compiled single-value lookups and generated query text
+    private final StatementCache statementCache = new StatementCache();
+
+    // Per-table write versions and the observers of each table
+    private final InvalidationTracker invalidationTracker = new InvalidationTracker();
+
+    // Batched data migrations, in the order they must run
+    private final MigrationRunner migrationRunner;
+
+    // Refreshes of edited users' entries in other match lists, run in order off the edit's transaction
+    private final ThreadPoolExecutor matchCacheExecutor = createMatchCacheExecutor();
+    private final Set<Long> pendingMatchCacheRefreshes = ConcurrentHashMap.newKeySet();
+
     /**
      * Creates a new DatabaseHelper instance.
      *
@@ -61,6 +197,100 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      */
     public DatabaseHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        this.migrationRunner = new MigrationRunner(this, Arrays.asList(
+                new UserTopicsBackfill(),
+                new PreferenceMaskBackfill(),
+                ConnectionsDB.legacyImportMigration(context),
+                ConnectionsDB.userIdMigration()), MigrationRunner.DEFAULT_BATCH_SIZE);
+        // Readers use the framework's WAL connection pool while one connection writes
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    /**
+     * Configures each newly opened database before creation or upgrade.
+     * Applies the WAL auto-checkpoint threshold and enlarges the prepared-statement cache.
+     *
+     * @param db The database instance
+     */
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        checkpointPolicy.apply(db);
+        db.setMaxSqlCacheSize(SQL_CACHE_SIZE);
+    }
+
+    /**
+     * Called when the database has been opened, after any creation or upgrade.
+     * Binds the statement cache to this handle.
+     *
+     * @param db The database instance
+     */
+    @Override
+    public void onOpen(SQLiteDatabase db) {
+        super.onOpen(db);
+        statementCache.attach(db);
+    }
+
+    /**
+     * Closes the cached statements, then the database.
+     */
+    @Override
+    public synchronized void close() {
+        statementCache.close();
+        super.close();
+    }
+
+    /**
+     * Replaces the checkpoint policy, applying it to the open database.
+     *
+     * @param policy New checkpoint policy
+     */
+    public void setCheckpointPolicy(CheckpointPolicy policy) {
+        checkpointPolicy = policy;
+        policy.apply(this.getWritableDatabase());
+    }
+
+    /**
+     * Gets the statement cache, e.g. to report its hit and miss counters.
+     *
+     * @return Statement cache for this database
+     */
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    /**
+     * Gets the tracker notified after every committed write to this database.
+     *
+     * @return Invalidation tracker for this database
+     */
+    public InvalidationTracker getInvalidationTracker() {
+        return invalidationTracker;
+    }
+
+    /**
+     * Creates the single match cache thread; it exits when idle.
+     *
+     * @return Match cache executor
+     */
+    private static ThreadPoolExecutor createMatchCacheExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+                MATCH_CACHE_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "match-cache");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Checkpoints the write-ahead log using the current policy's mode.
+     *
+     * @return true if the checkpoint completed, false if readers or the writer blocked it
+     */
+    public boolean checkpoint() {
+        return checkpointPolicy.checkpoint(this.getWritableDatabase());
     }
 
     /**
@@ -86,14 +316,26 @@ public class DatabaseHelper extends SQLiteOpenHelper {
                 COL_OCCUPATION + " TEXT DEFAULT '', " +
                 COL_LINKED_IN_URL + " TEXT DEFAULT '', " +
                 COL_GITHUB_URL + " TEXT DEFAULT '', " +
-                COL_PERSONAL_WEBSITE_URL + " TEXT DEFAULT '')";
+                COL_PERSONAL_WEBSITE_URL + " TEXT DEFAULT '', " +
+                COL_TOPICS_MASK + " INTEGER NOT NULL DEFAULT 0, " +
+                COL_STUDY_TIME_MASK + " INTEGER NOT NULL DEFAULT 0)";
 
         db.execSQL(createTableQuery);
+        createTopicIndexTables(db);
+        createMatchCacheTables(db);
+        createApproximateMatchTable(db);
+        ConnectionsDB.createTables(db);
+        MigrationRunner.createTable(db);
+        MigrationRunner.schedule(db, ConnectionsDB.MIGRATION_LEGACY_IMPORT);
     }
 
     /**
      * Called when the database needs to be upgraded.
      * Handles migration from older database versions by adding new columns.
+     * Schema changes run here, and so do backfills every reader depends on
+     * that are a single pass over users; the large connections copies are
+     * scheduled as batched migrations for {@link #runPendingMigrations} to run
+     * in the background, with readers covering rows not yet copied.
      *
      * @param db The database instance
      * @param oldVersion The old database version
@@ -101,6 +343,9 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Progress of the batched data migrations scheduled below, for version 12+
+        MigrationRunner.createTable(db);
+
         // Add ALREADY_SIGN_UP column for version 2+
         if (oldVersion < 2) {
             db.execSQL("ALTER TABLE " + TABLE_NAME + " ADD COLUMN " + COL_ALREADY_SIGN_UP + " INTEGER DEFAULT 0");
@@ -112,6 +357,117 @@ public class DatabaseHelper extends SQLiteOpenHelper {
             db.execSQL("ALTER TABLE " + TABLE_NAME + " ADD COLUMN " + COL_GITHUB_URL + " TEXT DEFAULT ''");
             db.execSQL("ALTER TABLE " + TABLE_NAME + " ADD COLUMN " + COL_PERSONAL_WEBSITE_URL + " TEXT DEFAULT ''");
         }
+
+        // Add normalized topic index for version 7+
+        if (oldVersion < 7) {
+            createTopicIndexTables(db);
+            MigrationRunner.schedule(db, MIGRATION_USER_TOPICS);
+        }
+
+        // Add materialized match cache for version 8+ (filled lazily per user)
+        if (oldVersion < 8) {
+            createMatchCacheTables(db);
+        }
+
+        // Add topic and study time bitmask columns for version 9+
+        if (oldVersion < 9) {
+            db.execSQL("ALTER TABLE " + TABLE_NAME + " ADD COLUMN " + COL_TOPICS_MASK + " INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE " + TABLE_NAME + " ADD COLUMN " + COL_STUDY_TIME_MASK + " INTEGER NOT NULL DEFAULT 0");
+            // Profiles are read from the masks alone, so fill them before anything reads them
+            PreferenceMaskBackfill backfill = new PreferenceMaskBackfill();
+            for (long lastKey = 0; lastKey >= 0; ) {
+                lastKey = backfill.migrateBatch(db, lastKey, IMPORT_BATCH_SIZE);
+            }
+            Log.d(TAG, "Backfilled preference masks");
+        }
+
+        // Move connection requests into this database for version 10+, so they join with users;
+        // the table is created directly in its current, ID-keyed form
+        if (oldVersion < 10) {
+            ConnectionsDB.createTables(db);
+            MigrationRunner.schedule(db, ConnectionsDB.MIGRATION_LEGACY_IMPORT);
+        }
+
+        // Key connection requests by user ID for version 11+
+        if (oldVersion == 10) {
+            ConnectionsDB.retireEmailKeyedTable(db);
+        }
+
+        // Keep LSH rebuild results apart from exact match lists for version 13+; earlier
+        // rebuilds wrote approximate lists into match_cache, so those are dropped and recomputed
+        if (oldVersion < 13) {
+            createApproximateMatchTable(db);
+            if (oldVersion >= 8) {
+                db.delete(TABLE_MATCH_CACHE, null, null);
+                db.delete(TABLE_MATCH_CACHE_STATE, null, null);
+            }
+        }
+    }
+
+    /**
+     * Creates the topics lookup table and the user_topics junction table.
+     * The junction table is clustered on (TOPIC_ID, USER_ID) so a topic lookup
+     * is a covering range scan; the secondary index serves per-user rewrites.
+     *
+     * @param db The database instance
+     */
+    private void createTopicIndexTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_TOPICS + " (" +
+                COL_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                COL_TOPIC_NAME + " TEXT NOT NULL UNIQUE)");
+
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_USER_TOPICS + " (" +
+                COL_USER_ID + " INTEGER NOT NULL, " +
+                COL_TOPIC_ID + " INTEGER NOT NULL, " +
+                "PRIMARY KEY (" + COL_TOPIC_ID + ", " + COL_USER_ID + ")) WITHOUT ROWID");
+
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_USER_TOPICS_BY_USER + " ON " +
+                TABLE_USER_TOPICS + " (" + COL_USER_ID + ", " + COL_TOPIC_ID + ")");
+    }
+
+    /**
+     * Creates the match cache and its per-user state table.
+     * The rank index serves keyset reads of one user's list; the candidate
+     * index serves invalidation of every list containing an edited user.
+     *
+     * @param db The database instance
+     */
+    private void createMatchCacheTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_MATCH_CACHE + " (" +
+                COL_USER_ID + " INTEGER NOT NULL, " +
+                COL_CANDIDATE_ID + " INTEGER NOT NULL, " +
+                COL_SCORE + " REAL NOT NULL, " +
+                COL_COMPUTED_AT + " INTEGER NOT NULL, " +
+                "PRIMARY KEY (" + COL_USER_ID + ", " + COL_CANDIDATE_ID + ")) WITHOUT ROWID");
+
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_MATCH_CACHE_RANK + " ON " + TABLE_MATCH_CACHE +
+                " (" + COL_USER_ID + ", " + COL_SCORE + " DESC, " + COL_CANDIDATE_ID + ")");
+
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_MATCH_CACHE_CANDIDATE + " ON " + TABLE_MATCH_CACHE +
+                " (" + COL_CANDIDATE_ID + ")");
+
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_MATCH_CACHE_STATE + " (" +
+                COL_USER_ID + " INTEGER PRIMARY KEY, " +
+                COL_COMPUTED_AT + " INTEGER NOT NULL)");
+    }
+
+    /**
+     * Creates the table of approximate match lists written by {@link #rebuildMatchCache}.
+     * Lists are short, so the primary key alone serves per-user reads; the
+     * candidate index serves invalidation of every list containing an edited user.
+     *
+     * @param db The database instance
+     */
+    private void createApproximateMatchTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_MATCH_CACHE_APPROX + " (" +
+                COL_USER_ID + " INTEGER NOT NULL, " +
+                COL_CANDIDATE_ID + " INTEGER NOT NULL, " +
+                COL_SCORE + " REAL NOT NULL, " +
+                COL_COMPUTED_AT + " INTEGER NOT NULL, " +
+                "PRIMARY KEY (" + COL_USER_ID + ", " + COL_CANDIDATE_ID + ")) WITHOUT ROWID");
+
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_MATCH_CACHE_APPROX_CANDIDATE + " ON " +
+                TABLE_MATCH_CACHE_APPROX + " (" + COL_CANDIDATE_ID + ")");
     }
 
     // ==================== User Authentication ====================
@@ -136,7 +492,9 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         values.put(COL_PASSWORD, password);
 
         long result = db.insert(TABLE_NAME, null, values);
-        db.close();
+        if (result != -1) {
+            invalidationTracker.notifyChanged(TABLE_NAME);
+        }
 
         return result != -1;
     }
@@ -149,15 +507,10 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return true if credentials are valid, false otherwise
      */
     public boolean validateUser(String email, String password) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        String query = "SELECT * FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ? AND " + COL_PASSWORD + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{email, password});
-
-        boolean isValid = cursor.getCount() > 0;
-        cursor.close();
-        db.close();
-
-        return isValid;
+        if (email == null || password == null) {
+            return false;
+        }
+        return statementCache.queryForLong(this.getReadableDatabase(), SQL_VALIDATE_USER, 0, email, password) > 0;
     }
 
     /**
@@ -167,19 +520,164 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return true if user exists, false otherwise
      */
     public boolean checkIfUserAlreadyPresent(String email) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        String query = "SELECT * FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{email});
+        return findUserId(this.getReadableDatabase(), email) >= 0;
+    }
+
+    // ==================== Bulk Import ====================
+
+    /**
+     * Imports users with the default batch size.
+     *
+     * @param users Users to import
+     * @return Import counts and throughput
+     * @see #importUsers(Iterator, int)
+     */
+    public ImportResult importUsers(Iterable<User> users) {
+        return importUsers(users.iterator(), IMPORT_BATCH_SIZE);
+    }
+
+    /**
+     * Imports a stream of users in batched transactions, upserting on EMAIL.
+     *
+     * Each batch commits once, so the cost of a commit is shared by
+     * {@code batchSize} rows. Rows are written with precompiled statements: an
+     * INSERT OR IGNORE, followed by an UPDATE of the existing row when the
+     * email is taken, which keeps the row's ID (and so its topic and match
+     * references) stable. The UPDATE only writes the fields a record carries:
+     * null or empty text, an age of 0 and empty topic or study time lists keep
+     * the stored values. Topic and study time masks and the user_topics
+     * index are written alongside; imported users are marked as set up.
+     * Topics and study times outside the {@link StudyPreferences} catalog are
+     * not representable in a {@link User} and so are not imported; dropped
+     * topics are logged and counted in the result.
+     *
+     * Every match list is invalidated once at the end and recomputed lazily,
+     * and the in-memory topic index is rebuilt on its next use.
+     *
+     * If a batch fails it is rolled back and the exception propagates;
+     * batches committed before it remain.
+     *
+     * @param users Users to import; records without an email are skipped
+     * @param batchSize Rows per transaction
+     * @return Import counts and throughput
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public ImportResult importUsers(Iterator<User> users, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        long start = System.nanoTime();
+        int inserted = 0;
+        int updated = 0;
+        int skipped = 0;
+        int droppedTopics = 0;
+        int batches = 0;
+
+        SQLiteDatabase db = this.getWritableDatabase();
+        SQLiteStatement insert = db.compileStatement(buildImportInsertSql());
+        SQLiteStatement update = db.compileStatement(buildImportUpdateSql());
+        SQLiteStatement deleteTopics = db.compileStatement("DELETE FROM " + TABLE_USER_TOPICS +
+                " WHERE " + COL_USER_ID + " = ?");
+        SQLiteStatement insertTopic = db.compileStatement("INSERT OR IGNORE INTO " + TABLE_USER_TOPICS +
+                " (" + COL_USER_ID + ", " + COL_TOPIC_ID + ") VALUES (?, ?)");
+        Map<String, Long> topicIds = new HashMap<>();
+
+        try {
+            while (users.hasNext()) {
+                db.beginTransaction();
+                try {
+                    for (int i = 0; i < batchSize && users.hasNext(); i++) {
+                        User user = users.next();
+                        String email = user == null ? null : user.getEmail();
+                        if (email == null || email.trim().isEmpty()) {
+                            skipped++;
+                            continue;
+                        }
+
+                        if (user.getDiscardedTopicCount() > 0) {
+                            droppedTopics += user.getDiscardedTopicCount();
+                            Log.w(TAG, "Dropped " + user.getDiscardedTopicCount() +
+                                    " topics outside the catalog for " + email);
+                        }
+
+                        bindImportRow(insert, user, false);
+                        long userId = insert.executeInsert();
+                        if (userId == -1) {
+                            bindImportRow(update, user, true);
+                            update.bindString(IMPORT_COLUMNS.length + 1, email);
+                            update.executeUpdateDelete();
+                            userId = findUserId(db, email);
+
+                            // A record without topics keeps the stored ones
+                            if (user.getTopicMask() != 0) {
+                                deleteTopics.bindLong(1, userId);
+                                deleteTopics.executeUpdateDelete();
+                            }
+                            updated++;
+                        } else {
+                            inserted++;
+                        }
+
+                        for (String topic : user.getTopicInterested()) {
+                            insertTopic.bindLong(1, userId);
+                            insertTopic.bindLong(2, findOrCreateTopicId(db, topicIds, topic));
+                            insertTopic.executeInsert();
+                        }
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+                batches++;
+            }
 
-        boolean isPresent = cursor.getCount() > 0;
-        cursor.close();
-        db.close();
+            if (inserted + updated > 0) {
+                invalidateAllMatches(db);
+            }
+        } finally {
+            insert.close();
+            update.close();
+            deleteTopics.close();
+            insertTopic.close();
+        }
 
-        return isPresent;
+        ImportResult result = new ImportResult(inserted, updated, skipped, droppedTopics, batches,
+                System.nanoTime() - start);
+        Log.d(TAG, "Imported users: " + result);
+        return result;
     }
 
     // ==================== User Profile Management ====================
 
+    /**
+     * Applies every change collected in a profile update as one UPDATE in one
+     * transaction. When topics, study times or difficulty change, the
+     * user_topics index and the user's match list are rewritten in the same
+     * transaction. Observers of the users table are notified once.
+     *
+     * @param update Collected field changes
+     * @return true if the user's row was updated, false if none matched or nothing was set
+     */
+    public boolean updateProfile(ProfileUpdate update) {
+        if (update.isEmpty()) {
+            return false;
+        }
+        if (update.changesMatchingFields()) {
+            return updateMatchingFields(update.getEmail(), update.getValues(), update.changesTopics(),
+                    update.getTopics());
+        }
+
+        SQLiteDatabase db = this.getWritableDatabase();
+        int rowsUpdated = db.update(TABLE_NAME, update.getValues(), COL_EMAIL + " = ?",
+                new String[]{update.getEmail()});
+        if (rowsUpdated > 0) {
+            invalidationTracker.notifyChanged(TABLE_NAME);
+        }
+
+        return rowsUpdated > 0;
+    }
+
     /**
      * Updates user profile with personal information.
      *
@@ -192,18 +690,12 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return true if update was successful, false otherwise
      */
     public boolean updateUserProfile(String email, String firstName, String lastName, int age, String gender, String occupation) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COL_FIRST_NAME, firstName);
-        values.put(COL_LAST_NAME, lastName);
-        values.put(COL_AGE, age);
-        values.put(COL_GENDER, gender);
-        values.put(COL_OCCUPATION, occupation);
-
-        int rowsUpdated = db.update(TABLE_NAME, values, COL_EMAIL + " = ?", new String[]{email});
-        db.close();
-
-        return rowsUpdated > 0;
+        return updateProfile(new ProfileUpdate(email)
+                .setFirstName(firstName)
+                .setLastName(lastName)
+                .setAge(age)
+                .setGender(gender)
+                .setOccupation(occupation));
     }
 
     /**
@@ -221,53 +713,49 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      */
     public boolean updateUserProfile(String email, String firstName, String lastName, int age, String gender,
                                      String topics, String studyTime, String difficultyLevel) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COL_FIRST_NAME, firstName);
-        values.put(COL_LAST_NAME, lastName);
-        values.put(COL_AGE, age);
-        values.put(COL_GENDER, gender);
-        values.put(COL_PREFERRED_STUDY_TIME, studyTime);
-        values.put(COL_TOPICS_INTERESTED, topics);
-        values.put(COL_STUDY_DIFFICULTY_LEVEL, difficultyLevel);
-
-        int rowsUpdated = db.update(TABLE_NAME, values, COL_EMAIL + " = ?", new String[]{email});
-        db.close();
-
-        return rowsUpdated > 0;
+        return updateProfile(new ProfileUpdate(email)
+                .setFirstName(firstName)
+                .setLastName(lastName)
+                .setAge(age)
+                .setGender(gender)
+                .setTopics(topics)
+                .setStudyTime(studyTime)
+                .setStudyDifficultyLevel(difficultyLevel));
     }
 
     /**
      * Updates user's preferred study topics.
+     * The TOPICS_INTERESTED and TOPICS_MASK columns, the user_topics index and the user's
+     * match cache pairs are rewritten in one transaction.
      *
      * @param email User's email
      * @param topics Comma-separated list of topics
      * @return true if update was successful, false otherwise
      */
     public boolean updateUserTopic(String email, String topics) {
-        return updateSingleField(email, COL_TOPICS_INTERESTED, topics);
+        return updateProfile(new ProfileUpdate(email).setTopics(topics));
     }
 
     /**
-     * Updates user's preferred study time.
+     * Updates user's preferred study time and refreshes the user's match cache pairs.
      *
      * @param email User's email
      * @param studyTime Comma-separated list of study times
      * @return true if update was successful, false otherwise
      */
     public boolean updateUserStudyTime(String email, String studyTime) {
-        return updateSingleField(email, COL_PREFERRED_STUDY_TIME, studyTime);
+        return updateProfile(new ProfileUpdate(email).setStudyTime(studyTime));
     }
 
     /**
-     * Updates user's study difficulty level.
+     * Updates user's study difficulty level and refreshes the user's match cache pairs.
      *
      * @param email User's email
-     * @param difficultyLevel New difficulty level (Beginner/Intermediate/Advanced)
+     * @param difficultyLevel New difficulty level (Easy/Medium/Hard)
      * @return true if update was successful, false otherwise
      */
     public boolean updateUserStudyDifficultyLevel(String email, String difficultyLevel) {
-        return updateSingleField(email, COL_STUDY_DIFFICULTY_LEVEL, difficultyLevel);
+        return updateProfile(new ProfileUpdate(email).setStudyDifficultyLevel(difficultyLevel));
     }
 
     /**
@@ -280,16 +768,10 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return true if save was successful, false otherwise
      */
     public boolean saveSocials(String email, String linkedIn, String github, String personal) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COL_LINKED_IN_URL, linkedIn);
-        values.put(COL_GITHUB_URL, github);
-        values.put(COL_PERSONAL_WEBSITE_URL, personal);
-
-        int rowsUpdated = db.update(TABLE_NAME, values, COL_EMAIL + " = ?", new String[]{email});
-        db.close();
-
-        return rowsUpdated > 0;
+        return updateProfile(new ProfileUpdate(email)
+                .setLinkedIn(linkedIn)
+                .setGithub(github)
+                .setPersonalWebsite(personal));
     }
 
     /**
@@ -299,14 +781,7 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return true if update was successful, false otherwise
      */
     public boolean setUserSetupComplete(String email) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COL_ALREADY_SIGN_UP, 1);
-
-        int rowsUpdated = db.update(TABLE_NAME, values, COL_EMAIL + " = ?", new String[]{email});
-        db.close();
-
-        return rowsUpdated > 0;
+        return updateProfile(new ProfileUpdate(email).setSetupComplete());
     }
 
     /**
@@ -316,20 +791,8 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return true if setup is complete, false otherwise
      */
     public boolean isSetUp(String email) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        String query = "SELECT " + COL_ALREADY_SIGN_UP + " FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{email});
-
-        boolean isSetUp = false;
-        if (cursor != null && cursor.moveToFirst()) {
-            @SuppressLint("Range")
-            int setUp = cursor.getInt(cursor.getColumnIndex(COL_ALREADY_SIGN_UP));
-            isSetUp = (setUp == 1);
-            cursor.close();
-        }
-        db.close();
-
-        return isSetUp;
+        return statementCache.queryForLong(this.getReadableDatabase(), SQL_IS_SET_UP, 0,
+                email == null ? "" : email) == 1;
     }
 
     // ==================== Password Management ====================
@@ -343,18 +806,7 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      */
     @SuppressLint("Range")
     public String getPassword(String email) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        String query = "SELECT " + COL_PASSWORD + " FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{email});
-
-        String password = "";
-        if (cursor != null && cursor.moveToFirst()) {
-            password = cursor.isNull(cursor.getColumnIndex(COL_PASSWORD)) ? "" : cursor.getString(cursor.getColumnIndex(COL_PASSWORD));
-            cursor.close();
-        }
-        db.close();
-
-        return password;
+        return getSingleField(email, COL_PASSWORD);
     }
 
     /**
@@ -365,7 +817,7 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return true if update was successful, false otherwise
      */
     public boolean updatePassword(String email, String newPassword) {
-        return updateSingleField(email, COL_PASSWORD, newPassword);
+        return updateProfile(new ProfileUpdate(email).setPassword(newPassword));
     }
 
     // ==================== User Retrieval Methods ====================
@@ -376,40 +828,41 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @param email User's email
      * @return User object with all information, or null if not found
      */
-    @SuppressLint("Range")
     public User getUserDetailsForMyProfilePage(String email) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        String query = "SELECT * FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{email});
-
-        User user = null;
-        if (cursor != null && cursor.moveToFirst()) {
-            user = extractUserFromCursor(cursor, true); // Include social links
-            cursor.close();
-        }
-        db.close();
-
-        return user;
+        return getUserInfoByEmail(email, UserProjection.PROFILE);
     }
 
     /**
      * Retrieves user information by email.
      *
      * @param email User's email
-     * @return User object, or null if not found
+     * @return User object with the {@link UserProjection#PROFILE} columns, or null if not found
      */
-    @SuppressLint("Range")
     public User getUserInfoByEmail(String email) {
+        return getUserInfoByEmail(email, UserProjection.PROFILE);
+    }
+
+    /**
+     * Retrieves one view of a user by email, reading only the projection's columns.
+     *
+     * @param email User's email
+     * @param projection Columns to read
+     * @return User object, or null if not found
+     */
+    public User getUserInfoByEmail(String email, UserProjection projection) {
+        String query = statementCache.getQuery("userByEmail:" + projection, () ->
+                "SELECT " + projection.selectList(null) + " FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ?");
+
         SQLiteDatabase db = this.getReadableDatabase();
-        String query = "SELECT * FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{email});
+        Cursor cursor = db.rawQuery(query, new String[]{email == null ? "" : email});
 
         User user = null;
         if (cursor != null && cursor.moveToFirst()) {
-            user = extractUserFromCursor(cursor, false); // Exclude social links
+            user = new UserRowMapper(cursor).map(cursor);
+        }
+        if (cursor != null) {
             cursor.close();
         }
-        db.close();
 
         return user;
     }
@@ -420,20 +873,9 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @param email User's email
      * @return User ID as string, or empty string if not found
      */
-    @SuppressLint("Range")
     public String getUserIDByEmail(String email) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        String query = "SELECT " + COL_ID + " FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{email});
-
-        String userID = "";
-        if (cursor != null && cursor.moveToFirst()) {
-            userID = cursor.getString(cursor.getColumnIndex(COL_ID));
-            cursor.close();
-        }
-        db.close();
-
-        return userID;
+        long userId = findUserId(this.getReadableDatabase(), email);
+        return userId >= 0 ? String.valueOf(userId) : "";
     }
 
     /**
@@ -472,164 +914,1428 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     /**
      * Retrieves all users from the database.
      *
-     * @return ArrayList of all User objects
+     * @return ArrayList of all User objects with the {@link UserProjection#PROFILE} columns
      */
     public ArrayList<User> getAllUsers() {
+        return getAllUsers(UserProjection.PROFILE);
+    }
+
+    /**
+     * Retrieves one view of every user, reading only the projection's columns.
+     *
+     * @param projection Columns to read
+     * @return ArrayList of all User objects
+     */
+    public ArrayList<User> getAllUsers(UserProjection projection) {
         ArrayList<User> users = new ArrayList<>();
+        String query = statementCache.getQuery("allUsers:" + projection, () ->
+                "SELECT " + projection.selectList(null) + " FROM " + TABLE_NAME);
+
         SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery("SELECT * FROM " + TABLE_NAME, null);
+        Cursor cursor = db.rawQuery(query, null);
 
         if (cursor != null && cursor.moveToFirst()) {
+            UserRowMapper mapper = new UserRowMapper(cursor);
             do {
-                User user = extractUserFromCursor(cursor, false);
-                users.add(user);
+                users.add(mapper.map(cursor));
             } while (cursor.moveToNext());
+        }
+        if (cursor != null) {
             cursor.close();
         }
-        db.close();
 
         return users;
     }
 
+    /**
+     * Streams every user in ID order, reading only the projection's columns.
+     * Unlike {@link #getAllUsers(UserProjection)}, memory use does not grow with
+     * the table: rows are read in keyset chunks and decoded as the caller advances.
+     *
+     * @param projection Columns to read
+     * @return Iterator over all users; close it when done
+     */
+    public UserIterator iterateAllUsers(UserProjection projection) {
+        String query = statementCache.getQuery("allUsersAfter:" + projection, () ->
+                "SELECT " + projection.selectList(null) + " FROM " + TABLE_NAME +
+                " WHERE " + COL_ID + " > ? ORDER BY " + COL_ID + " LIMIT " + STREAM_CHUNK_SIZE);
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        return new UserIterator(afterId -> db.rawQuery(query, new String[]{String.valueOf(afterId)}),
+                STREAM_CHUNK_SIZE);
+    }
+
     // ==================== Study Partner Matching ====================
 
     /**
      * Finds potential study partners with matching topic interests.
      * Excludes the current user from results.
      *
+     * Runs as an indexed join over user_topics, so each candidate is returned once
+     * with the number of topics it shares (see {@link User#getSharedTopicCount()}),
+     * ordered by that count descending.
+     *
      * @param userTopics List of topics the current user is interested in
      * @param currentUserEmail Current user's email to exclude from results
-     * @return ArrayList of matching users
+     * @return ArrayList of matching users with the {@link UserProjection#LIST_CARD} columns
      */
     public ArrayList<User> getUsersWithSameTopics(List<String> userTopics, String currentUserEmail) {
+        return getUsersWithSameTopics(userTopics, currentUserEmail, UserProjection.LIST_CARD);
+    }
+
+    /**
+     * Finds potential study partners with matching topic interests, reading only
+     * the projection's columns. See {@link #getUsersWithSameTopics(List, String)}.
+     *
+     * @param userTopics List of topics the current user is interested in
+     * @param currentUserEmail Current user's email to exclude from results
+     * @param projection Columns to read for each match
+     * @return ArrayList of matching users
+     */
+    public ArrayList<User> getUsersWithSameTopics(List<String> userTopics, String currentUserEmail,
+                                                  UserProjection projection) {
         ArrayList<User> matchingUsers = new ArrayList<>();
 
-        if (userTopics == null || userTopics.isEmpty()) {
+        // Prepare query arguments, dropping blanks and duplicates
+        ArrayList<String> args = normalizeTopics(userTopics);
+        if (args.isEmpty()) {
             Log.w(TAG, "No topics provided for matching");
             return matchingUsers;
         }
 
-        SQLiteDatabase db = this.getReadableDatabase();
-
-        // Build dynamic query for topic matching
-        StringBuilder queryBuilder = new StringBuilder("SELECT * FROM " + TABLE_NAME + " WHERE ");
-        for (int i = 0; i < userTopics.size(); i++) {
-            queryBuilder.append(COL_TOPICS_INTERESTED).append(" LIKE ?");
-            if (i < userTopics.size() - 1) {
-                queryBuilder.append(" OR ");
+        // Join topic names -> topic IDs -> user_topics range scans -> users; one SQL text per topic count and projection
+        int topicCount = args.size();
+        String query = statementCache.getQuery("sameTopics:" + topicCount + ":" + projection, () -> {
+            StringBuilder queryBuilder = new StringBuilder("SELECT " + projection.selectList("u") + ", COUNT(*) AS " + COL_SHARED_TOPIC_COUNT +
+                    " FROM " + TABLE_TOPICS + " t" +
+                    " JOIN " + TABLE_USER_TOPICS + " ut ON ut." + COL_TOPIC_ID + " = t." + COL_ID +
+                    " JOIN " + TABLE_NAME + " u ON u." + COL_ID + " = ut." + COL_USER_ID +
+                    " WHERE t." + COL_TOPIC_NAME + " IN (");
+            for (int i = 0; i < topicCount; i++) {
+                queryBuilder.append(i == 0 ? "?" : ", ?");
             }
-        }
-        queryBuilder.append(" AND ").append(COL_EMAIL).append(" != ?");
-
-        // Prepare query arguments
-        ArrayList<String> args = new ArrayList<>();
-        for (String topic : userTopics) {
-            args.add("%" + topic.trim() + "%");
-        }
-        args.add(currentUserEmail);
+            queryBuilder.append(") AND u.").append(COL_EMAIL).append(" != ?")
+                    .append(" GROUP BY ut.").append(COL_USER_ID)
+                    .append(" ORDER BY ").append(COL_SHARED_TOPIC_COUNT).append(" DESC, u.").append(COL_ID);
+            return queryBuilder.toString();
+        });
 
-        Cursor cursor = db.rawQuery(queryBuilder.toString(), args.toArray(new String[0]));
+        args.add(currentUserEmail == null ? "" : currentUserEmail);
 
-        if (cursor != null && cursor.moveToFirst()) {
-            do {
-                User user = extractUserFromCursor(cursor, false);
-                matchingUsers.add(user);
-            } while (cursor.moveToNext());
-            cursor.close();
+        SQLiteDatabase db = this.getReadableDatabase();
+        try (Cursor cursor = db.rawQuery(query, args.toArray(new String[0]))) {
+            if (cursor != null && cursor.moveToFirst()) {
+                UserRowMapper mapper = new UserRowMapper(cursor);
+                int sharedCountIndex = cursor.getColumnIndex(COL_SHARED_TOPIC_COUNT);
+                do {
+                    User user = mapper.map(cursor);
+                    user.setSharedTopicCount(cursor.getInt(sharedCountIndex));
+                    matchingUsers.add(user);
+                } while (cursor.moveToNext());
+            }
         }
-        db.close();
 
         Log.d(TAG, "Found " + matchingUsers.size() + " matching users");
         return matchingUsers;
     }
 
-    // ==================== Helper Methods ====================
-
     /**
-     * Helper method to update a single field for a user.
+     * Streams the potential study partners sharing a topic with the user, in
+     * ID order rather than by shared topic count, reading only the projection's
+     * columns. Each user carries its shared topic count. Memory use does not grow
+     * with the number of matches; use this for batch matching and exports, and
+     * {@link #getUsersWithSameTopics(List, String, UserProjection)} for ranked lists.
      *
-     * @param email User's email
-     * @param columnName Column to update
-     * @param value New value
-     * @return true if update was successful, false otherwise
+     * @param userTopics List of topics the current user is interested in
+     * @param currentUserEmail Current user's email to exclude from results
+     * @param projection Columns to read for each match
+     * @return Iterator over matching users; close it when done
      */
-    private boolean updateSingleField(String email, String columnName, String value) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(columnName, value);
+    public UserIterator iterateUsersWithSameTopics(List<String> userTopics, String currentUserEmail,
+                                                   UserProjection projection) {
+        ArrayList<String> topics = normalizeTopics(userTopics);
+        if (topics.isEmpty()) {
+            Log.w(TAG, "No topics provided for matching");
+            return UserIterator.empty();
+        }
 
-        int rowsUpdated = db.update(TABLE_NAME, values, COL_EMAIL + " = ?", new String[]{email});
-        db.close();
+        // Walk users in ID order and probe each one's topics, so every chunk
+        // stops after its LIMIT; CROSS JOIN keeps users as the outer loop
+        int topicCount = topics.size();
+        String query = statementCache.getQuery("sameTopicsAfter:" + topicCount + ":" + projection, () -> {
+            StringBuilder queryBuilder = new StringBuilder("SELECT " + projection.selectList("u") +
+                    ", COUNT(*) AS " + COL_SHARED_TOPIC_COUNT +
+                    " FROM " + TABLE_NAME + " u" +
+                    " CROSS JOIN " + TABLE_USER_TOPICS + " ut ON ut." + COL_USER_ID + " = u." + COL_ID +
+                    " WHERE ut." + COL_TOPIC_ID + " IN (SELECT " + COL_ID + " FROM " + TABLE_TOPICS +
+                    " WHERE " + COL_TOPIC_NAME + " IN (");
+            for (int i = 0; i < topicCount; i++) {
+                queryBuilder.append(i == 0 ? "?" : ", ?");
+            }
+            queryBuilder.append(")) AND u.").append(COL_EMAIL).append(" != ?")
+                    .append(" AND u.").append(COL_ID).append(" > ?")
+                    .append(" GROUP BY u.").append(COL_ID)
+                    .append(" ORDER BY u.").append(COL_ID)
+                    .append(" LIMIT ").append(STREAM_CHUNK_SIZE);
+            return queryBuilder.toString();
+        });
+
+        String[] args = topics.toArray(new String[topicCount + 2]);
+        args[topicCount] = currentUserEmail == null ? "" : currentUserEmail;
+        SQLiteDatabase db = this.getReadableDatabase();
 
-        return rowsUpdated > 0;
+        return new UserIterator(afterId -> {
+            String[] chunkArgs = args.clone();
+            chunkArgs[topicCount + 1] = String.valueOf(afterId);
+            return db.rawQuery(query, chunkArgs);
+        }, STREAM_CHUNK_SIZE);
     }
 
     /**
-     * Helper method to get a single field value for a user.
+     * Finds the best-scoring study partners for a user in a single pass over the candidates.
      *
-     * @param email User's email
-     * @param columnName Column to retrieve
-     * @return Field value, or empty string if not found
+     * Candidates are users sharing at least one topic. Each row is read as four
+     * primitive columns, scored with the given scorer, and kept only if it is among
+     * the best {@code limit} so far; User objects are built only for the survivors.
+     * Memory is O(limit) regardless of the number of candidates. Use this for
+     * custom scorers; {@link #getMatchPage} serves the default ranking from the cache.
+     *
+     * @param currentUserEmail Current user's email
+     * @param limit Maximum number of matches to return (K)
+     * @param scorer Scorer to rank candidates with
+     * @return Match results sorted by descending score, or empty list if the user is unknown
      */
-    @SuppressLint("Range")
-    private String getSingleField(String email, String columnName) {
+    public List<MatchResult> getTopMatches(String currentUserEmail, int limit, MatchScorer scorer) {
+        return findTopMatches(currentUserEmail, limit, (db, selfId, self) -> {
+            TopKHeap heap = new TopKHeap(limit);
+            int scanned = forEachMatchCandidate(db, selfId, self[0],
+                    (candidateId, topicMask, studyTimeMask, difficultyLevel, materialized) ->
+                            heap.offer(candidateId, scorer.score(self[0], self[1], self[2],
+                                    topicMask, studyTimeMask, difficultyLevel)));
+            Log.d(TAG, "Scanned " + scanned + " candidates, kept " + heap.size());
+            return heap;
+        });
+    }
+
+    /**
+     * Finds the best-scoring study partners for a user, choosing how scoring runs.
+     *
+     * SEQUENTIAL streams the cursor as in {@link #getTopMatches(String, int, MatchScorer)}.
+     * PARALLEL loads the candidates into a columnar {@link CandidatePool} (about 17 bytes
+     * each) and scores chunks across all cores with {@link ParallelMatcher}, merging
+     * per-chunk top-K heaps. Both modes return the same results.
+     *
+     * @param currentUserEmail Current user's email
+     * @param limit Maximum number of matches to return (K)
+     * @param scorer Scorer to rank candidates with
+     * @param mode Sequential or parallel scoring
+     * @return Match results sorted by descending score, or empty list if the user is unknown
+     */
+    public List<MatchResult> getTopMatches(String currentUserEmail, int limit, MatchScorer scorer,
+                                           ParallelMatcher.Mode mode) {
+        if (mode == ParallelMatcher.Mode.SEQUENTIAL) {
+            return getTopMatches(currentUserEmail, limit, scorer);
+        }
+
+        return findTopMatches(currentUserEmail, limit, (db, selfId, self) -> {
+            CandidatePool pool = loadCandidatePool(db, selfId, self[0]);
+            long start = System.nanoTime();
+            TopKHeap heap = new ParallelMatcher(scorer)
+                    .findTopK(new MatchProfile(self[0], self[1], self[2]), pool, limit, mode);
+            Log.d(TAG, "Scored " + pool.size() + " candidates in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return heap;
+        });
+    }
+
+    /**
+     * Looks up the current user, selects the best candidates and builds
+     * User objects for the survivors only.
+     *
+     * @param currentUserEmail Current user's email
+     * @param limit Maximum number of matches to return (K)
+     * @param selector Scores the candidates, sequentially or in parallel
+     * @return Match results sorted by descending score, or empty list if the user is unknown
+     */
+    private List<MatchResult> findTopMatches(String currentUserEmail, int limit, TopKSelector selector) {
+        List<MatchResult> results = new ArrayList<>();
+        if (limit <= 0) {
+            return results;
+        }
+
+        SQLiteDatabase db = this.getReadableDatabase();
+        long selfId = findUserId(db, currentUserEmail);
+        if (selfId < 0) {
+            Log.w(TAG, "No user found for matching: " + currentUserEmail);
+            return results;
+        }
+
+        TopKHeap heap = selector.select(db, selfId, readMatchProfile(db, selfId));
+        TopKHeap.Sorted sorted = heap.sorted();
+        long[] ids = sorted.getIds();
+        double[] scores = sorted.getScores();
+        Map<Long, User> usersById = loadUsersByIds(db, ids);
+
+        for (int i = 0; i < ids.length; i++) {
+            User user = usersById.get(ids[i]);
+            if (user != null) {
+                results.add(new MatchResult(user, scores[i]));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Gets one page of study partner matches from the materialized match cache,
+     * using keyset paging on (score, ID).
+     *
+     * The first call for a user materializes their match list, the best
+     * {@link #MATCH_CACHE_LIMIT} candidates; after that each page is a single
+     * range read of the (USER_ID, SCORE DESC, CANDIDATE_ID) index, and paging
+     * ends with the list. Profile edits keep lists current pair by pair, in the
+     * background. A list dropped by an edit while being paged ends early; the
+     * next first page recomputes it.
+     *
+     * @param currentUserEmail Current user's email
+     * @param after Key of the last row of the previous page, or null for the first page
+     * @param pageSize Maximum number of matches on the page
+     * @return Page of results sorted by descending score, then ascending ID
+     */
+    public MatchPage getMatchPage(String currentUserEmail, MatchPage.PageKey after, int pageSize) {
+        List<MatchResult> results = new ArrayList<>();
+        if (pageSize <= 0) {
+            return new MatchPage(results, null);
+        }
+
+        SQLiteDatabase db = this.getWritableDatabase();
+        long selfId = findUserId(db, currentUserEmail);
+        if (selfId < 0) {
+            Log.w(TAG, "No user found for matching: " + currentUserEmail);
+            return new MatchPage(results, null);
+        }
+
+        if (after == null) {
+            ensureMatchCacheMaterialized(db, selfId);
+        }
+
+        // Keyset seek on the rank index; one extra row detects a following page
+        StringBuilder queryBuilder = new StringBuilder("SELECT " + UserProjection.LIST_CARD.selectList("u") + ", mc." + COL_SCORE +
+                " FROM " + TABLE_MATCH_CACHE + " mc JOIN " + TABLE_NAME + " u ON u." + COL_ID + " = mc." + COL_CANDIDATE_ID +
+                " WHERE mc." + COL_USER_ID + " = ?");
+        ArrayList<String> args = new ArrayList<>();
+        args.add(String.valueOf(selfId));
+        if (after != null) {
+            // rawQuery binds text; Double.toString round-trips, so the cast restores the exact stored score
+            queryBuilder.append(" AND (mc.").append(COL_SCORE).append(" < CAST(?2 AS REAL) OR (mc.").append(COL_SCORE)
+                    .append(" = CAST(?2 AS REAL) AND mc.").append(COL_CANDIDATE_ID).append(" > ?3))");
+            args.add(String.valueOf(after.getScore()));
+            args.add(String.valueOf(after.getUserId()));
+        }
+        queryBuilder.append(" ORDER BY mc.").append(COL_SCORE).append(" DESC, mc.").append(COL_CANDIDATE_ID)
+                .append(" LIMIT ").append(pageSize + 1);
+
+        boolean hasMore = false;
+        long lastId = -1;
+        double lastScore = 0;
+        try (Cursor cursor = db.rawQuery(queryBuilder.toString(), args.toArray(new String[0]))) {
+            if (cursor != null && cursor.moveToFirst()) {
+                UserRowMapper mapper = new UserRowMapper(cursor);
+                int idIndex = cursor.getColumnIndex(COL_ID);
+                int scoreIndex = cursor.getColumnIndex(COL_SCORE);
+                do {
+                    if (results.size() == pageSize) {
+                        hasMore = true;
+                        break;
+                    }
+                    lastId = cursor.getLong(idIndex);
+                    lastScore = cursor.getDouble(scoreIndex);
+                    results.add(new MatchResult(mapper.map(cursor), lastScore));
+                } while (cursor.moveToNext());
+            }
+        }
+
+        return new MatchPage(results, hasMore ? new MatchPage.PageKey(lastScore, lastId) : null);
+    }
+
+    /**
+     * Gets the process-wide in-memory topic index, building it from
+     * {@link #iterateAllUsers(UserProjection)} on first use. Topic edits made through this
+     * helper keep it current afterwards. Match candidates for the match cache and
+     * {@link #getTopMatches} are looked up here rather than in user_topics.
+     *
+     * @return Shared topic bitmap index
+     */
+    public TopicBitmapIndex getTopicBitmapIndex() {
+        TopicBitmapIndex index = topicBitmapIndex;
+        if (index == null) {
+            synchronized (DatabaseHelper.class) {
+                index = topicBitmapIndex;
+                if (index == null) {
+                    long start = System.nanoTime();
+                    try (UserIterator users = iterateAllUsers(UserProjection.MATCHING)) {
+                        index = TopicBitmapIndex.build(users);
+                    }
+                    topicBitmapIndex = index;
+                    Log.d(TAG, "Built topic bitmap index in " + (System.nanoTime() - start) / 1_000_000 + " ms, " +
+                            index.sizeInBytes() + " bytes");
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Builds a MinHash/LSH index over every user's topics and study times
+     * with one scan of the users table, in ascending ID order.
+     *
+     * @return Approximate matching index
+     */
+    public MinHashLshIndex buildMinHashLshIndex() {
+        long start = System.nanoTime();
+        MinHashLshIndex index = new MinHashLshIndex();
+
         SQLiteDatabase db = this.getReadableDatabase();
-        String query = "SELECT " + columnName + " FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{email});
+        Cursor cursor = db.rawQuery("SELECT " + COL_ID + ", " + COL_TOPICS_MASK + ", " +
+                COL_STUDY_TIME_MASK + ", " + COL_STUDY_DIFFICULTY_LEVEL +
+                " FROM " + TABLE_NAME + " ORDER BY " + COL_ID, null);
 
-        String value = "";
         if (cursor != null && cursor.moveToFirst()) {
-            value = cursor.isNull(cursor.getColumnIndex(columnName)) ? "" : cursor.getString(cursor.getColumnIndex(columnName));
+            do {
+                index.add(cursor.getInt(0),
+                        cursor.getInt(1),
+                        cursor.getInt(2),
+                        StudyPreferences.encodeDifficulty(cursor.getString(3)));
+            } while (cursor.moveToNext());
+        }
+        if (cursor != null) {
             cursor.close();
         }
-        db.close();
 
-        return value;
+        Log.d(TAG, "Built LSH index of " + index.size() + " users in " + index.getGroups().size() +
+                " profile groups, " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return index;
     }
 
     /**
-     * Extracts a User object from a database cursor.
-     * Reduces code duplication by centralizing User object creation.
+     * Measures LSH candidate generation against the exact topic match of
+     * {@link #getUsersWithSameTopics} for a random sample of users.
      *
-     * @param cursor Database cursor positioned at a user row
-     * @param includeSocialLinks Whether to include social media links
-     * @return User object with data from cursor
+     * @param index Index built by {@link #buildMinHashLshIndex()}
+     * @param sampleSize Number of users to evaluate
+     * @param topK Length of the ranked lists compared for top-K recall
+     * @return Recall report
      */
-    @SuppressLint("Range")
-    private User extractUserFromCursor(Cursor cursor, boolean includeSocialLinks) {
-        String email = cursor.getString(cursor.getColumnIndex(COL_EMAIL));
-        String password = cursor.getString(cursor.getColumnIndex(COL_PASSWORD));
-        String firstName = cursor.getString(cursor.getColumnIndex(COL_FIRST_NAME));
-        String lastName = cursor.getString(cursor.getColumnIndex(COL_LAST_NAME));
-        int age = cursor.getInt(cursor.getColumnIndex(COL_AGE));
-        String gender = cursor.getString(cursor.getColumnIndex(COL_GENDER));
-        String studyTimeString = cursor.getString(cursor.getColumnIndex(COL_PREFERRED_STUDY_TIME));
-        String topicsString = cursor.getString(cursor.getColumnIndex(COL_TOPICS_INTERESTED));
-        String difficulty = cursor.isNull(cursor.getColumnIndex(COL_STUDY_DIFFICULTY_LEVEL)) ?
-                "" : cursor.getString(cursor.getColumnIndex(COL_STUDY_DIFFICULTY_LEVEL));
-        String occupation = cursor.isNull(cursor.getColumnIndex(COL_OCCUPATION)) ?
-                "" : cursor.getString(cursor.getColumnIndex(COL_OCCUPATION));
-
-        // Parse comma-separated strings into ArrayLists
-        ArrayList<String> studyTimeList = parseCommaSeparatedString(studyTimeString);
-        ArrayList<String> topicsList = parseCommaSeparatedString(topicsString);
-
-        if (includeSocialLinks) {
-            String linkedIn = cursor.isNull(cursor.getColumnIndex(COL_LINKED_IN_URL)) ?
-                    "" : cursor.getString(cursor.getColumnIndex(COL_LINKED_IN_URL));
-            String github = cursor.isNull(cursor.getColumnIndex(COL_GITHUB_URL)) ?
-                    "" : cursor.getString(cursor.getColumnIndex(COL_GITHUB_URL));
-            String personal = cursor.isNull(cursor.getColumnIndex(COL_PERSONAL_WEBSITE_URL)) ?
-                    "" : cursor.getString(cursor.getColumnIndex(COL_PERSONAL_WEBSITE_URL));
-
-            return new User(email, password, firstName, lastName, age, gender,
-                    studyTimeList, topicsList, difficulty, occupation, linkedIn, github, personal);
+    public LshRecallReport evaluateLshRecall(MinHashLshIndex index, int sampleSize, int topK) {
+        if (sampleSize <= 0 || topK <= 0) {
+            return new LshRecallReport(0, 0, 0, 0, 0, 0);
+        }
+
+        // Read the sample up front so no cursor stays open across the exact queries
+        List<long[]> sampleProfiles = new ArrayList<>();
+        List<String> sampleEmails = new ArrayList<>();
+
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery("SELECT " + COL_ID + ", " + COL_EMAIL + ", " + COL_TOPICS_MASK + ", " +
+                COL_STUDY_TIME_MASK + ", " + COL_STUDY_DIFFICULTY_LEVEL + " FROM " + TABLE_NAME +
+                " WHERE " + COL_TOPICS_MASK + " != 0" +
+                " ORDER BY RANDOM() LIMIT " + sampleSize, null);
+
+        if (cursor != null && cursor.moveToFirst()) {
+            do {
+                sampleProfiles.add(new long[]{cursor.getLong(0),
+                        cursor.getInt(2),
+                        cursor.getInt(3),
+                        StudyPreferences.encodeDifficulty(cursor.getString(4))});
+                sampleEmails.add(cursor.getString(1));
+            } while (cursor.moveToNext());
+        }
+        if (cursor != null) {
+            cursor.close();
+        }
+
+        long exactMatches = 0;
+        long lshCandidates = 0;
+        long exactMatchesFound = 0;
+        long topKExpected = 0;
+        long topKFound = 0;
+
+        for (int s = 0; s < sampleProfiles.size(); s++) {
+            long[] profile = sampleProfiles.get(s);
+            int selfId = (int) profile[0];
+            int topicMask = (int) profile[1];
+            int studyTimeMask = (int) profile[2];
+            int difficulty = (int) profile[3];
+
+            // Exact: every user sharing a topic, ranked by score; the junction-table join
+            // reads only the sample's topics, where the streaming scan would visit every user
+            List<User> exact = getUsersWithSameTopics(StudyPreferences.decodeTopics(topicMask), sampleEmails.get(s),
+                    UserProjection.MATCHING);
+            HashSet<Integer> exactIds = new HashSet<>();
+            TopKHeap exactTop = new TopKHeap(topK);
+            for (User user : exact) {
+                int userId = Integer.parseInt(user.getUserID());
+                exactIds.add(userId);
+                MatchProfile candidate = MatchProfile.fromUser(user);
+                exactTop.offer(userId, MATCH_CACHE_SCORER.score(topicMask, studyTimeMask, difficulty,
+                        candidate.getTopicMask(), candidate.getStudyTimeMask(), candidate.getDifficultyLevel()));
+            }
+
+            // Approximate: LSH candidates only, ranked the same way
+            TopKHeap lshTop = new TopKHeap(topK);
+            for (MinHashLshIndex.ProfileGroup group : index.findCandidateGroups(topicMask, studyTimeMask)) {
+                double score = MATCH_CACHE_SCORER.score(topicMask, studyTimeMask, difficulty,
+                        group.getTopicMask(), group.getStudyTimeMask(), group.getDifficultyLevel());
+                for (int i = 0; i < group.size(); i++) {
+                    int userId = group.userIdAt(i);
+                    if (userId == selfId) {
+                        continue;
+                    }
+                    lshCandidates++;
+                    if (exactIds.contains(userId)) {
+                        exactMatchesFound++;
+                    }
+                    lshTop.offer(userId, score);
+                }
+            }
+            exactMatches += exactIds.size();
+
+            double[] exactScores = exactTop.sorted().getScores();
+            double[] lshScores = lshTop.sorted().getScores();
+            topKExpected += exactScores.length;
+            for (int i = 0; i < exactScores.length && i < lshScores.length; i++) {
+                if (lshScores[i] >= exactScores[i]) {
+                    topKFound++;
+                }
+            }
+        }
+
+        LshRecallReport report = new LshRecallReport(sampleProfiles.size(), exactMatches, lshCandidates,
+                exactMatchesFound, topKExpected, topKFound);
+        Log.d(TAG, report.toString());
+        return report;
+    }
+
+    /**
+     * Rebuilds the approximate match lists for every user from LSH candidates,
+     * for use as a nightly job. Results go to match_cache_approx and are read
+     * with {@link #getApproximateMatches}; the exact lists behind
+     * {@link #getMatchPage} are never touched, since LSH misses some matches.
+     *
+     * Users with identical profiles score identically, so each profile group's
+     * ranking is computed once and shared by all its members. Each list keeps the
+     * best {@code perUserLimit} candidates that share a topic and stops there;
+     * a user's next profile edit drops every approximate list involving them.
+     *
+     * Whole profile groups are committed in batches of about
+     * {@link #REBUILD_BATCH_USERS} users, so profile edits and likes wait for
+     * one batch at most. A user whose profile changed after the index was built
+     * gets no list.
+     *
+     * @param index Index built by {@link #buildMinHashLshIndex()}
+     * @param perUserLimit Maximum cached matches per user
+     * @return Number of approximate match rows written
+     */
+    public int rebuildMatchCache(MinHashLshIndex index, int perUserLimit) {
+        if (perUserLimit <= 0) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        int rows = 0;
+        int batches = 0;
+
+        SQLiteDatabase db = this.getWritableDatabase();
+        SQLiteStatement profileUnchanged = db.compileStatement("SELECT COUNT(*) FROM " + TABLE_NAME +
+                " WHERE " + COL_ID + " = ? AND " + COL_TOPICS_MASK + " = ? AND " + COL_STUDY_TIME_MASK + " = ?");
+        SQLiteStatement deleteRows = db.compileStatement("DELETE FROM " + TABLE_MATCH_CACHE_APPROX +
+                " WHERE " + COL_USER_ID + " = ?");
+        SQLiteStatement insert = db.compileStatement(SQL_INSERT_APPROX_MATCH_ROW);
+        try {
+            Iterator<MinHashLshIndex.ProfileGroup> groups = index.getGroups().iterator();
+            while (groups.hasNext()) {
+                db.beginTransaction();
+                try {
+                    int batchUsers = 0;
+                    while (batchUsers < REBUILD_BATCH_USERS && groups.hasNext()) {
+                        MinHashLshIndex.ProfileGroup group = groups.next();
+                        // One extra slot so each member can drop themself from the shared ranking
+                        TopKHeap heap = rankGroupCandidates(index, group, perUserLimit + 1);
+                        TopKHeap.Sorted sorted = heap.sorted();
+                        long[] ids = sorted.getIds();
+                        double[] scores = sorted.getScores();
+
+                        for (int m = 0; m < group.size(); m++) {
+                            long userId = group.userIdAt(m);
+                            deleteRows.bindLong(1, userId);
+                            deleteRows.executeUpdateDelete();
+
+                            profileUnchanged.bindLong(1, userId);
+                            profileUnchanged.bindLong(2, group.getTopicMask());
+                            profileUnchanged.bindLong(3, group.getStudyTimeMask());
+                            if (profileUnchanged.simpleQueryForLong() == 0) {
+                                continue;
+                            }
+
+                            int written = 0;
+                            for (int i = 0; i < ids.length && written < perUserLimit; i++) {
+                                if (ids[i] != userId) {
+                                    insertMatchCacheRow(insert, userId, ids[i], scores[i], now);
+                                    written++;
+                                }
+                            }
+                            rows += written;
+                        }
+                        batchUsers += group.size();
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+                batches++;
+            }
+        } finally {
+            profileUnchanged.close();
+            deleteRows.close();
+            insert.close();
+        }
+        // A full rebuild leaves a large WAL behind; fold it back now rather than on a later commit
+        checkpointPolicy.checkpoint(db);
+
+        Log.d(TAG, "Rebuilt approximate matches for " + index.size() + " users, " + rows + " rows in " +
+                batches + " batches, " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return rows;
+    }
+
+    /**
+     * Gets a user's approximate match list from the last {@link #rebuildMatchCache},
+     * without computing anything. The list holds at most the rebuild's
+     * {@code perUserLimit} entries and may miss matches LSH did not find; it is
+     * empty if the user or one of their matches edited their profile since.
+     *
+     * @param currentUserEmail Current user's email
+     * @param limit Maximum number of matches to return
+     * @return Matches sorted by descending score, then ascending ID
+     */
+    public List<MatchResult> getApproximateMatches(String currentUserEmail, int limit) {
+        List<MatchResult> results = new ArrayList<>();
+        if (limit <= 0) {
+            return results;
+        }
+
+        SQLiteDatabase db = this.getReadableDatabase();
+        long selfId = findUserId(db, currentUserEmail);
+        if (selfId < 0) {
+            Log.w(TAG, "No user found for matching: " + currentUserEmail);
+            return results;
+        }
+
+        try (Cursor cursor = db.rawQuery("SELECT " + UserProjection.LIST_CARD.selectList("u") + ", ma." + COL_SCORE +
+                " FROM " + TABLE_MATCH_CACHE_APPROX + " ma JOIN " + TABLE_NAME + " u ON u." + COL_ID +
+                " = ma." + COL_CANDIDATE_ID + " WHERE ma." + COL_USER_ID + " = ?" +
+                " ORDER BY ma." + COL_SCORE + " DESC, ma." + COL_CANDIDATE_ID + " LIMIT " + limit,
+                new String[]{String.valueOf(selfId)})) {
+            if (cursor != null && cursor.moveToFirst()) {
+                UserRowMapper mapper = new UserRowMapper(cursor);
+                int scoreIndex = cursor.getColumnIndex(COL_SCORE);
+                do {
+                    results.add(new MatchResult(mapper.map(cursor), cursor.getDouble(scoreIndex)));
+                } while (cursor.moveToNext());
+            }
+        }
+        return results;
+    }
+
+    // ==================== Data Migrations ====================
+
+    /**
+     * Runs every scheduled data migration to completion, in batches.
+     * Call from a background thread; {@link DatabaseManager} does so on startup.
+     * Safe to call repeatedly: finished migrations are skipped and an
+     * interrupted one resumes after its last committed batch.
+     *
+     * @param listener Progress listener, or null
+     * @return true if all migrations have finished, false if one failed and will resume on the next call
+     */
+    public boolean runPendingMigrations(MigrationRunner.Listener listener) {
+        return migrationRunner.run(listener);
+    }
+
+    /**
+     * Populates user_topics from the comma-separated TOPICS_INTERESTED column (version 7).
+     */
+    private final class UserTopicsBackfill extends Migration {
+
+        UserTopicsBackfill() {
+            super(MIGRATION_USER_TOPICS);
+        }
+
+        @Override
+        protected long countRemaining(SQLiteDatabase db, long afterKey) {
+            return countUsersAfter(db, afterKey);
+        }
+
+        @Override
+        protected long migrateBatch(SQLiteDatabase db, long afterKey, int batchSize) {
+            Cursor cursor = queryUserBatch(db, COL_TOPICS_INTERESTED, afterKey, batchSize);
+
+            long lastKey = -1;
+            if (cursor != null && cursor.moveToFirst()) {
+                do {
+                    lastKey = cursor.getLong(0);
+                    writeUserTopics(db, lastKey, cursor.isNull(1) ? "" : cursor.getString(1));
+                } while (cursor.moveToNext());
+            }
+            if (cursor != null) {
+                cursor.close();
+            }
+            return lastKey;
+        }
+
+        @Override
+        protected void finish(SQLiteDatabase db) {
+            invalidateAllMatches(db);
+        }
+    }
+
+    /**
+     * Populates TOPICS_MASK and STUDY_TIME_MASK from the comma-separated preference columns (version 9).
+     * Runs inside onUpgrade; it stays registered only to finish runs scheduled by earlier builds.
+     */
+    private final class PreferenceMaskBackfill extends Migration {
+
+        PreferenceMaskBackfill() {
+            super(MIGRATION_PREFERENCE_MASKS);
+        }
+
+        @Override
+        protected long countRemaining(SQLiteDatabase db, long afterKey) {
+            return countUsersAfter(db, afterKey);
+        }
+
+        @Override
+        protected long migrateBatch(SQLiteDatabase db, long afterKey, int batchSize) {
+            Cursor cursor = queryUserBatch(db, COL_TOPICS_INTERESTED + ", " + COL_PREFERRED_STUDY_TIME,
+                    afterKey, batchSize);
+            SQLiteStatement update = db.compileStatement("UPDATE " + TABLE_NAME + " SET " + COL_TOPICS_MASK + " = ?, " +
+                    COL_STUDY_TIME_MASK + " = ? WHERE " + COL_ID + " = ?");
+
+            long lastKey = -1;
+            if (cursor != null && cursor.moveToFirst()) {
+                do {
+                    lastKey = cursor.getLong(0);
+                    update.clearBindings();
+                    update.bindLong(1, StudyPreferences.encodeTopics(cursor.getString(1)));
+                    update.bindLong(2, StudyPreferences.encodeStudyTimes(cursor.getString(2)));
+                    update.bindLong(3, lastKey);
+                    update.executeUpdateDelete();
+                } while (cursor.moveToNext());
+            }
+            if (cursor != null) {
+                cursor.close();
+            }
+            update.close();
+            return lastKey;
+        }
+
+        @Override
+        protected void finish(SQLiteDatabase db) {
+            invalidateAllMatches(db);
+        }
+    }
+
+    /**
+     * Counts users with a row ID above a key.
+     */
+    private static long countUsersAfter(SQLiteDatabase db, long afterKey) {
+        return DatabaseUtils.longForQuery(db, "SELECT COUNT(*) FROM " + TABLE_NAME + " WHERE " + COL_ID + " > ?",
+                new String[]{String.valueOf(afterKey)});
+    }
+
+    /**
+     * Queries the next batch of users in row ID order.
+     *
+     * @param db Open database
+     * @param columns Columns to read after the ID
+     * @param afterKey Row ID of the last user already processed
+     * @param batchSize Maximum number of users
+     * @return Cursor over ID and the requested columns
+     */
+    private static Cursor queryUserBatch(SQLiteDatabase db, String columns, long afterKey, int batchSize) {
+        return db.rawQuery("SELECT " + COL_ID + ", " + columns + " FROM " + TABLE_NAME +
+                " WHERE " + COL_ID + " > ? ORDER BY " + COL_ID + " LIMIT " + batchSize,
+                new String[]{String.valueOf(afterKey)});
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Trims topic names and drops blanks and duplicates, keeping the first occurrence.
+     *
+     * @param topics Topic names, may be null
+     * @return Distinct, non-blank topic names in their original order
+     */
+    private static ArrayList<String> normalizeTopics(List<String> topics) {
+        ArrayList<String> normalized = new ArrayList<>();
+        if (topics == null) {
+            return normalized;
+        }
+        for (String topic : topics) {
+            String trimmed = topic == null ? "" : topic.trim();
+            if (!trimmed.isEmpty() && !normalized.contains(trimmed)) {
+                normalized.add(trimmed);
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Ranks the LSH candidates of one profile group, keeping only candidates
+     * that share a topic. Groups are visited best score first, so the scan stops
+     * as soon as a group cannot place any member in the heap.
+     *
+     * @param index LSH index
+     * @param group Profile group to rank candidates for
+     * @param capacity Heap capacity
+     * @return Heap of the best (id, score) pairs
+     */
+    private TopKHeap rankGroupCandidates(MinHashLshIndex index, MinHashLshIndex.ProfileGroup group, int capacity) {
+        List<MinHashLshIndex.ProfileGroup> candidates = new ArrayList<>();
+        List<Double> groupScores = new ArrayList<>();
+        for (MinHashLshIndex.ProfileGroup candidate : index.findCandidateGroups(group.getTopicMask(),
+                group.getStudyTimeMask())) {
+            if ((candidate.getTopicMask() & group.getTopicMask()) != 0) {
+                candidates.add(candidate);
+                groupScores.add(MATCH_CACHE_SCORER.score(group.getTopicMask(), group.getStudyTimeMask(),
+                        group.getDifficultyLevel(), candidate.getTopicMask(), candidate.getStudyTimeMask(),
+                        candidate.getDifficultyLevel()));
+            }
+        }
+
+        Integer[] order = new Integer[candidates.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(groupScores.get(b), groupScores.get(a)));
+
+        TopKHeap heap = new TopKHeap(capacity);
+        for (int position : order) {
+            MinHashLshIndex.ProfileGroup candidate = candidates.get(position);
+            double score = groupScores.get(position);
+            if (!heap.wouldAccept(-1, score)) {
+                break;
+            }
+            // Members are in ascending ID order, so the first rejection ends the group
+            for (int i = 0; i < candidate.size(); i++) {
+                if (!heap.offer(candidate.userIdAt(i), score)) {
+                    break;
+                }
+            }
+        }
+        return heap;
+    }
+
+    /**
+     * Applies a change to the columns that drive matching in one transaction:
+     * the users row, the user_topics index (when topics change), and the
+     * user's own match list, which is dropped and recomputed on next read.
+     * The user's entries in other users' lists are refreshed afterwards on
+     * the match cache thread, see {@link #scheduleMatchCacheRefresh}.
+     *
+     * @param email User's email
+     * @param values Column values to write
+     * @param topicsChanged Whether the update sets the topics
+     * @param topics New comma-separated topics, or null to clear them; ignored if topics are unchanged
+     * @return true if a row was updated, false otherwise
+     */
+    private boolean updateMatchingFields(String email, ContentValues values, boolean topicsChanged,
+                                         String topics) {
+        SQLiteDatabase db = this.getWritableDatabase();
+
+        // Build the topic index outside the transaction, so it never holds uncommitted topics
+        getTopicBitmapIndex();
+
+        int rowsUpdated;
+        long userId = -1;
+        db.beginTransaction();
+        try {
+            rowsUpdated = db.update(TABLE_NAME, values, COL_EMAIL + " = ?", new String[]{email});
+            if (rowsUpdated > 0) {
+                userId = findUserId(db, email);
+                if (topicsChanged) {
+                    writeUserTopics(db, userId, topics);
+                }
+                deleteApproximateMatches(db, userId);
+                dropMatchList(db, userId);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if (topicsChanged) {
+            updateTopicBitmapIndex(userId);
+        }
+        if (rowsUpdated > 0) {
+            scheduleMatchCacheRefresh(userId);
+            invalidationTracker.notifyChanged(TABLE_NAME);
+        }
+        return rowsUpdated > 0;
+    }
+
+    /**
+     * Materializes a user's match list if it has never been computed: the best
+     * {@link #MATCH_CACHE_LIMIT} candidates sharing a topic, in one transaction.
+     *
+     * @param db Writable database
+     * @param userId User's row ID
+     */
+    private void ensureMatchCacheMaterialized(SQLiteDatabase db, long userId) {
+        Cursor cursor = db.rawQuery("SELECT 1 FROM " + TABLE_MATCH_CACHE_STATE + " WHERE " + COL_USER_ID + " = ?",
+                new String[]{String.valueOf(userId)});
+        boolean materialized = cursor != null && cursor.moveToFirst();
+        if (cursor != null) {
+            cursor.close();
+        }
+        if (materialized) {
+            return;
+        }
+
+        getTopicBitmapIndex();
+        long now = System.currentTimeMillis();
+        db.beginTransaction();
+        try {
+            int[] self = readMatchProfile(db, userId);
+            TopKHeap heap = new TopKHeap(MATCH_CACHE_LIMIT);
+            forEachMatchCandidate(db, userId, self[0], (candidateId, topicMask, studyTimeMask, difficultyLevel,
+                                                        candidateMaterialized) ->
+                    heap.offer(candidateId, MATCH_CACHE_SCORER.score(self[0], self[1], self[2], topicMask,
+                            studyTimeMask, difficultyLevel)));
+
+            TopKHeap.Sorted sorted = heap.sorted();
+            SQLiteStatement insert = db.compileStatement(SQL_INSERT_MATCH_CACHE_ROW);
+            try {
+                db.delete(TABLE_MATCH_CACHE, COL_USER_ID + " = ?", new String[]{String.valueOf(userId)});
+                for (int i = 0; i < sorted.size(); i++) {
+                    insertMatchCacheRow(insert, userId, sorted.getIds()[i], sorted.getScores()[i], now);
+                }
+            } finally {
+                insert.close();
+            }
+
+            ContentValues state = new ContentValues();
+            state.put(COL_USER_ID, userId);
+            state.put(COL_COMPUTED_AT, now);
+            db.insertWithOnConflict(TABLE_MATCH_CACHE_STATE, null, state, SQLiteDatabase.CONFLICT_REPLACE);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        Log.d(TAG, "Materialized match cache for user " + userId);
+    }
+
+    /**
+     * Drops a user's own match list and its state row, so the next first page recomputes it.
+     *
+     * @param db Writable database
+     * @param userId User's row ID
+     */
+    private void dropMatchList(SQLiteDatabase db, long userId) {
+        String[] userIdArg = {String.valueOf(userId)};
+        db.delete(TABLE_MATCH_CACHE, COL_USER_ID + " = ?", userIdArg);
+        db.delete(TABLE_MATCH_CACHE_STATE, COL_USER_ID + " = ?", userIdArg);
+    }
+
+    /**
+     * Queues a refresh of a user's entries in other users' match lists on the
+     * match cache thread. Refreshes run one at a time, in order, each in its
+     * own transaction, so a profile edit never waits for them; a user already
+     * queued is not queued twice. Until it runs, those lists rank the user by
+     * their previous profile.
+     *
+     * @param userId User's row ID
+     */
+    private void scheduleMatchCacheRefresh(long userId) {
+        if (userId < 0 || !pendingMatchCacheRefreshes.add(userId)) {
+            return;
+        }
+        matchCacheExecutor.execute(() -> {
+            pendingMatchCacheRefreshes.remove(userId);
+            try {
+                SQLiteDatabase db = this.getWritableDatabase();
+                db.beginTransaction();
+                try {
+                    refreshMatchCachePairs(db, userId);
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            } catch (RuntimeException e) {
+                // Lists left stale here are still correct for their own users once re-materialized
+                Log.e(TAG, "Error refreshing match cache pairs for user " + userId, e);
+            }
+        });
+    }
+
+    /**
+     * Recomputes a user's entry in each materialized match list of a candidate,
+     * keeping every list at most {@link #MATCH_CACHE_LIMIT} long. Must run
+     * inside a transaction.
+     *
+     * A list that is not full holds every candidate of its owner, so the user
+     * is simply added or removed. A full list admits the user only by
+     * displacing its last entry. A full list the user drops out of, or falls
+     * below the last entry of, may now be missing someone who was cut off;
+     * it is dropped and recomputed on its owner's next first page.
+     *
+     * @param db Writable database
+     * @param userId User's row ID
+     */
+    private void refreshMatchCachePairs(SQLiteDatabase db, long userId) {
+        String userIdArg = String.valueOf(userId);
+
+        // Lists holding the user's previous entry, with their last entry before it is removed
+        Map<Long, double[]> previousLists = new HashMap<>();
+        try (Cursor cursor = db.rawQuery("SELECT " + COL_USER_ID + " FROM " + TABLE_MATCH_CACHE +
+                " WHERE " + COL_CANDIDATE_ID + " = ?", new String[]{userIdArg})) {
+            while (cursor.moveToNext()) {
+                previousLists.put(cursor.getLong(0), null);
+            }
+        }
+        for (Map.Entry<Long, double[]> list : previousLists.entrySet()) {
+            list.setValue(readLastMatchIfFull(db, list.getKey()));
+        }
+        db.delete(TABLE_MATCH_CACHE, COL_CANDIDATE_ID + " = ?", new String[]{userIdArg});
+
+        int[] self = readMatchProfile(db, userId);
+        long now = System.currentTimeMillis();
+        Set<Long> staleLists = new HashSet<>();
+        SQLiteStatement insert = db.compileStatement(SQL_INSERT_MATCH_CACHE_ROW);
+        SQLiteStatement deleteRow = db.compileStatement("DELETE FROM " + TABLE_MATCH_CACHE +
+                " WHERE " + COL_USER_ID + " = ? AND " + COL_CANDIDATE_ID + " = ?");
+
+        int[] pairs = {0};
+        try {
+            forEachMatchCandidate(db, userId, self[0], (candidateId, topicMask, studyTimeMask, difficultyLevel,
+                                                        materialized) -> {
+                if (!materialized) {
+                    return;
+                }
+                double score = MATCH_CACHE_SCORER.score(self[0], self[1], self[2], topicMask, studyTimeMask,
+                        difficultyLevel);
+
+                boolean wasListed = previousLists.containsKey(candidateId);
+                double[] last = wasListed ? previousLists.remove(candidateId) : readLastMatchIfFull(db, candidateId);
+                if (last != null && !ranksAtOrBefore(score, userId, last)) {
+                    if (wasListed) {
+                        staleLists.add(candidateId);
+                    }
+                    return;
+                }
+                if (last != null && !wasListed) {
+                    deleteRow.bindLong(1, candidateId);
+                    deleteRow.bindLong(2, (long) last[1]);
+                    deleteRow.executeUpdateDelete();
+                }
+                insertMatchCacheRow(insert, candidateId, userId, score, now);
+                pairs[0]++;
+            });
+        } finally {
+            insert.close();
+            deleteRow.close();
+        }
+
+        // Full lists the user no longer shares a topic with
+        for (Map.Entry<Long, double[]> list : previousLists.entrySet()) {
+            if (list.getValue() != null) {
+                staleLists.add(list.getKey());
+            }
+        }
+        for (long listOwner : staleLists) {
+            dropMatchList(db, listOwner);
+        }
+        Log.d(TAG, "Refreshed " + pairs[0] + " match cache pairs for user " + userId + ", dropped " +
+                staleLists.size() + " lists");
+    }
+
+    /**
+     * Reads the last entry of a user's match list if the list is full.
+     *
+     * @param db Open database
+     * @param userId List owner's row ID
+     * @return {score, candidate ID} of the last entry, or null if the list has room
+     */
+    private double[] readLastMatchIfFull(SQLiteDatabase db, long userId) {
+        try (Cursor cursor = db.rawQuery("SELECT " + COL_SCORE + ", " + COL_CANDIDATE_ID + " FROM " + TABLE_MATCH_CACHE +
+                " WHERE " + COL_USER_ID + " = ? ORDER BY " + COL_SCORE + " DESC, " + COL_CANDIDATE_ID +
+                " LIMIT 1 OFFSET " + (MATCH_CACHE_LIMIT - 1), new String[]{String.valueOf(userId)})) {
+            return cursor.moveToFirst() ? new double[]{cursor.getDouble(0), cursor.getLong(1)} : null;
+        }
+    }
+
+    /**
+     * Checks whether a (score, ID) pair ranks at or before a list entry in
+     * (score DESC, ID ASC) order.
+     */
+    private static boolean ranksAtOrBefore(double score, long id, double[] entry) {
+        return score > entry[0] || (score == entry[0] && id <= (long) entry[1]);
+    }
+
+    /**
+     * Drops every approximate match list row involving a user, whose scores
+     * an edit to the user's matching fields has made stale.
+     *
+     * @param db Writable database
+     * @param userId User's row ID
+     */
+    private void deleteApproximateMatches(SQLiteDatabase db, long userId) {
+        String[] userIdArg = {String.valueOf(userId)};
+        db.delete(TABLE_MATCH_CACHE_APPROX, COL_USER_ID + " = ?", userIdArg);
+        db.delete(TABLE_MATCH_CACHE_APPROX, COL_CANDIDATE_ID + " = ?", userIdArg);
+    }
+
+    /**
+     * Writes one match cache row with a precompiled statement.
+     */
+    private static void insertMatchCacheRow(SQLiteStatement insert, long userId, long candidateId, double score,
+                                            long now) {
+        insert.clearBindings();
+        insert.bindLong(1, userId);
+        insert.bindLong(2, candidateId);
+        insert.bindDouble(3, score);
+        insert.bindLong(4, now);
+        insert.executeInsert();
+    }
+
+    /**
+     * Scores a user's candidates, given the user's ID and encoded profile, into a top-K heap.
+     */
+    private interface TopKSelector {
+        TopKHeap select(SQLiteDatabase db, long selfId, int[] self);
+    }
+
+    /**
+     * Receives the encoded profile of one match candidate.
+     */
+    private interface CandidateVisitor {
+        void visit(long candidateId, int topicMask, int studyTimeMask, int difficultyLevel, boolean materialized);
+    }
+
+    /**
+     * Visits every user sharing at least one topic with a user, excluding the user.
+     * Candidate IDs come from the in-memory {@link TopicBitmapIndex}; SQLite only
+     * hydrates their encoded profiles, a batch of IDs per query. Candidates whose
+     * stored topics no longer overlap (an edit racing the index) are skipped.
+     *
+     * @param db Open database
+     * @param userId User's row ID
+     * @param topicMask User's current topic bitmask
+     * @param visitor Receives each candidate's ID, topic mask, study time mask,
+     *                difficulty level and whether it has a materialized match list
+     * @return Number of candidates visited
+     */
+    private int forEachMatchCandidate(SQLiteDatabase db, long userId, int topicMask, CandidateVisitor visitor) {
+        int[] ids = getTopicBitmapIndex().findUsersSharingAtLeast(StudyPreferences.decodeTopics(topicMask), 1,
+                (int) userId);
+
+        int visited = 0;
+        for (int from = 0; from < ids.length; from += CANDIDATE_BATCH_SIZE) {
+            int count = Math.min(CANDIDATE_BATCH_SIZE, ids.length - from);
+            String query = statementCache.getQuery("matchCandidates:" + count, () -> {
+                StringBuilder queryBuilder = new StringBuilder("SELECT u." + COL_ID + ", u." + COL_TOPICS_MASK +
+                        ", u." + COL_STUDY_TIME_MASK + ", u." + COL_STUDY_DIFFICULTY_LEVEL + ", " +
+                        "(s." + COL_USER_ID + " IS NOT NULL) AS " + COL_MATERIALIZED +
+                        " FROM " + TABLE_NAME + " u" +
+                        " LEFT JOIN " + TABLE_MATCH_CACHE_STATE + " s ON s." + COL_USER_ID + " = u." + COL_ID +
+                        " WHERE u." + COL_ID + " IN (");
+                for (int i = 0; i < count; i++) {
+                    queryBuilder.append(i == 0 ? "?" : ", ?");
+                }
+                return queryBuilder.append(")").toString();
+            });
+
+            String[] args = new String[count];
+            for (int i = 0; i < count; i++) {
+                args[i] = String.valueOf(ids[from + i]);
+            }
+
+            try (Cursor cursor = db.rawQuery(query, args)) {
+                while (cursor.moveToNext()) {
+                    int candidateTopics = cursor.getInt(1);
+                    if ((candidateTopics & topicMask) == 0) {
+                        continue;
+                    }
+                    visitor.visit(cursor.getLong(0), candidateTopics, cursor.getInt(2),
+                            StudyPreferences.encodeDifficulty(cursor.getString(3)), cursor.getInt(4) != 0);
+                    visited++;
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Loads all match candidates of a user into a columnar pool.
+     *
+     * @param db Open database
+     * @param userId User's row ID
+     * @param topicMask User's topic bitmask
+     * @return Pool of encoded candidate profiles
+     */
+    private CandidatePool loadCandidatePool(SQLiteDatabase db, long userId, int topicMask) {
+        CandidatePool pool = new CandidatePool(0);
+        forEachMatchCandidate(db, userId, topicMask,
+                (candidateId, topics, studyTimeMask, difficultyLevel, materialized) ->
+                        pool.add(candidateId, topics, studyTimeMask, difficultyLevel));
+        return pool;
+    }
+
+    /**
+     * Reads a user's encoded matching preferences.
+     *
+     * @param db Open database
+     * @param userId User's row ID
+     * @return {topic mask, study time mask, difficulty level}
+     */
+    private int[] readMatchProfile(SQLiteDatabase db, long userId) {
+        int[] profile = {0, 0, StudyPreferences.NO_DIFFICULTY};
+        Cursor cursor = db.rawQuery("SELECT " + COL_TOPICS_MASK + ", " + COL_STUDY_TIME_MASK + ", " +
+                COL_STUDY_DIFFICULTY_LEVEL + " FROM " + TABLE_NAME + " WHERE " + COL_ID + " = ?",
+                new String[]{String.valueOf(userId)});
+
+        if (cursor != null && cursor.moveToFirst()) {
+            profile[0] = cursor.getInt(0);
+            profile[1] = cursor.getInt(1);
+            profile[2] = StudyPreferences.encodeDifficulty(cursor.getString(2));
+        }
+        if (cursor != null) {
+            cursor.close();
+        }
+        return profile;
+    }
+
+    /**
+     * Looks up a user's row ID by email.
+     *
+     * @param db Open database
+     * @param email User's email
+     * @return Row ID, or -1 if no user has that email
+     */
+    private long findUserId(SQLiteDatabase db, String email) {
+        return statementCache.queryForLong(db, SQL_USER_ID_BY_EMAIL, -1, email == null ? "" : email);
+    }
+
+    /**
+     * Loads list-card User objects for a set of row IDs in one query.
+     *
+     * @param db Open readable database
+     * @param ids User row IDs
+     * @return Map of row ID to User
+     */
+    private Map<Long, User> loadUsersByIds(SQLiteDatabase db, long[] ids) {
+        Map<Long, User> usersById = new HashMap<>();
+        if (ids.length == 0) {
+            return usersById;
+        }
+
+        StringBuilder queryBuilder = new StringBuilder("SELECT " + UserProjection.LIST_CARD.selectList(null) +
+                " FROM " + TABLE_NAME + " WHERE " + COL_ID + " IN (");
+        String[] args = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            queryBuilder.append(i == 0 ? "?" : ", ?");
+            args[i] = String.valueOf(ids[i]);
+        }
+        queryBuilder.append(")");
+
+        try (Cursor cursor = db.rawQuery(queryBuilder.toString(), args)) {
+            if (cursor != null && cursor.moveToFirst()) {
+                UserRowMapper mapper = new UserRowMapper(cursor);
+                int idIndex = cursor.getColumnIndex(COL_ID);
+                do {
+                    usersById.put(cursor.getLong(idIndex), mapper.map(cursor));
+                } while (cursor.moveToNext());
+            }
+        }
+        return usersById;
+    }
+
+    /**
+     * Applies a committed topic change to the in-memory index, if it has been built.
+     * The user's topics are re-read from the committed mask and decoded to catalog
+     * names, under the lock that guards building the index; of two edits
+     * committed close together, whichever applies last reads the later topics,
+     * so the index never keeps the earlier ones.
+     *
+     * @param userId User's row ID, or -1 if no row was updated
+     */
+    private void updateTopicBitmapIndex(long userId) {
+        if (userId < 0) {
+            return;
+        }
+        synchronized (DatabaseHelper.class) {
+            TopicBitmapIndex index = topicBitmapIndex;
+            if (index == null) {
+                return;
+            }
+            long topicMask = DatabaseUtils.longForQuery(this.getReadableDatabase(),
+                    "SELECT " + COL_TOPICS_MASK + " FROM " + TABLE_NAME + " WHERE " + COL_ID + " = ?",
+                    new String[]{String.valueOf(userId)});
+            index.updateUser((int) userId, StudyPreferences.decodeTopics((int) topicMask));
+        }
+    }
+
+    /**
+     * Replaces the user_topics rows of a user, registering unseen topic names.
+     *
+     * @param db Writable database
+     * @param userId User's row ID
+     * @param topics Comma-separated list of topics
+     */
+    private void writeUserTopics(SQLiteDatabase db, long userId, String topics) {
+        String userIdArg = String.valueOf(userId);
+        db.delete(TABLE_USER_TOPICS, COL_USER_ID + " = ?", new String[]{userIdArg});
+
+        for (String topic : parseCommaSeparatedString(topics)) {
+            if (topic.isEmpty()) {
+                continue;
+            }
+            db.execSQL("INSERT OR IGNORE INTO " + TABLE_TOPICS + " (" + COL_TOPIC_NAME + ") VALUES (?)",
+                    new Object[]{topic});
+            db.execSQL("INSERT OR IGNORE INTO " + TABLE_USER_TOPICS + " (" + COL_USER_ID + ", " + COL_TOPIC_ID + ")" +
+                    " SELECT ?, " + COL_ID + " FROM " + TABLE_TOPICS + " WHERE " + COL_TOPIC_NAME + " = ?",
+                    new Object[]{userId, topic});
+        }
+    }
+
+    /**
+     * Builds the import INSERT: every imported column, plus the set-up flag.
+     */
+    private static String buildImportInsertSql() {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder();
+        for (String column : IMPORT_COLUMNS) {
+            columns.append(column).append(", ");
+            placeholders.append("?, ");
+        }
+        return "INSERT OR IGNORE INTO " + TABLE_NAME + " (" + columns + COL_ALREADY_SIGN_UP + ")" +
+                " VALUES (" + placeholders + "1)";
+    }
+
+    /**
+     * Builds the import UPDATE, keyed on the email bound after the imported columns.
+     * A column bound to null keeps its stored value.
+     */
+    private static String buildImportUpdateSql() {
+        StringBuilder assignments = new StringBuilder();
+        for (String column : IMPORT_COLUMNS) {
+            assignments.append(column).append(" = COALESCE(?, ").append(column).append("), ");
+        }
+        return "UPDATE " + TABLE_NAME + " SET " + assignments + COL_ALREADY_SIGN_UP + " = 1" +
+                " WHERE " + COL_EMAIL + " = ?";
+    }
+
+    /**
+     * Binds a user's values to an import statement, in {@link #IMPORT_COLUMNS} order.
+     *
+     * @param statement Import INSERT or UPDATE
+     * @param user User to bind
+     * @param missingAsNull true to bind fields the record does not carry (empty
+     *                      text, age 0, no topics or study times) as null, for the UPDATE
+     */
+    private static void bindImportRow(SQLiteStatement statement, User user, boolean missingAsNull) {
+        statement.clearBindings();
+        statement.bindString(1, user.getEmail());
+        bindImportText(statement, 2, user.getPassword(), missingAsNull);
+        bindImportText(statement, 3, user.getFirstName(), missingAsNull);
+        bindImportText(statement, 4, user.getLastName(), missingAsNull);
+        bindImportNumber(statement, 5, user.getAge(), missingAsNull);
+        bindImportText(statement, 6, user.getGender(), missingAsNull);
+        bindImportText(statement, 7, String.join(", ", user.getPreferredStudyTime()), missingAsNull);
+        bindImportText(statement, 8, String.join(", ", user.getTopicInterested()), missingAsNull);
+        bindImportText(statement, 9, user.getStudyDifficultyLevel(), missingAsNull);
+        bindImportText(statement, 10, user.getOccupation(), missingAsNull);
+        bindImportText(statement, 11, user.getLinkedIn(), missingAsNull);
+        bindImportText(statement, 12, user.getGithub(), missingAsNull);
+        bindImportText(statement, 13, user.getPersonal(), missingAsNull);
+        bindImportNumber(statement, 14, user.getTopicMask(), missingAsNull);
+        bindImportNumber(statement, 15, user.getStudyTimeMask(), missingAsNull);
+    }
+
+    private static void bindImportText(SQLiteStatement statement, int index, String value, boolean emptyAsNull) {
+        bindStringOrNull(statement, index, emptyAsNull && value != null && value.isEmpty() ? null : value);
+    }
+
+    private static void bindImportNumber(SQLiteStatement statement, int index, long value, boolean zeroAsNull) {
+        if (zeroAsNull && value == 0) {
+            statement.bindNull(index);
         } else {
-            return new User(email, password, firstName, lastName, age, gender,
-                    studyTimeList, topicsList, difficulty, occupation);
+            statement.bindLong(index, value);
         }
     }
 
+    private static void bindStringOrNull(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    /**
+     * Gets a topic's row ID, registering the name if unseen.
+     *
+     * @param db Writable database
+     * @param topicIds IDs already resolved during this operation
+     * @param topic Topic name
+     * @return Topic row ID
+     */
+    private long findOrCreateTopicId(SQLiteDatabase db, Map<String, Long> topicIds, String topic) {
+        Long topicId = topicIds.get(topic);
+        if (topicId == null) {
+            db.execSQL("INSERT OR IGNORE INTO " + TABLE_TOPICS + " (" + COL_TOPIC_NAME + ") VALUES (?)",
+                    new Object[]{topic});
+            topicId = statementCache.queryForLong(db, SQL_TOPIC_ID_BY_NAME, -1, topic);
+            topicIds.put(topic, topicId);
+        }
+        return topicId;
+    }
+
+    /**
+     * Drops every materialized match list and the in-memory topic index after
+     * a bulk change; both are rebuilt lazily on next use. Observers of the
+     * users table are notified.
+     *
+     * @param db Writable database
+     */
+    private void invalidateAllMatches(SQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_MATCH_CACHE, null, null);
+            db.delete(TABLE_MATCH_CACHE_STATE, null, null);
+            db.delete(TABLE_MATCH_CACHE_APPROX, null, null);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        topicBitmapIndex = null;
+        invalidationTracker.notifyChanged(TABLE_NAME);
+        // A bulk load leaves a large WAL behind; fold it back now rather than on a later commit
+        checkpointPolicy.checkpoint(db);
+    }
+
+    /**
+     * Helper method to get a single field value for a user.
+     *
+     * @param email User's email
+     * @param columnName Column to retrieve
+     * @return Field value, or empty string if not found
+     */
+    private String getSingleField(String email, String columnName) {
+        String value = statementCache.queryForString(this.getReadableDatabase(),
+                "SELECT " + columnName + " FROM " + TABLE_NAME + " WHERE " + COL_EMAIL + " = ?",
+                email == null ? "" : email);
+        return value != null ? value : "";
+    }
+
     /**
      * Parses a comma-separated string into an ArrayList.
      *
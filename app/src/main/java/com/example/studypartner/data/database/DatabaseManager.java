@@ -0,0 +1,235 @@
+package com.example.studypartner.data.database;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.util.Log;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DatabaseManager
+ *
+ * Process-wide owner of the application's database. Every screen, adapter
+ * and background task shares the same {@link DatabaseHelper} and
+ * {@link ConnectionsDB}, so User.db is opened, schema-checked and migrated
+ * once per process instead of once per query.
+ *
+ * Features:
+ * - Lazily created, thread-safe singleton bound to the application context
+ * - Long-lived connections: helpers never close their database after a call
+ * - Safe across threads: SQLiteDatabase serializes writes internally and
+ *   reference-counts itself, so cursors still open on one thread survive
+ *   work on another
+ * - Users and connection requests in one database, so they can be joined
+ * - Write-ahead logging: one writer connection plus the framework's pool
+ *   of read connections, so reads run alongside a write; the pool holds
+ *   4 connections on stock Android (the writer and 3 readers), and the I/O
+ *   executor is sized to match whatever the device configures
+ * - Pending data migrations run once per process on a background thread,
+ *   in short batches, so large copies never block the main thread
+ * - Bounded I/O executor for all query work: screens submit calls through a
+ *   {@link DatabaseScope} and never touch the database on the main thread
+ * - Write-behind buffer for preference edits, flushed in the background and
+ *   when the app leaves the foreground
+ *
+ * Handles stay open until the process ends; callers must not close them.
+ */
+public final class DatabaseManager {
+
+    private static final String TAG = "DatabaseManager";
+
+    // WAL connection pool: the framework sizes it from this system resource, stock value 4, at least 2
+    private static final String WAL_POOL_SIZE_RESOURCE = "db_connection_pool_size";
+    private static final int DEFAULT_WAL_POOL_SIZE = 4;
+    private static final int MIN_WAL_POOL_SIZE = 2;
+    private static final long IO_KEEP_ALIVE_SECONDS = 30;
+
+    // Journal of buffered preference saves, in the app's files directory
+    private static final String WRITE_JOURNAL_NAME = "profile_writes.journal";
+
+    private static volatile DatabaseManager instance;
+
+    private final DatabaseHelper userDatabase;
+    private final ConnectionsDB connectionsDatabase;
+    private final int walPoolSize;
+    private final ThreadPoolExecutor ioExecutor;
+    private final ProfileWriteBuffer writeBuffer;
+
+    private DatabaseManager(Context appContext) {
+        this.userDatabase = new DatabaseHelper(appContext);
+        this.connectionsDatabase = new ConnectionsDB(userDatabase);
+        this.walPoolSize = readWalPoolSize();
+        // One I/O thread per pooled connection: the writer plus the readers; more would only queue inside SQLite
+        this.ioExecutor = createIoExecutor(walPoolSize);
+        Log.d(TAG, "WAL connection pool: " + walPoolSize + " connections, " + (walPoolSize - 1) + " readers");
+        this.writeBuffer = new ProfileWriteBuffer(this, new File(appContext.getFilesDir(), WRITE_JOURNAL_NAME));
+        appContext.registerComponentCallbacks(writeBuffer);
+        startMigrations();
+        writeBuffer.recover();
+    }
+
+    /**
+     * Gets the shared manager, creating it on first use.
+     *
+     * @param context Any context; only its application context is retained
+     * @return Process-wide database manager
+     */
+    public static DatabaseManager getInstance(Context context) {
+        DatabaseManager manager = instance;
+        if (manager == null) {
+            synchronized (DatabaseManager.class) {
+                manager = instance;
+                if (manager == null) {
+                    manager = new DatabaseManager(context.getApplicationContext());
+                    instance = manager;
+                }
+            }
+        }
+        return manager;
+    }
+
+    /**
+     * Gets the shared helper for User.db.
+     *
+     * @return User database helper
+     */
+    public DatabaseHelper getUserDatabase() {
+        return userDatabase;
+    }
+
+    /**
+     * Gets the shared connection request accessor, backed by User.db.
+     *
+     * @return Connections data access object
+     */
+    public ConnectionsDB getConnectionsDatabase() {
+        return connectionsDatabase;
+    }
+
+    /**
+     * Runs a call on the database I/O executor. Cancelling the returned future
+     * before the call starts keeps it from running at all.
+     *
+     * @param call Database work
+     * @param <T> Result type
+     * @return Future completed with the call's result, on an I/O thread
+     */
+    public <T> CompletableFuture<T> submit(DatabaseCall<T> call) {
+        return CompletableFuture.supplyAsync(() -> call.call(userDatabase, connectionsDatabase), ioExecutor);
+    }
+
+    /**
+     * Creates a scope for the database calls of one screen.
+     *
+     * @return New, active scope delivering results on the main thread
+     */
+    public DatabaseScope newScope() {
+        return new DatabaseScope(this);
+    }
+
+    /**
+     * Gets the tracker notified after every committed write.
+     *
+     * @return Invalidation tracker for User.db
+     */
+    public InvalidationTracker getInvalidationTracker() {
+        return userDatabase.getInvalidationTracker();
+    }
+
+    /**
+     * Gets the number of connections in the WAL pool, which is also the number
+     * of I/O threads: one primary connection that takes every write, and
+     * read-only connections for the rest.
+     *
+     * @return Connection pool size, including the writer
+     */
+    public int getWalPoolSize() {
+        return walPoolSize;
+    }
+
+    /**
+     * Gets the write-behind buffer for preference edits.
+     *
+     * @return Shared profile write buffer
+     */
+    public ProfileWriteBuffer getWriteBuffer() {
+        return writeBuffer;
+    }
+
+    /**
+     * Applies a write-ahead log checkpoint policy to the database.
+     *
+     * @param policy Checkpoint policy
+     */
+    public void setCheckpointPolicy(CheckpointPolicy policy) {
+        userDatabase.setCheckpointPolicy(policy);
+    }
+
+    /**
+     * Checkpoints the database, e.g. when the app goes idle.
+     *
+     * @return true if the checkpoint completed
+     */
+    public boolean checkpoint() {
+        return userDatabase.checkpoint();
+    }
+
+    /**
+     * Reads the WAL connection pool size the framework uses on this device.
+     * There is no public API to set it, so it is read from the same system
+     * resource the framework reads, with the same lower bound.
+     *
+     * @return Connection pool size, including the writer
+     */
+    private static int readWalPoolSize() {
+        Resources system = Resources.getSystem();
+        int id = system.getIdentifier(WAL_POOL_SIZE_RESOURCE, "integer", "android");
+        int size = DEFAULT_WAL_POOL_SIZE;
+        if (id != 0) {
+            try {
+                size = system.getInteger(id);
+            } catch (Resources.NotFoundException e) {
+                Log.w(TAG, "WAL pool size not readable, assuming " + DEFAULT_WAL_POOL_SIZE, e);
+            }
+        }
+        return Math.max(MIN_WAL_POOL_SIZE, size);
+    }
+
+    /**
+     * Creates the fixed-size I/O pool. Idle threads exit after a while, so a
+     * backgrounded app holds no database threads.
+     *
+     * @param threads Number of I/O threads
+     * @return Database I/O executor
+     */
+    private static ThreadPoolExecutor createIoExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "database-io-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                IO_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs pending data migrations on a low-priority background thread.
+     */
+    private void startMigrations() {
+        Thread migrations = new Thread(() -> userDatabase.runPendingMigrations((migration, rowsDone, totalRows) ->
+                Log.d(TAG, "Migration " + migration + ": " + rowsDone + " / " + totalRows + " rows")),
+                "database-migrations");
+        migrations.setPriority(Thread.MIN_PRIORITY);
+        migrations.start();
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.studypartner.data.database;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DatabaseScope
+ *
+ * Database calls owned by one screen. Work runs on the shared database I/O
+ * executor; results come back on the main looper, so callbacks may touch
+ * views directly. Cancelling the scope when its screen is destroyed drops
+ * every pending read and every undelivered callback.
+ *
+ * Features:
+ * - Callbacks always run on the main thread, never on the I/O threads
+ * - Reads still queued when the scope is cancelled never reach the database;
+ *   reads already running finish, but their results are discarded
+ * - Writes always run to completion, so leaving a screen never loses a save;
+ *   only their callbacks are dropped
+ * - Observed queries re-run whenever a table they read changes and push the
+ *   new result; re-runs are serialized, so results arrive in order
+ * - Errors go to an optional error callback, or are logged
+ *
+ * Create one per activity or fragment view and cancel it in onDestroy
+ * (onDestroyView for fragments). Use from the main thread only.
+ */
+public final class DatabaseScope {
+
+    private static final String TAG = "DatabaseScope";
+
+    /**
+     * Receives a successful result on the main thread.
+     *
+     * @param <T> Result type
+     */
+    public interface Callback<T> {
+        /**
+         * Called with the result of the call.
+         *
+         * @param result Value returned by the call
+         */
+        void onResult(T result);
+    }
+
+    /**
+     * Receives a failure on the main thread.
+     */
+    public interface ErrorCallback {
+        /**
+         * Called when the call threw.
+         *
+         * @param error Exception thrown by the call
+         */
+        void onError(Throwable error);
+    }
+
+    private final DatabaseManager manager;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private final List<ObservedQuery<?>> observed = new ArrayList<>();
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a scope on the shared database.
+     *
+     * @param manager Process-wide database manager
+     */
+    DatabaseScope(DatabaseManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Runs a read in the background and delivers its result on the main thread.
+     *
+     * @param call Database work
+     * @param onResult Result callback, or null to ignore the result
+     * @param <T> Result type
+     * @return Handle to the pending call; cancelling it drops the callback
+     */
+    public <T> CompletableFuture<T> run(DatabaseCall<T> call, Callback<T> onResult) {
+        return run(call, onResult, null);
+    }
+
+    /**
+     * Runs a read in the background and delivers its outcome on the main thread.
+     *
+     * @param call Database work
+     * @param onResult Result callback, or null to ignore the result
+     * @param onError Error callback, or null to log failures
+     * @param <T> Result type
+     * @return Handle to the pending call; cancelling it drops the callbacks
+     */
+    public <T> CompletableFuture<T> run(DatabaseCall<T> call, Callback<T> onResult, ErrorCallback onError) {
+        if (cancelled) {
+            CompletableFuture<T> dropped = new CompletableFuture<>();
+            dropped.cancel(false);
+            return dropped;
+        }
+
+        CompletableFuture<T> future = manager.submit(call);
+        pending.add(future);
+        deliver(future, onResult, onError);
+        return future;
+    }
+
+    /**
+     * Runs a read now and again after every committed write to one of the
+     * given tables, delivering each result on the main thread. Invalidations
+     * that arrive while the query runs are coalesced into one more run.
+     * Observation ends when the scope is cancelled.
+     *
+     * @param call Database work; must only read the given tables
+     * @param onResult Result callback, called once per run
+     * @param tables Tables the call reads, e.g. {@link InvalidationTracker#USERS}
+     * @param <T> Result type
+     */
+    public <T> void observe(DatabaseCall<T> call, Callback<T> onResult, String... tables) {
+        if (cancelled) {
+            return;
+        }
+
+        ObservedQuery<T> query = new ObservedQuery<>(call, onResult);
+        observed.add(query);
+        manager.getInvalidationTracker().addObserver(query, tables);
+        query.onInvalidated(null);
+    }
+
+    /**
+     * Runs a write in the background and delivers its result on the main thread.
+     *
+     * @param call Database work
+     * @param onResult Result callback, or null to ignore the result
+     * @param <T> Result type
+     */
+    public <T> void write(DatabaseCall<T> call, Callback<T> onResult) {
+        write(call, onResult, null);
+    }
+
+    /**
+     * Runs a write in the background and delivers its outcome on the main thread.
+     * The write runs even if the scope is cancelled first; only the callbacks are dropped.
+     *
+     * @param call Database work
+     * @param onResult Result callback, or null to ignore the result
+     * @param onError Error callback, or null to log failures
+     * @param <T> Result type
+     */
+    public <T> void write(DatabaseCall<T> call, Callback<T> onResult, ErrorCallback onError) {
+        deliver(manager.submit(call), onResult, onError);
+    }
+
+    /**
+     * Cancels every pending read and stops every observed query. No callback
+     * of this scope runs afterwards, and later reads are dropped without running.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (ObservedQuery<?> query : observed) {
+            manager.getInvalidationTracker().removeObserver(query);
+        }
+        observed.clear();
+        List<CompletableFuture<?>> calls = new ArrayList<>(pending);
+        pending.clear();
+        for (CompletableFuture<?> future : calls) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Checks whether the scope has been cancelled.
+     *
+     * @return true after {@link #cancel()}
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Posts the outcome of a call to the main thread, unless the scope or call
+     * was cancelled by the time it gets there.
+     *
+     * @param future Pending call
+     * @param onResult Result callback, or null
+     * @param onError Error callback, or null to log failures
+     * @param <T> Result type
+     */
+    private <T> void deliver(CompletableFuture<T> future, Callback<T> onResult, ErrorCallback onError) {
+        future.whenComplete((result, error) -> mainHandler.post(() -> {
+            pending.remove(future);
+            if (cancelled || future.isCancelled()) {
+                return;
+            }
+            if (error == null) {
+                if (onResult != null) {
+                    onResult.onResult(result);
+                }
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                if (onError != null) {
+                    onError.onError(cause);
+                } else {
+                    Log.e(TAG, "Database call failed", cause);
+                }
+            }
+        }));
+    }
+
+    /**
+     * An observed query: runs at most once at a time, and once more if its
+     * tables changed while it ran.
+     *
+     * @param <T> Result type
+     */
+    private final class ObservedQuery<T> implements InvalidationTracker.Observer {
+        private final DatabaseCall<T> call;
+        private final Callback<T> onResult;
+        private boolean running;
+        private boolean dirty;
+
+        ObservedQuery(DatabaseCall<T> call, Callback<T> onResult) {
+            this.call = call;
+            this.onResult = onResult;
+        }
+
+        @Override
+        public void onInvalidated(Set<String> tables) {
+            synchronized (this) {
+                if (running) {
+                    dirty = true;
+                    return;
+                }
+                running = true;
+            }
+            submit();
+        }
+
+        private void submit() {
+            CompletableFuture<T> future = manager.submit(call);
+            pending.add(future);
+            future.whenComplete((result, error) -> {
+                synchronized (this) {
+                    if (!dirty || cancelled) {
+                        running = false;
+                        return;
+                    }
+                    dirty = false;
+                }
+                submit();
+            });
+            deliver(future, onResult, null);
+        }
+    }
+}
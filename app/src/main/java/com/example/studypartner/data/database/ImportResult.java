@@ -0,0 +1,116 @@
+package com.example.studypartner.data.database;
+
+import java.util.Locale;
+
+/**
+ * ImportResult
+ *
+ * Outcome of a bulk user import (see {@link DatabaseHelper#importUsers}).
+ *
+ * Metrics:
+ * - Inserted: records whose email was new
+ * - Updated: records merged into the profile of an existing email
+ * - Skipped: records without an email
+ * - Dropped topics: topic names outside the catalog, which were not imported
+ * - Throughput: written rows per second of wall-clock time, including commits
+ *
+ */
+public final class ImportResult {
+
+    private final int inserted;
+    private final int updated;
+    private final int skipped;
+    private final int droppedTopics;
+    private final int batches;
+    private final long elapsedNanos;
+
+    /**
+     * Creates a result from accumulated counts.
+     *
+     * @param inserted Number of new users
+     * @param updated Number of existing users updated
+     * @param skipped Number of records ignored
+     * @param droppedTopics Number of topic names outside the catalog
+     * @param batches Number of committed transactions
+     * @param elapsedNanos Total import time in nanoseconds
+     */
+    public ImportResult(int inserted, int updated, int skipped, int droppedTopics, int batches, long elapsedNanos) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.skipped = skipped;
+        this.droppedTopics = droppedTopics;
+        this.batches = batches;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the number of new users.
+     *
+     * @return Inserted row count
+     */
+    public int getInserted() {
+        return inserted;
+    }
+
+    /**
+     * Gets the number of existing users overwritten.
+     *
+     * @return Updated row count
+     */
+    public int getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Gets the number of records ignored because they had no email.
+     *
+     * @return Skipped record count
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Gets the number of topic names not imported because they are outside the catalog.
+     *
+     * @return Dropped topic name count, over all records
+     */
+    public int getDroppedTopics() {
+        return droppedTopics;
+    }
+
+    /**
+     * Gets the number of committed transactions.
+     *
+     * @return Batch count
+     */
+    public int getBatches() {
+        return batches;
+    }
+
+    /**
+     * Gets the total import time.
+     *
+     * @return Elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Gets the import throughput.
+     *
+     * @return Inserted and updated rows per second, or 0 if nothing was timed
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : (inserted + updated) * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "ImportResult{inserted=%d, updated=%d, skipped=%d, droppedTopics=%d, batches=%d, elapsed=%d ms, " +
+                        "rows/sec=%.0f}",
+                inserted, updated, skipped, droppedTopics, batches, getElapsedMillis(), getRowsPerSecond());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.studypartner.data.database;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * InvalidationTracker
+ *
+ * Per-table change versions for User.db. Every committed write bumps the
+ * version of the tables it touched and notifies the observers registered
+ * on those tables, so screens re-run only the queries a write affects.
+ *
+ * Features:
+ * - One monotonically increasing version per table
+ * - Observers name the tables their query reads and hear only about those
+ * - Notification happens after commit, on the writing thread
+ *
+ * Observers must return quickly: they run on the writer's thread and
+ * should only schedule their re-query (see {@link DatabaseScope#observe}).
+ */
+public final class InvalidationTracker {
+
+    // Tables observers can subscribe to
+    public static final String USERS = DatabaseHelper.TABLE_NAME;
+    public static final String CONNECTIONS = ConnectionsDB.TABLE_NAME;
+
+    /**
+     * Receives table invalidations.
+     */
+    public interface Observer {
+        /**
+         * Called after a write to one or more observed tables has committed.
+         *
+         * @param tables Observed tables that changed
+         */
+        void onInvalidated(Set<String> tables);
+    }
+
+    private static final class Registration {
+        final Observer observer;
+        final Set<String> tables;
+
+        Registration(Observer observer, Set<String> tables) {
+            this.observer = observer;
+            this.tables = tables;
+        }
+    }
+
+    private final ConcurrentHashMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers an observer for changes to the given tables.
+     *
+     * @param observer Observer to notify
+     * @param tables Tables the observer's query reads
+     */
+    public void addObserver(Observer observer, String... tables) {
+        registrations.add(new Registration(observer,
+                Collections.unmodifiableSet(new HashSet<>(Arrays.asList(tables)))));
+    }
+
+    /**
+     * Unregisters an observer from all tables.
+     *
+     * @param observer Observer to remove
+     */
+    public void removeObserver(Observer observer) {
+        for (Registration registration : registrations) {
+            if (registration.observer == observer) {
+                registrations.remove(registration);
+            }
+        }
+    }
+
+    /**
+     * Gets the current version of a table.
+     *
+     * @param table Table name
+     * @return Number of committed writes recorded for the table since process start
+     */
+    public long getVersion(String table) {
+        AtomicLong version = versions.get(table);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Records a committed write and notifies the observers of the written tables.
+     *
+     * @param tables Tables the write changed
+     */
+    public void notifyChanged(String... tables) {
+        for (String table : tables) {
+            versions.computeIfAbsent(table, name -> new AtomicLong()).incrementAndGet();
+        }
+
+        for (Registration registration : registrations) {
+            Set<String> changed = null;
+            for (String table : tables) {
+                if (registration.tables.contains(table)) {
+                    if (changed == null) {
+                        changed = new HashSet<>();
+                    }
+                    changed.add(table);
+                }
+            }
+            if (changed != null) {
+                registration.observer.onInvalidated(changed);
+            }
+        }
+    }
+}
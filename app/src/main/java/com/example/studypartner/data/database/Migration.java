@@ -0,0 +1,70 @@
+package com.example.studypartner.data.database;
+
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * Migration
+ *
+ * One resumable data migration. The schema change that needs it runs in
+ * onUpgrade as cheap DDL and schedules the migration by name; the row copy
+ * itself runs later in bounded batches on a background thread (see
+ * {@link MigrationRunner}), so no upgrade holds the database for long.
+ *
+ * Contract:
+ * - Source rows are visited in ascending order of a positive integer key
+ * - Each batch runs in its own transaction, together with the runner's
+ *   progress record, so a batch is either fully applied or not at all
+ * - After process death the migration resumes after the last committed key
+ *
+ */
+public abstract class Migration {
+
+    private final String name;
+
+    /**
+     * Creates a migration.
+     *
+     * @param name Unique name under which progress is recorded
+     */
+    protected Migration(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the name under which progress is recorded.
+     *
+     * @return Migration name
+     */
+    public final String getName() {
+        return name;
+    }
+
+    /**
+     * Counts source rows still to migrate.
+     *
+     * @param db Writable database
+     * @param afterKey Key of the last migrated row, or 0 before the first batch
+     * @return Number of source rows with a key above afterKey
+     */
+    protected abstract long countRemaining(SQLiteDatabase db, long afterKey);
+
+    /**
+     * Migrates the next batch of source rows. Runs inside the batch transaction.
+     *
+     * @param db Writable database
+     * @param afterKey Key of the last migrated row, or 0 before the first batch
+     * @param batchSize Maximum number of source rows to migrate
+     * @return Key of the last row migrated, or -1 if no rows remained
+     */
+    protected abstract long migrateBatch(SQLiteDatabase db, long afterKey, int batchSize);
+
+    /**
+     * Cleans up after the last batch has committed, e.g. drops the source table.
+     * Runs outside a transaction and may be repeated after process death,
+     * so it must be idempotent.
+     *
+     * @param db Writable database
+     */
+    protected void finish(SQLiteDatabase db) {
+    }
+}
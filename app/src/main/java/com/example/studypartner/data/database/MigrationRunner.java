@@ -0,0 +1,178 @@
+package com.example.studypartner.data.database;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import java.util.List;
+
+/**
+ * MigrationRunner
+ *
+ * Runs scheduled {@link Migration}s to completion in bounded batches, one
+ * transaction per batch, recording progress in the schema_migrations table.
+ *
+ * Features:
+ * - Scheduling from onCreate/onUpgrade, inside the schema transaction
+ * - Batches short enough that foreground writes interleave between them
+ * - Progress (rows done of total) reported after every committed batch
+ * - Resumes after process death from the last committed batch
+ * - A failed batch is rolled back and retried on the next run
+ *
+ * Call {@link #run(Listener)} from a background thread.
+ */
+public final class MigrationRunner {
+
+    private static final String TAG = "MigrationRunner";
+
+    /**
+     * Receives migration progress on the runner's thread.
+     */
+    public interface Listener {
+        /**
+         * Called when a migration starts and after each committed batch.
+         *
+         * @param migration Migration name
+         * @param rowsDone Source rows migrated so far
+         * @param totalRows Source rows in total
+         */
+        void onProgress(String migration, long rowsDone, long totalRows);
+    }
+
+    // Rows per batch: a few milliseconds of work, so waiting writers are never held long
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    // Progress table
+    private static final String TABLE_NAME = "schema_migrations";
+    private static final String COL_NAME = "NAME";
+    private static final String COL_LAST_KEY = "LAST_KEY";
+    private static final String COL_ROWS_DONE = "ROWS_DONE";
+    private static final String COL_DONE = "DONE";
+
+    private final SQLiteOpenHelper helper;
+    private final List<Migration> migrations;
+    private final int batchSize;
+
+    /**
+     * Creates a runner.
+     *
+     * @param helper Helper owning the database
+     * @param migrations Every known migration, in the order they must run
+     * @param batchSize Source rows per transaction
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public MigrationRunner(SQLiteOpenHelper helper, List<Migration> migrations, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.helper = helper;
+        this.migrations = migrations;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates the progress table.
+     *
+     * @param db The database instance
+     */
+    static void createTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_NAME + " (" +
+                COL_NAME + " TEXT PRIMARY KEY, " +
+                COL_LAST_KEY + " INTEGER NOT NULL DEFAULT 0, " +
+                COL_ROWS_DONE + " INTEGER NOT NULL DEFAULT 0, " +
+                COL_DONE + " INTEGER NOT NULL DEFAULT 0)");
+    }
+
+    /**
+     * Schedules a migration to run. Scheduling an already known migration has no effect.
+     *
+     * @param db The database instance, with the progress table created
+     * @param name Migration name
+     */
+    static void schedule(SQLiteDatabase db, String name) {
+        ContentValues values = new ContentValues();
+        values.put(COL_NAME, name);
+        db.insertWithOnConflict(TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_IGNORE);
+    }
+
+    /**
+     * Runs every scheduled, unfinished migration to completion.
+     *
+     * @param listener Progress listener, or null
+     * @return true if no scheduled migration remains unfinished
+     */
+    public synchronized boolean run(Listener listener) {
+        SQLiteDatabase db = helper.getWritableDatabase();
+        try {
+            for (Migration migration : migrations) {
+                runMigration(db, migration, listener);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            // Progress is committed per batch, so the failed batch is simply retried next run
+            Log.e(TAG, "Migration interrupted, will resume on next run", e);
+            return false;
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void runMigration(SQLiteDatabase db, Migration migration, Listener listener) {
+        String name = migration.getName();
+        Cursor cursor = db.rawQuery("SELECT " + COL_LAST_KEY + ", " + COL_ROWS_DONE + ", " + COL_DONE +
+                " FROM " + TABLE_NAME + " WHERE " + COL_NAME + " = ?", new String[]{name});
+        boolean scheduled = cursor != null && cursor.moveToFirst() && cursor.getInt(2) == 0;
+        long lastKey = scheduled ? cursor.getLong(0) : 0;
+        long rowsDone = scheduled ? cursor.getLong(1) : 0;
+        if (cursor != null) {
+            cursor.close();
+        }
+        if (!scheduled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long totalRows = rowsDone + migration.countRemaining(db, lastKey);
+        report(listener, name, rowsDone, totalRows);
+
+        while (true) {
+            long batchEnd;
+            db.beginTransaction();
+            try {
+                batchEnd = migration.migrateBatch(db, lastKey, batchSize);
+                if (batchEnd >= 0) {
+                    rowsDone += Math.min(batchSize, Math.max(totalRows - rowsDone, 0));
+                    ContentValues progress = new ContentValues();
+                    progress.put(COL_LAST_KEY, batchEnd);
+                    progress.put(COL_ROWS_DONE, rowsDone);
+                    db.update(TABLE_NAME, progress, COL_NAME + " = ?", new String[]{name});
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+
+            if (batchEnd < 0) {
+                break;
+            }
+            lastKey = batchEnd;
+            report(listener, name, rowsDone, totalRows);
+        }
+
+        migration.finish(db);
+        ContentValues done = new ContentValues();
+        done.put(COL_DONE, 1);
+        db.update(TABLE_NAME, done, COL_NAME + " = ?", new String[]{name});
+
+        Log.d(TAG, "Migration " + name + " finished: " + rowsDone + " rows in " +
+                (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private static void report(Listener listener, String name, long rowsDone, long totalRows) {
+        if (listener != null) {
+            listener.onProgress(name, rowsDone, totalRows);
+        }
+    }
+}
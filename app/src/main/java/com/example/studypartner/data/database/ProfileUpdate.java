@@ -0,0 +1,257 @@
+package com.example.studypartner.data.database;
+
+import android.content.ContentValues;
+
+import com.example.studypartner.data.model.StudyPreferences;
+
+/**
+ * ProfileUpdate
+ *
+ * Collects changes to one user's profile so they can be written together
+ * by {@link DatabaseHelper#updateProfile(ProfileUpdate)}: one UPDATE
+ * statement, one transaction, one commit and one invalidation event,
+ * however many fields change.
+ *
+ * Features:
+ * - Chainable setters; fields not set are left unchanged
+ * - Derived columns kept in step: topics and study times also write their masks
+ * - Tracks whether a matching field changed, so the topic index and match
+ *   cache are refreshed only when needed
+ *
+ * Usage:
+ *   users.updateProfile(new ProfileUpdate(email)
+ *           .setTopics(topics)
+ *           .setStudyTime(times)
+ *           .setSetupComplete());
+ */
+public final class ProfileUpdate {
+
+    private final String email;
+    private final ContentValues values = new ContentValues();
+    private String topics;
+    private boolean topicsChanged;
+    private boolean matchingFieldsChanged;
+    private int fieldCount;
+
+    /**
+     * Starts an empty update for a user.
+     *
+     * @param email Email of the user to update
+     */
+    public ProfileUpdate(String email) {
+        this.email = email;
+    }
+
+    // ==================== Personal Information ====================
+
+    /**
+     * Sets the first name.
+     *
+     * @param firstName User's first name
+     * @return This update
+     */
+    public ProfileUpdate setFirstName(String firstName) {
+        return put(DatabaseHelper.COL_FIRST_NAME, firstName);
+    }
+
+    /**
+     * Sets the last name.
+     *
+     * @param lastName User's last name
+     * @return This update
+     */
+    public ProfileUpdate setLastName(String lastName) {
+        return put(DatabaseHelper.COL_LAST_NAME, lastName);
+    }
+
+    /**
+     * Sets the age.
+     *
+     * @param age User's age
+     * @return This update
+     */
+    public ProfileUpdate setAge(int age) {
+        values.put(DatabaseHelper.COL_AGE, age);
+        fieldCount++;
+        return this;
+    }
+
+    /**
+     * Sets the gender.
+     *
+     * @param gender User's gender
+     * @return This update
+     */
+    public ProfileUpdate setGender(String gender) {
+        return put(DatabaseHelper.COL_GENDER, gender);
+    }
+
+    /**
+     * Sets the occupation.
+     *
+     * @param occupation User's occupation or major
+     * @return This update
+     */
+    public ProfileUpdate setOccupation(String occupation) {
+        return put(DatabaseHelper.COL_OCCUPATION, occupation);
+    }
+
+    // ==================== Study Preferences ====================
+
+    /**
+     * Sets the topics of interest and their bitmask.
+     *
+     * @param topics Comma-separated list of topics, or null to clear them
+     * @return This update
+     */
+    public ProfileUpdate setTopics(String topics) {
+        put(DatabaseHelper.COL_TOPICS_INTERESTED, topics);
+        values.put(DatabaseHelper.COL_TOPICS_MASK, StudyPreferences.encodeTopics(topics));
+        this.topics = topics;
+        topicsChanged = true;
+        matchingFieldsChanged = true;
+        return this;
+    }
+
+    /**
+     * Sets the preferred study times and their bitmask.
+     *
+     * @param studyTime Comma-separated list of study times
+     * @return This update
+     */
+    public ProfileUpdate setStudyTime(String studyTime) {
+        put(DatabaseHelper.COL_PREFERRED_STUDY_TIME, studyTime);
+        values.put(DatabaseHelper.COL_STUDY_TIME_MASK, StudyPreferences.encodeStudyTimes(studyTime));
+        matchingFieldsChanged = true;
+        return this;
+    }
+
+    /**
+     * Sets the preferred difficulty level.
+     *
+     * @param difficultyLevel Difficulty level (Easy/Medium/Hard)
+     * @return This update
+     */
+    public ProfileUpdate setStudyDifficultyLevel(String difficultyLevel) {
+        put(DatabaseHelper.COL_STUDY_DIFFICULTY_LEVEL, difficultyLevel);
+        matchingFieldsChanged = true;
+        return this;
+    }
+
+    // ==================== Social Media and Account ====================
+
+    /**
+     * Sets the LinkedIn profile URL.
+     *
+     * @param linkedIn LinkedIn profile URL
+     * @return This update
+     */
+    public ProfileUpdate setLinkedIn(String linkedIn) {
+        return put(DatabaseHelper.COL_LINKED_IN_URL, linkedIn);
+    }
+
+    /**
+     * Sets the GitHub profile URL.
+     *
+     * @param github GitHub profile URL
+     * @return This update
+     */
+    public ProfileUpdate setGithub(String github) {
+        return put(DatabaseHelper.COL_GITHUB_URL, github);
+    }
+
+    /**
+     * Sets the personal website URL.
+     *
+     * @param personal Personal website URL
+     * @return This update
+     */
+    public ProfileUpdate setPersonalWebsite(String personal) {
+        return put(DatabaseHelper.COL_PERSONAL_WEBSITE_URL, personal);
+    }
+
+    /**
+     * Sets the password.
+     *
+     * @param password New password (should be hashed in production)
+     * @return This update
+     */
+    public ProfileUpdate setPassword(String password) {
+        return put(DatabaseHelper.COL_PASSWORD, password);
+    }
+
+    /**
+     * Marks the initial profile setup as complete.
+     *
+     * @return This update
+     */
+    public ProfileUpdate setSetupComplete() {
+        values.put(DatabaseHelper.COL_ALREADY_SIGN_UP, 1);
+        fieldCount++;
+        return this;
+    }
+
+    // ==================== Accessors ====================
+
+    /**
+     * Gets the email of the user to update.
+     *
+     * @return User's email
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Checks whether any field has been set.
+     *
+     * @return true if the update would change nothing
+     */
+    public boolean isEmpty() {
+        return fieldCount == 0;
+    }
+
+    /**
+     * Gets the column values to write.
+     *
+     * @return Values keyed by users column
+     */
+    ContentValues getValues() {
+        return values;
+    }
+
+    /**
+     * Gets the new topics; only meaningful if {@link #changesTopics()}.
+     *
+     * @return Comma-separated topics, or null if they are cleared or unchanged
+     */
+    String getTopics() {
+        return topics;
+    }
+
+    /**
+     * Checks whether the topics are set, including set to null.
+     *
+     * @return true if {@link #setTopics(String)} was called
+     */
+    boolean changesTopics() {
+        return topicsChanged;
+    }
+
+    /**
+     * Checks whether a column that drives matching changes.
+     *
+     * @return true if topics, study times or difficulty level are set
+     */
+    boolean changesMatchingFields() {
+        return matchingFieldsChanged;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private ProfileUpdate put(String column, String value) {
+        values.put(column, value);
+        fieldCount++;
+        return this;
+    }
+}
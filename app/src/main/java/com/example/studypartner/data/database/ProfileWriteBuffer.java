@@ -0,0 +1,536 @@
+package com.example.studypartner.data.database;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProfileWriteBuffer
+ *
+ * Write-behind buffer for preference edits. Saving a preference records
+ * the new value in memory and returns at once; the journal append happens on
+ * a dedicated writer thread and the database write later, on the I/O
+ * executor, so the UI never waits for a file or a commit. A save is
+ * confirmed on the main thread once its journal line is written.
+ *
+ * Features:
+ * - Coalescing: repeated saves of the same user and field keep only the
+ *   latest value, and all of a user's fields go out as one ProfileUpdate
+ * - Flushes a short while after the first pending save, and immediately
+ *   when the app moves to the background
+ * - Journal of pending saves, replayed on the next start, so a save survives
+ *   the process being killed before its flush; the journal is appended
+ *   without fsync, which is enough to outlive the process
+ * - All journal file access runs in order on one thread, and nothing is
+ *   flushed until the previous process's journal has been replayed, so a
+ *   journal rewrite never drops saves that were not yet recovered
+ * - Flushes run one at a time, so a newer value is never overwritten by an
+ *   older one; a failed flush is retried with exponential backoff
+ * - Pending values can be read back, so edit screens show what was saved
+ *   even before it reaches the database
+ */
+public final class ProfileWriteBuffer implements ComponentCallbacks2 {
+
+    private static final String TAG = "ProfileWriteBuffer";
+
+    // Delay between the first pending save and its flush
+    private static final long FLUSH_DELAY_MS = 1000;
+
+    // Longest delay between retries of a failing flush
+    private static final long MAX_RETRY_DELAY_MS = 5 * 60 * 1000;
+
+    // Idle time after which the journal thread exits
+    private static final long JOURNAL_KEEP_ALIVE_SECONDS = 30;
+
+    // Last field of every complete journal line
+    private static final String LINE_END = ".";
+
+    // Buffered fields
+    private static final String FIELD_TOPICS = "topics";
+    private static final String FIELD_STUDY_TIME = "studyTime";
+
+    private final DatabaseManager manager;
+    private final File journalFile;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable flushTask = this::flush;
+    private final Object lock = new Object();
+    private final ThreadPoolExecutor journalExecutor = createJournalExecutor();
+
+    // Guarded by lock
+    private Map<String, Map<String, String>> pending = new LinkedHashMap<>();
+    private Map<String, Map<String, String>> flushingBatch;
+    private boolean recovered;
+    private boolean flushScheduled;
+    private boolean flushRequested;
+    private int failedFlushes;
+
+    // Only used on the journal thread
+    private Writer journal;
+
+    /**
+     * Creates a buffer writing through the shared database.
+     *
+     * @param manager Process-wide database manager
+     * @param journalFile File holding saves not yet flushed
+     */
+    ProfileWriteBuffer(DatabaseManager manager, File journalFile) {
+        this.manager = manager;
+        this.journalFile = journalFile;
+    }
+
+    // ==================== Buffered Saves ====================
+
+    /**
+     * Saves a user's topics of interest.
+     *
+     * @param email User's email
+     * @param topics Comma-separated list of topics
+     * @param onSaved Run on the main thread once the save survives process death
+     */
+    public void setTopics(String email, String topics, Runnable onSaved) {
+        put(email, FIELD_TOPICS, topics, onSaved);
+    }
+
+    /**
+     * Saves a user's preferred study times.
+     *
+     * @param email User's email
+     * @param studyTime Comma-separated list of study times
+     * @param onSaved Run on the main thread once the save survives process death
+     */
+    public void setStudyTime(String email, String studyTime, Runnable onSaved) {
+        put(email, FIELD_STUDY_TIME, studyTime, onSaved);
+    }
+
+    /**
+     * Gets topics saved for a user but not yet written to the database.
+     *
+     * @param email User's email
+     * @return Pending topics, or null if none are pending
+     */
+    public String getPendingTopics(String email) {
+        return getPending(email, FIELD_TOPICS);
+    }
+
+    /**
+     * Gets study times saved for a user but not yet written to the database.
+     *
+     * @param email User's email
+     * @return Pending study times, or null if none are pending
+     */
+    public String getPendingStudyTime(String email) {
+        return getPending(email, FIELD_STUDY_TIME);
+    }
+
+    // ==================== Flushing ====================
+
+    /**
+     * Writes every pending save to the database in the background. If a
+     * flush is already running, or the journal is still being replayed,
+     * another one follows it.
+     */
+    public void flush() {
+        Map<String, Map<String, String>> batch;
+        synchronized (lock) {
+            mainHandler.removeCallbacks(flushTask);
+            flushScheduled = false;
+            if (flushingBatch != null || !recovered) {
+                flushRequested = true;
+                return;
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            flushingBatch = batch;
+        }
+
+        manager.submit((users, connections) -> {
+            for (Map.Entry<String, Map<String, String>> entry : batch.entrySet()) {
+                if (!users.updateProfile(toProfileUpdate(entry.getKey(), entry.getValue()))) {
+                    Log.w(TAG, "No profile to update for: " + entry.getKey());
+                }
+            }
+            return null;
+        }).whenComplete((ignored, error) -> onFlushed(batch, error));
+    }
+
+    /**
+     * Replays the journal left by a previous process, then allows flushing
+     * and flushes everything pending. Saves made since this process started
+     * take precedence. Must be called before any save is made.
+     */
+    void recover() {
+        journalExecutor.execute(() -> {
+            Map<String, Map<String, String>> saves = new LinkedHashMap<>();
+            try {
+                saves = readJournal();
+            } finally {
+                boolean flushNow;
+                synchronized (lock) {
+                    merge(saves);
+                    recovered = true;
+                    flushNow = !pending.isEmpty();
+                    flushRequested = false;
+                }
+                if (!saves.isEmpty()) {
+                    Log.d(TAG, "Recovered pending saves for " + saves.size() + " user(s)");
+                }
+                if (flushNow) {
+                    flush();
+                }
+            }
+        });
+    }
+
+    /**
+     * Flushes pending saves once the app's UI is no longer visible.
+     *
+     * @param level Memory trim level
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            flush();
+        }
+    }
+
+    /**
+     * Flushes pending saves when the system is low on memory.
+     */
+    @Override
+    public void onLowMemory() {
+        flush();
+    }
+
+    /**
+     * Configuration changes do not affect the buffer.
+     *
+     * @param newConfig New device configuration
+     */
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Records a save in memory, queues its journal append, and schedules a
+     * flush. The save is confirmed once the append is done; if the journal
+     * cannot be written, it is flushed to the database first instead.
+     *
+     * @param email User's email
+     * @param field Buffered field
+     * @param value New value
+     * @param onSaved Confirmation, run on the main thread
+     */
+    private void put(String email, String field, String value, Runnable onSaved) {
+        synchronized (lock) {
+            pending.computeIfAbsent(email, key -> new LinkedHashMap<>()).put(field, value);
+            journalExecutor.execute(() -> {
+                if (appendToJournal(email, field, value)) {
+                    mainHandler.post(onSaved);
+                } else {
+                    mainHandler.post(() -> {
+                        flush();
+                        onSaved.run();
+                    });
+                }
+            });
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Schedules a flush unless one is already scheduled. After failed
+     * flushes the delay doubles with each failure, up to
+     * {@link #MAX_RETRY_DELAY_MS}. Must hold the lock.
+     */
+    private void scheduleFlush() {
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        long delay = FLUSH_DELAY_MS << Math.min(failedFlushes, 20);
+        mainHandler.postDelayed(flushTask, Math.min(delay, MAX_RETRY_DELAY_MS));
+    }
+
+    /**
+     * Looks up a pending value, including one being flushed right now.
+     *
+     * @param email User's email
+     * @param field Buffered field
+     * @return Pending value, or null if none
+     */
+    private String getPending(String email, String field) {
+        synchronized (lock) {
+            Map<String, String> fields = pending.get(email);
+            if (fields != null && fields.containsKey(field)) {
+                return fields.get(field);
+            }
+            fields = flushingBatch != null ? flushingBatch.get(email) : null;
+            return fields != null ? fields.get(field) : null;
+        }
+    }
+
+    /**
+     * Finishes a flush: on success drops the written saves from the journal,
+     * on failure puts them back under any newer saves and backs off before
+     * the next attempt. Runs any flush requested in the meantime.
+     *
+     * @param batch Saves the flush wrote
+     * @param error Failure, or null on success
+     */
+    private void onFlushed(Map<String, Map<String, String>> batch, Throwable error) {
+        boolean flushAgain;
+        synchronized (lock) {
+            flushingBatch = null;
+            if (error != null) {
+                failedFlushes++;
+                Log.e(TAG, "Flush failed " + failedFlushes + " time(s); will retry", error);
+                merge(batch);
+            } else {
+                failedFlushes = 0;
+                Map<String, Map<String, String>> remaining = copyPending();
+                journalExecutor.execute(() -> rewriteJournal(remaining));
+            }
+            // A failing flush waits for its backoff even if another was requested
+            flushAgain = error == null && flushRequested && !pending.isEmpty();
+            flushRequested = false;
+            if (!flushAgain && !pending.isEmpty()) {
+                scheduleFlush();
+            }
+        }
+        if (flushAgain) {
+            flush();
+        }
+    }
+
+    /**
+     * Adds older saves to the pending ones without overriding newer values.
+     *
+     * @param older Saves to merge in
+     */
+    private void merge(Map<String, Map<String, String>> older) {
+        for (Map.Entry<String, Map<String, String>> entry : older.entrySet()) {
+            Map<String, String> fields = pending.computeIfAbsent(entry.getKey(), key -> new LinkedHashMap<>());
+            for (Map.Entry<String, String> field : entry.getValue().entrySet()) {
+                fields.putIfAbsent(field.getKey(), field.getValue());
+            }
+        }
+    }
+
+    /**
+     * Copies the pending saves, so the journal thread can write them
+     * while they keep changing. Must hold the lock.
+     *
+     * @return Snapshot of the pending values by user and field
+     */
+    private Map<String, Map<String, String>> copyPending() {
+        Map<String, Map<String, String>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, String>> entry : pending.entrySet()) {
+            copy.put(entry.getKey(), new LinkedHashMap<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * Converts one user's pending fields into a profile update.
+     *
+     * @param email User's email
+     * @param fields Pending values by field
+     * @return Update writing all the fields at once
+     */
+    private static ProfileUpdate toProfileUpdate(String email, Map<String, String> fields) {
+        ProfileUpdate update = new ProfileUpdate(email);
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            switch (field.getKey()) {
+                case FIELD_TOPICS:
+                    update.setTopics(field.getValue());
+                    break;
+                case FIELD_STUDY_TIME:
+                    update.setStudyTime(field.getValue());
+                    break;
+                default:
+                    Log.w(TAG, "Unknown buffered field: " + field.getKey());
+            }
+        }
+        return update;
+    }
+
+    // ==================== Journal ====================
+
+    /**
+     * Creates the single journal thread. Appends and rewrites queued on it run
+     * in the order they were queued; the thread exits when idle.
+     *
+     * @return Journal executor
+     */
+    private static ThreadPoolExecutor createJournalExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+                JOURNAL_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "profile-journal");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Appends one save to the journal. Runs on the journal thread.
+     *
+     * @param email User's email
+     * @param field Buffered field
+     * @param value New value
+     * @return true if the line was handed to the operating system
+     */
+    private boolean appendToJournal(String email, String field, String value) {
+        try {
+            if (journal == null) {
+                journal = new OutputStreamWriter(new FileOutputStream(journalFile, true), StandardCharsets.UTF_8);
+            }
+            journal.write(journalLine(email, field, value));
+            journal.flush();
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to journal save for: " + email, e);
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the journal with the saves still pending, or deletes it if
+     * nothing is pending. The new journal is written aside and renamed into
+     * place, so a crash mid-way leaves the old one intact. Runs on the
+     * journal thread; saves made after the snapshot are appended after it.
+     *
+     * @param remaining Snapshot of the pending saves
+     */
+    private void rewriteJournal(Map<String, Map<String, String>> remaining) {
+        try {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+            if (remaining.isEmpty()) {
+                if (journalFile.exists() && !journalFile.delete()) {
+                    Log.w(TAG, "Failed to delete journal");
+                }
+                return;
+            }
+
+            File tempFile = new File(journalFile.getPath() + ".tmp");
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Map<String, String>> entry : remaining.entrySet()) {
+                    for (Map.Entry<String, String> field : entry.getValue().entrySet()) {
+                        writer.write(journalLine(entry.getKey(), field.getKey(), field.getValue()));
+                    }
+                }
+            }
+            if (!tempFile.renameTo(journalFile)) {
+                Log.w(TAG, "Failed to replace journal");
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to rewrite journal", e);
+        }
+    }
+
+    /**
+     * Reads the saves recorded in the journal, latest value per field.
+     * A torn last line from a crash mid-append lacks its end marker and is
+     * skipped. Runs on the journal thread.
+     *
+     * @return Journaled values by user and field
+     */
+    private Map<String, Map<String, String>> readJournal() {
+        Map<String, Map<String, String>> saves = new LinkedHashMap<>();
+        if (!journalFile.exists()) {
+            return saves;
+        }
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t", -1);
+                if (parts.length != 4 || !LINE_END.equals(parts[3])) {
+                    continue;
+                }
+                saves.computeIfAbsent(unescape(parts[0]), key -> new LinkedHashMap<>())
+                        .put(parts[1], unescape(parts[2]));
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to read journal", e);
+        }
+        return saves;
+    }
+
+    /**
+     * Formats one save as a journal line: email, field, value and an end
+     * marker, tab-separated.
+     *
+     * @param email User's email
+     * @param field Buffered field
+     * @param value New value
+     * @return Journal line including its line break
+     */
+    private static String journalLine(String email, String field, String value) {
+        return escape(email) + '\t' + field + '\t' + escape(value) + '\t' + LINE_END + '\n';
+    }
+
+    /**
+     * Escapes backslashes, tabs and line breaks so a value fits in one journal field.
+     *
+     * @param value Raw value, may be null
+     * @return Escaped value; null is written as a lone backslash
+     */
+    private static String escape(String value) {
+        if (value == null) {
+            return "\\";
+        }
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    /**
+     * Reverses {@link #escape(String)}.
+     *
+     * @param value Escaped value
+     * @return Raw value, or null
+     */
+    private static String unescape(String value) {
+        if (value.equals("\\")) {
+            return null;
+        }
+
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.studypartner.data.database;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDoneException;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * StatementCache
+ *
+ * Per-database cache of precompiled statements and generated SQL, keyed by
+ * query shape. A repeated single-value lookup binds new arguments into an
+ * already compiled {@link SQLiteStatement} instead of parsing and planning
+ * its SQL again.
+ *
+ * Features:
+ * - Compiled statements for single-value lookups (counts, single columns)
+ *   and for single-row inserts
+ * - Generated SQL text for row queries whose shape varies, such as the
+ *   topic query's IN list arity; identical text lets the connection's own
+ *   prepared-statement cache skip parsing for those too
+ * - Hit and miss counters across both
+ *
+ * Statements are only cached for the primary database handle opened by
+ * {@link DatabaseHelper}, bound with {@link #attach} from its onOpen; a
+ * lookup on any other handle (during onCreate or onUpgrade, or after the
+ * helper reopened) compiles a one-off statement and closes it after use.
+ * {@link #close()} closes every cached statement; DatabaseHelper calls it
+ * from its own close().
+ *
+ * Thread-safe: the cache is synchronized and each statement is used by one
+ * thread at a time.
+ */
+public final class StatementCache {
+
+    private final Map<String, SQLiteStatement> statements = new HashMap<>();
+    private final Map<String, String> queries = new HashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private SQLiteDatabase database;
+
+    /**
+     * Work done with a bound statement.
+     *
+     * @param <T> Result type
+     */
+    private interface StatementCall<T> {
+        T run(SQLiteStatement statement);
+    }
+
+    /**
+     * Binds the cache to the primary database handle, closing statements
+     * compiled against a previous one.
+     *
+     * @param db Database handle opened by the helper
+     */
+    synchronized void attach(SQLiteDatabase db) {
+        if (database != db) {
+            closeStatements();
+            database = db;
+        }
+    }
+
+    /**
+     * Closes every cached statement and detaches from the database. Later
+     * lookups compile one-off statements until {@link #attach} is called again.
+     */
+    synchronized void close() {
+        closeStatements();
+        database = null;
+    }
+
+    /**
+     * Runs a cached single-value query returning a number.
+     *
+     * @param db Open database
+     * @param sql Query returning one row with one column
+     * @param defaultValue Value to return when the query yields no row
+     * @param args Arguments bound as strings, none null
+     * @return Query result, or the default value
+     */
+    long queryForLong(SQLiteDatabase db, String sql, long defaultValue, String... args) {
+        return execute(db, sql, args, statement -> {
+            try {
+                return statement.simpleQueryForLong();
+            } catch (SQLiteDoneException e) {
+                return defaultValue;
+            }
+        });
+    }
+
+    /**
+     * Runs a cached single-value query returning text.
+     *
+     * @param db Open database
+     * @param sql Query returning one row with one column
+     * @param args Arguments bound as strings, none null
+     * @return Query result, or null if there was no row or the value is NULL
+     */
+    String queryForString(SQLiteDatabase db, String sql, String... args) {
+        return execute(db, sql, args, statement -> {
+            try {
+                return statement.simpleQueryForString();
+            } catch (SQLiteDoneException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Runs a cached insert statement.
+     *
+     * @param db Open writable database
+     * @param sql INSERT statement
+     * @param args Arguments bound as strings, none null
+     * @return Row ID of the inserted row, or -1 if no row was inserted
+     */
+    long executeInsert(SQLiteDatabase db, String sql, String... args) {
+        return execute(db, sql, args, SQLiteStatement::executeInsert);
+    }
+
+    /**
+     * Gets the SQL text for a row query shape, building it on first use.
+     *
+     * @param shape Key identifying the query shape, e.g. including its arity
+     * @param builder Builds the SQL text for the shape
+     * @return Cached SQL text
+     */
+    synchronized String getQuery(String shape, Supplier<String> builder) {
+        String sql = queries.get(shape);
+        if (sql == null) {
+            misses.incrementAndGet();
+            sql = builder.get();
+            queries.put(shape, sql);
+        } else {
+            hits.incrementAndGet();
+        }
+        return sql;
+    }
+
+    /**
+     * Gets the number of lookups served from the cache.
+     *
+     * @return Hit count
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of lookups that had to compile or build their query.
+     *
+     * @return Miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "StatementCache{hits=" + hits.get() + ", misses=" + misses.get() + "}";
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Binds arguments to the cached statement for some SQL, or to a one-off
+     * statement if the database is not the attached one, and runs a call with it.
+     */
+    private <T> T execute(SQLiteDatabase db, String sql, String[] args, StatementCall<T> call) {
+        SQLiteStatement cached = getCachedStatement(db, sql);
+        SQLiteStatement statement = cached != null ? cached : db.compileStatement(sql);
+        synchronized (statement) {
+            statement.bindAllArgsAsStrings(args);
+            try {
+                return call.run(statement);
+            } finally {
+                statement.clearBindings();
+                if (cached == null) {
+                    statement.close();
+                }
+            }
+        }
+    }
+
+    private synchronized SQLiteStatement getCachedStatement(SQLiteDatabase db, String sql) {
+        if (db != database) {
+            misses.incrementAndGet();
+            return null;
+        }
+        SQLiteStatement statement = statements.get(sql);
+        if (statement == null) {
+            misses.incrementAndGet();
+            statement = db.compileStatement(sql);
+            statements.put(sql, statement);
+        } else {
+            hits.incrementAndGet();
+        }
+        return statement;
+    }
+
+    private void closeStatements() {
+        for (SQLiteStatement statement : statements.values()) {
+            synchronized (statement) {
+                statement.close();
+            }
+        }
+        statements.clear();
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.studypartner.data.database;
+
+import android.database.Cursor;
+
+import com.example.studypartner.data.model.User;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * UserIterator
+ *
+ * Streams users in ascending ID order without materializing the result.
+ * Rows are read in fixed-size chunks, each a keyset seek past the last ID
+ * returned, and decoded one at a time as the caller advances. Each chunk's
+ * cursor, and with it its CursorWindow, is closed before the next chunk is
+ * queried, so memory stays constant however many rows are visited.
+ *
+ * Features:
+ * - Constant memory: at most one chunk's cursor is open at any time
+ * - No window refills: a cursor over a large result re-runs its query from
+ *   the first row each time its window moves; a chunk always fits in one window
+ * - Each chunk is a short read, so a long scan never pins a WAL snapshot
+ * - {@link #stream()} for callers that prefer {@link Stream} operations
+ *
+ * Chunks are separate reads: a row changed mid-scan may be seen either way,
+ * but no row is returned twice. Not thread-safe. Always close the iterator
+ * (try-with-resources) unless it ran to the end.
+ */
+public final class UserIterator implements Iterator<User>, Closeable {
+
+    /**
+     * Queries one chunk of users.
+     */
+    interface ChunkQuery {
+        /**
+         * Queries the next chunk of users after a key, in ascending ID order.
+         *
+         * @param afterId ID of the last user already returned; 0 for the first chunk
+         * @return Cursor over at most one chunk of rows, including the ID column
+         */
+        Cursor query(long afterId);
+    }
+
+    private final ChunkQuery chunkQuery;
+    private final int chunkSize;
+
+    private Cursor cursor;
+    private UserRowMapper mapper;
+    private int idIndex;
+    private int sharedCountIndex;
+    private int rowsInChunk;
+    private long lastId;
+    private boolean rowReady;
+    private boolean finished;
+
+    /**
+     * Creates an iterator; no query runs until the first {@link #hasNext()}.
+     *
+     * @param chunkQuery Query for one chunk
+     * @param chunkSize Row limit of the chunk query; a shorter chunk is the last
+     */
+    UserIterator(ChunkQuery chunkQuery, int chunkSize) {
+        this.chunkQuery = chunkQuery;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates an iterator over no users.
+     *
+     * @return Finished iterator that never queries
+     */
+    static UserIterator empty() {
+        UserIterator iterator = new UserIterator(null, 0);
+        iterator.finished = true;
+        return iterator;
+    }
+
+    /**
+     * Checks whether another user follows, querying the next chunk if the
+     * current one is used up.
+     *
+     * @return true if {@link #next()} will return a user
+     */
+    @Override
+    public boolean hasNext() {
+        while (!rowReady && !finished) {
+            if (cursor == null) {
+                openChunk();
+            }
+            if (cursor.moveToNext()) {
+                rowReady = true;
+            } else {
+                boolean lastChunk = rowsInChunk < chunkSize;
+                closeChunk();
+                finished = lastChunk;
+            }
+        }
+        return rowReady;
+    }
+
+    /**
+     * Decodes the next user.
+     *
+     * @return Next user in ID order
+     * @throws NoSuchElementException if no user is left
+     */
+    @Override
+    public User next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        rowReady = false;
+        rowsInChunk++;
+        User user = mapper.map(cursor);
+        lastId = cursor.getLong(idIndex);
+        if (sharedCountIndex >= 0) {
+            user.setSharedTopicCount(cursor.getInt(sharedCountIndex));
+        }
+        return user;
+    }
+
+    /**
+     * Wraps the remaining users in a sequential stream. Closing the stream
+     * closes this iterator.
+     *
+     * @return Ordered stream of the remaining users
+     */
+    public Stream<User> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    /**
+     * Releases the open chunk, if any. Further calls to {@link #hasNext()}
+     * return false.
+     */
+    @Override
+    public void close() {
+        closeChunk();
+        rowReady = false;
+        finished = true;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void openChunk() {
+        cursor = chunkQuery.query(lastId);
+        mapper = new UserRowMapper(cursor);
+        idIndex = cursor.getColumnIndex(DatabaseHelper.COL_ID);
+        sharedCountIndex = cursor.getColumnIndex(DatabaseHelper.COL_SHARED_TOPIC_COUNT);
+        rowsInChunk = 0;
+    }
+
+    private void closeChunk() {
+        if (cursor != null) {
+            cursor.close();
+            cursor = null;
+            mapper = null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.studypartner.data.database;
+
+/**
+ * UserProjection
+ *
+ * Named views of a user row, so each query reads only the columns its screen
+ * needs. Columns left out of a projection decode to empty values (see
+ * {@link UserRowMapper}). No projection includes the password.
+ *
+ * Views:
+ * - LIST_CARD: name, occupation, topics and study times for match and like lists
+ * - PROFILE: everything shown on a profile page, including social links
+ * - MATCHING: only the preferences scoring and sectioning need
+ */
+public enum UserProjection {
+
+    LIST_CARD(DatabaseHelper.COL_ID, DatabaseHelper.COL_EMAIL, DatabaseHelper.COL_FIRST_NAME,
+            DatabaseHelper.COL_LAST_NAME, DatabaseHelper.COL_OCCUPATION, DatabaseHelper.COL_TOPICS_MASK,
+            DatabaseHelper.COL_STUDY_TIME_MASK),
+
+    PROFILE(DatabaseHelper.COL_ID, DatabaseHelper.COL_EMAIL, DatabaseHelper.COL_FIRST_NAME,
+            DatabaseHelper.COL_LAST_NAME, DatabaseHelper.COL_AGE, DatabaseHelper.COL_GENDER,
+            DatabaseHelper.COL_OCCUPATION, DatabaseHelper.COL_TOPICS_MASK, DatabaseHelper.COL_STUDY_TIME_MASK,
+            DatabaseHelper.COL_STUDY_DIFFICULTY_LEVEL, DatabaseHelper.COL_LINKED_IN_URL,
+            DatabaseHelper.COL_GITHUB_URL, DatabaseHelper.COL_PERSONAL_WEBSITE_URL),
+
+    MATCHING(DatabaseHelper.COL_ID, DatabaseHelper.COL_EMAIL, DatabaseHelper.COL_TOPICS_MASK,
+            DatabaseHelper.COL_STUDY_TIME_MASK, DatabaseHelper.COL_STUDY_DIFFICULTY_LEVEL);
+
+    private final String[] columns;
+
+    UserProjection(String... columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Gets the column names in this projection.
+     *
+     * @return Copy of the column names
+     */
+    public String[] getColumns() {
+        return columns.clone();
+    }
+
+    /**
+     * Builds the select list for this projection.
+     *
+     * @param tableAlias Alias to qualify columns with, or null for unqualified names
+     * @return Comma-separated column list
+     */
+    String selectList(String tableAlias) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            if (tableAlias != null) {
+                builder.append(tableAlias).append('.');
+            }
+            builder.append(columns[i]);
+        }
+        return builder.toString();
+    }
+}
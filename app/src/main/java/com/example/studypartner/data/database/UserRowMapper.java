@@ -0,0 +1,92 @@
+package com.example.studypartner.data.database;
+
+import android.database.Cursor;
+
+import com.example.studypartner.data.model.User;
+
+/**
+ * UserRowMapper
+ *
+ * Decodes users-table rows into {@link User} objects. Column ordinals are
+ * resolved once, when the mapper is created for a cursor, so decoding a row
+ * reads values by position only instead of looking up every column name.
+ *
+ * Columns missing from the cursor (see {@link UserProjection}) decode to
+ * null names, empty strings and zero masks.
+ *
+ * Create one mapper per cursor and reuse it for every row of that cursor.
+ */
+final class UserRowMapper {
+
+    // Column ordinals within the cursor
+    private final int idIndex;
+    private final int emailIndex;
+    private final int passwordIndex;
+    private final int firstNameIndex;
+    private final int lastNameIndex;
+    private final int ageIndex;
+    private final int genderIndex;
+    private final int studyTimeMaskIndex;
+    private final int topicMaskIndex;
+    private final int difficultyIndex;
+    private final int occupationIndex;
+    private final int linkedInIndex;
+    private final int githubIndex;
+    private final int personalIndex;
+
+    /**
+     * Creates a mapper for a cursor over the users table.
+     *
+     * @param cursor Cursor whose columns to resolve
+     */
+    UserRowMapper(Cursor cursor) {
+        this.idIndex = cursor.getColumnIndex(DatabaseHelper.COL_ID);
+        this.emailIndex = cursor.getColumnIndex(DatabaseHelper.COL_EMAIL);
+        this.passwordIndex = cursor.getColumnIndex(DatabaseHelper.COL_PASSWORD);
+        this.firstNameIndex = cursor.getColumnIndex(DatabaseHelper.COL_FIRST_NAME);
+        this.lastNameIndex = cursor.getColumnIndex(DatabaseHelper.COL_LAST_NAME);
+        this.ageIndex = cursor.getColumnIndex(DatabaseHelper.COL_AGE);
+        this.genderIndex = cursor.getColumnIndex(DatabaseHelper.COL_GENDER);
+        this.studyTimeMaskIndex = cursor.getColumnIndex(DatabaseHelper.COL_STUDY_TIME_MASK);
+        this.topicMaskIndex = cursor.getColumnIndex(DatabaseHelper.COL_TOPICS_MASK);
+        this.difficultyIndex = cursor.getColumnIndex(DatabaseHelper.COL_STUDY_DIFFICULTY_LEVEL);
+        this.occupationIndex = cursor.getColumnIndex(DatabaseHelper.COL_OCCUPATION);
+        this.linkedInIndex = cursor.getColumnIndex(DatabaseHelper.COL_LINKED_IN_URL);
+        this.githubIndex = cursor.getColumnIndex(DatabaseHelper.COL_GITHUB_URL);
+        this.personalIndex = cursor.getColumnIndex(DatabaseHelper.COL_PERSONAL_WEBSITE_URL);
+    }
+
+    /**
+     * Decodes the row the cursor is positioned at.
+     *
+     * @param cursor Cursor this mapper was created for
+     * @return User object with data from the row
+     */
+    User map(Cursor cursor) {
+        User user = new User(stringOrNull(cursor, emailIndex), stringOrNull(cursor, passwordIndex),
+                stringOrNull(cursor, firstNameIndex), stringOrNull(cursor, lastNameIndex),
+                intOrZero(cursor, ageIndex), stringOrNull(cursor, genderIndex), null, null,
+                stringOrEmpty(cursor, difficultyIndex), stringOrEmpty(cursor, occupationIndex),
+                stringOrEmpty(cursor, linkedInIndex), stringOrEmpty(cursor, githubIndex),
+                stringOrEmpty(cursor, personalIndex));
+
+        user.setUserID(stringOrNull(cursor, idIndex));
+        user.setStudyTimeMask(intOrZero(cursor, studyTimeMaskIndex));
+        user.setTopicMask(intOrZero(cursor, topicMaskIndex));
+        return user;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private static String stringOrNull(Cursor cursor, int index) {
+        return index < 0 ? null : cursor.getString(index);
+    }
+
+    private static String stringOrEmpty(Cursor cursor, int index) {
+        return index < 0 || cursor.isNull(index) ? "" : cursor.getString(index);
+    }
+
+    private static int intOrZero(Cursor cursor, int index) {
+        return index < 0 ? 0 : cursor.getInt(index);
+    }
+}
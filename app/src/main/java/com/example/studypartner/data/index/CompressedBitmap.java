@@ -0,0 +1,319 @@
+package com.example.studypartner.data.index;
+
+import java.util.Arrays;
+
+/**
+ * CompressedBitmap
+ *
+ * Compact set of non-negative int ordinals, laid out like a roaring bitmap.
+ * The ordinal space is split into chunks of 65536 values keyed by the high 16 bits.
+ * Each chunk is stored either as a sorted char array (sparse) or as a 1024-word
+ * long bitmap (dense), switching at {@link #ARRAY_MAX_SIZE} values.
+ *
+ * Features:
+ * - add / remove / contains in O(log chunks + log chunk size)
+ * - Expands any chunk into raw words for word-parallel set algebra
+ * - Memory bounded by roughly 2 bytes per value or 8KB per chunk, whichever is smaller
+ *
+ * Not thread-safe; callers synchronize externally.
+ */
+public class CompressedBitmap {
+
+    // Chunk layout
+    static final int CHUNK_BITS = 16;
+    static final int WORDS_PER_CHUNK = 1 << (CHUNK_BITS - 6);
+    private static final int LOW_MASK = (1 << CHUNK_BITS) - 1;
+
+    // Sparse chunks are converted to dense once they exceed this many values
+    private static final int ARRAY_MAX_SIZE = 4096;
+
+    // Chunk storage, parallel arrays sorted by key
+    private char[] keys;
+    private Object[] containers;  // char[] (sparse) or long[] (dense)
+    private int[] cardinalities;
+    private int chunkCount;
+
+    /**
+     * Creates an empty bitmap.
+     */
+    public CompressedBitmap() {
+        this.keys = new char[4];
+        this.containers = new Object[4];
+        this.cardinalities = new int[4];
+        this.chunkCount = 0;
+    }
+
+    // ==================== Mutation ====================
+
+    /**
+     * Adds an ordinal to the set.
+     *
+     * @param value Non-negative ordinal
+     * @return true if the value was not already present
+     */
+    public boolean add(int value) {
+        char key = (char) (value >>> CHUNK_BITS);
+        char low = (char) (value & LOW_MASK);
+
+        int index = findChunk(key);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, key, new char[]{low}, 1);
+            return true;
+        }
+
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                return false;
+            }
+            words[low >>> 6] |= bit;
+            cardinalities[index]++;
+            return true;
+        }
+
+        char[] values = (char[]) container;
+        int cardinality = cardinalities[index];
+        int position = Arrays.binarySearch(values, 0, cardinality, low);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+
+        if (cardinality == ARRAY_MAX_SIZE) {
+            long[] words = toWords(values, cardinality);
+            words[low >>> 6] |= 1L << low;
+            containers[index] = words;
+            cardinalities[index] = cardinality + 1;
+            return true;
+        }
+
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX_SIZE, cardinality * 2));
+            containers[index] = values;
+        }
+        System.arraycopy(values, position, values, position + 1, cardinality - position);
+        values[position] = low;
+        cardinalities[index] = cardinality + 1;
+        return true;
+    }
+
+    /**
+     * Removes an ordinal from the set.
+     *
+     * @param value Non-negative ordinal
+     * @return true if the value was present
+     */
+    public boolean remove(int value) {
+        char key = (char) (value >>> CHUNK_BITS);
+        char low = (char) (value & LOW_MASK);
+
+        int index = findChunk(key);
+        if (index < 0) {
+            return false;
+        }
+
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                return false;
+            }
+            words[low >>> 6] &= ~bit;
+            int cardinality = --cardinalities[index];
+            if (cardinality <= ARRAY_MAX_SIZE / 2) {
+                containers[index] = toValues(words, cardinality);
+            }
+        } else {
+            char[] values = (char[]) container;
+            int cardinality = cardinalities[index];
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+            cardinalities[index] = cardinality - 1;
+        }
+
+        if (cardinalities[index] == 0) {
+            removeChunk(index);
+        }
+        return true;
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Checks whether an ordinal is in the set.
+     *
+     * @param value Non-negative ordinal
+     * @return true if present
+     */
+    public boolean contains(int value) {
+        int index = findChunk((char) (value >>> CHUNK_BITS));
+        if (index < 0) {
+            return false;
+        }
+
+        char low = (char) (value & LOW_MASK);
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, cardinalities[index], low) >= 0;
+    }
+
+    /**
+     * Gets the number of ordinals in the set.
+     *
+     * @return Set cardinality
+     */
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            total += cardinalities[i];
+        }
+        return total;
+    }
+
+    /**
+     * Estimates the heap used by the container payloads.
+     *
+     * @return Approximate size in bytes
+     */
+    public long sizeInBytes() {
+        long bytes = keys.length * 2L + containers.length * 4L + cardinalities.length * 4L;
+        for (int i = 0; i < chunkCount; i++) {
+            Object container = containers[i];
+            bytes += container instanceof long[]
+                    ? ((long[]) container).length * 8L
+                    : ((char[]) container).length * 2L;
+        }
+        return bytes;
+    }
+
+    // ==================== Chunk Access ====================
+
+    /**
+     * Gets the number of non-empty chunks.
+     *
+     * @return Chunk count
+     */
+    int chunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * Gets the key (high 16 bits) of the chunk at the given position.
+     *
+     * @param index Chunk position, 0 to chunkCount() - 1
+     * @return Chunk key
+     */
+    int chunkKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * ORs the chunk with the given key into a 1024-word buffer.
+     * The buffer is cleared first.
+     *
+     * @param key Chunk key
+     * @param words Destination buffer of {@link #WORDS_PER_CHUNK} words
+     * @return true if the chunk exists, false if the buffer was left zeroed
+     */
+    boolean fillChunkWords(int key, long[] words) {
+        Arrays.fill(words, 0L);
+
+        int index = findChunk((char) key);
+        if (index < 0) {
+            return false;
+        }
+
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            System.arraycopy((long[]) container, 0, words, 0, WORDS_PER_CHUNK);
+        } else {
+            char[] values = (char[]) container;
+            for (int i = 0, n = cardinalities[index]; i < n; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+        }
+        return true;
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Binary searches the chunk keys.
+     *
+     * @param key Chunk key
+     * @return Index if found, otherwise (-(insertion point) - 1)
+     */
+    private int findChunk(char key) {
+        return Arrays.binarySearch(keys, 0, chunkCount, key);
+    }
+
+    /**
+     * Inserts a new chunk at the given position, growing storage as needed.
+     */
+    private void insertChunk(int index, char key, Object container, int cardinality) {
+        if (chunkCount == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+
+        int tail = chunkCount - index;
+        System.arraycopy(keys, index, keys, index + 1, tail);
+        System.arraycopy(containers, index, containers, index + 1, tail);
+        System.arraycopy(cardinalities, index, cardinalities, index + 1, tail);
+
+        keys[index] = key;
+        containers[index] = container;
+        cardinalities[index] = cardinality;
+        chunkCount++;
+    }
+
+    /**
+     * Removes the chunk at the given position.
+     */
+    private void removeChunk(int index) {
+        int tail = chunkCount - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, tail);
+        System.arraycopy(containers, index + 1, containers, index, tail);
+        System.arraycopy(cardinalities, index + 1, cardinalities, index, tail);
+        chunkCount--;
+        containers[chunkCount] = null;
+    }
+
+    /**
+     * Converts a sparse container to a dense one.
+     */
+    private static long[] toWords(char[] values, int cardinality) {
+        long[] words = new long[WORDS_PER_CHUNK];
+        for (int i = 0; i < cardinality; i++) {
+            words[values[i] >>> 6] |= 1L << values[i];
+        }
+        return words;
+    }
+
+    /**
+     * Converts a dense container to a sparse one.
+     */
+    private static char[] toValues(long[] words, int cardinality) {
+        char[] values = new char[Math.max(cardinality, 1)];
+        int position = 0;
+        for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+            long word = words[w];
+            while (word != 0) {
+                values[position++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.studypartner.data.index;
+
+import java.util.Locale;
+
+/**
+ * LshRecallReport
+ *
+ * Accuracy of {@link MinHashLshIndex} candidate generation against the exact
+ * topic match for a sample of users.
+ *
+ * Metrics:
+ * - Candidate recall: share of exact matches (users sharing a topic) that LSH returned
+ * - Top-K recall: share of the exact top-K ranks where the top-K chosen from LSH
+ *   candidates only reaches the same score (ties between users count as found)
+ * - Candidate ratio: LSH candidates returned per exact match (cost of the filter)
+ *
+ */
+public final class LshRecallReport {
+
+    private final int sampledUsers;
+    private final long exactMatches;
+    private final long lshCandidates;
+    private final long exactMatchesFound;
+    private final long topKExpected;
+    private final long topKFound;
+
+    /**
+     * Creates a report from accumulated counts.
+     *
+     * @param sampledUsers Number of users evaluated
+     * @param exactMatches Total exact matches across the sample
+     * @param lshCandidates Total LSH candidates across the sample
+     * @param exactMatchesFound Exact matches that LSH also returned
+     * @param topKExpected Total length of the exact top-K lists
+     * @param topKFound Top-K ranks where the LSH list matched the exact score
+     */
+    public LshRecallReport(int sampledUsers, long exactMatches, long lshCandidates, long exactMatchesFound,
+                           long topKExpected, long topKFound) {
+        this.sampledUsers = sampledUsers;
+        this.exactMatches = exactMatches;
+        this.lshCandidates = lshCandidates;
+        this.exactMatchesFound = exactMatchesFound;
+        this.topKExpected = topKExpected;
+        this.topKFound = topKFound;
+    }
+
+    /**
+     * Gets the number of users evaluated.
+     *
+     * @return Sample size
+     */
+    public int getSampledUsers() {
+        return sampledUsers;
+    }
+
+    /**
+     * Gets the share of exact matches returned by LSH.
+     *
+     * @return Recall between 0 and 1, or 1 if there were no exact matches
+     */
+    public double getCandidateRecall() {
+        return exactMatches == 0 ? 1.0 : (double) exactMatchesFound / exactMatches;
+    }
+
+    /**
+     * Gets the share of top-K ranks where the LSH list matched the exact score.
+     *
+     * @return Recall between 0 and 1, or 1 if there were no exact matches
+     */
+    public double getTopKRecall() {
+        return topKExpected == 0 ? 1.0 : (double) topKFound / topKExpected;
+    }
+
+    /**
+     * Gets the number of LSH candidates returned per exact match.
+     *
+     * @return Candidate ratio
+     */
+    public double getCandidateRatio() {
+        return exactMatches == 0 ? 0.0 : (double) lshCandidates / exactMatches;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "LSH recall over %d users: candidate recall %.3f, top-K recall %.3f, candidate ratio %.2f",
+                sampledUsers, getCandidateRecall(), getTopKRecall(), getCandidateRatio());
+    }
+}
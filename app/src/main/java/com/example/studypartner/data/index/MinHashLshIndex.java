@@ -0,0 +1,333 @@
+package com.example.studypartner.data.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * MinHashLshIndex
+ *
+ * Approximate nearest-neighbour index over users' topic and study time sets,
+ * using MinHash signatures and banded locality-sensitive hashing.
+ *
+ * Each user's feature set is the 10 topic bits plus the 6 study time bits.
+ * Users with an identical (topics, study times, difficulty) profile share one
+ * {@link ProfileGroup}; only groups are hashed into bands, so bucket sizes are
+ * bounded by the number of distinct profiles rather than the number of users.
+ *
+ * Candidate generation for a user touches only the groups that collide with
+ * theirs in at least one band. A pair with Jaccard similarity s becomes a
+ * candidate with probability 1 - (1 - s^rows)^bands.
+ *
+ * Build once, then query; not safe for concurrent add and query.
+ */
+public class MinHashLshIndex {
+
+    // Topics occupy bits 0-9, study times bits 10-15
+    private static final int FEATURE_COUNT = 16;
+    private static final int STUDY_TIME_SHIFT = 10;
+    private static final int RANK_BITS = 5;
+
+    // Default banding: 16 bands of 2 rows
+    public static final int DEFAULT_BANDS = 16;
+    public static final int DEFAULT_ROWS_PER_BAND = 2;
+
+    private final int bands;
+    private final int rowsPerBand;
+    private final byte[][] featureRanks;  // [hash function][feature] -> position in permutation
+    private final Map<Integer, ProfileGroup> groupsByKey;
+    private final List<Map<Integer, List<ProfileGroup>>> bandBuckets;
+    private int userCount;
+
+    /**
+     * Creates an index with the default banding.
+     */
+    public MinHashLshIndex() {
+        this(DEFAULT_BANDS, DEFAULT_ROWS_PER_BAND, 42L);
+    }
+
+    /**
+     * Creates an index with custom banding.
+     *
+     * @param bands Number of bands
+     * @param rowsPerBand MinHash values per band, 1 to 5
+     * @param seed Seed for the hash permutations
+     * @throws IllegalArgumentException if the banding is out of range
+     */
+    public MinHashLshIndex(int bands, int rowsPerBand, long seed) {
+        if (bands <= 0 || rowsPerBand <= 0 || rowsPerBand * RANK_BITS > 31) {
+            throw new IllegalArgumentException("Unsupported banding: " + bands + " x " + rowsPerBand);
+        }
+        this.bands = bands;
+        this.rowsPerBand = rowsPerBand;
+        this.featureRanks = createPermutations(bands * rowsPerBand, seed);
+        this.groupsByKey = new HashMap<>();
+        this.bandBuckets = new ArrayList<>(bands);
+        for (int b = 0; b < bands; b++) {
+            bandBuckets.add(new HashMap<>());
+        }
+    }
+
+    // ==================== Building ====================
+
+    /**
+     * Adds a user. Adding users in ascending ID order keeps group members sorted.
+     *
+     * @param userId User's row ID
+     * @param topicMask Topic bitmask
+     * @param studyTimeMask Study time bitmask
+     * @param difficultyLevel Difficulty level, or -1 if unset
+     */
+    public void add(int userId, int topicMask, int studyTimeMask, int difficultyLevel) {
+        int key = profileKey(topicMask, studyTimeMask, difficultyLevel);
+        ProfileGroup group = groupsByKey.get(key);
+
+        if (group == null) {
+            group = new ProfileGroup(topicMask, studyTimeMask, difficultyLevel);
+            groupsByKey.put(key, group);
+
+            int features = features(topicMask, studyTimeMask);
+            if (features != 0) {
+                int[] signature = signature(features);
+                for (int b = 0; b < bands; b++) {
+                    Map<Integer, List<ProfileGroup>> buckets = bandBuckets.get(b);
+                    int bandKey = bandKey(signature, b);
+                    List<ProfileGroup> bucket = buckets.get(bandKey);
+                    if (bucket == null) {
+                        bucket = new ArrayList<>();
+                        buckets.put(bandKey, bucket);
+                    }
+                    bucket.add(group);
+                }
+            }
+        }
+
+        group.addUser(userId);
+        userCount++;
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Finds the profile groups colliding with a profile in at least one band,
+     * including the profile's own group if indexed.
+     *
+     * @param topicMask Topic bitmask
+     * @param studyTimeMask Study time bitmask
+     * @return Candidate groups, each once
+     */
+    public List<ProfileGroup> findCandidateGroups(int topicMask, int studyTimeMask) {
+        List<ProfileGroup> candidates = new ArrayList<>();
+        int features = features(topicMask, studyTimeMask);
+        if (features == 0) {
+            return candidates;
+        }
+
+        int[] signature = signature(features);
+        Map<ProfileGroup, Boolean> seen = new IdentityHashMap<>();
+        for (int b = 0; b < bands; b++) {
+            List<ProfileGroup> bucket = bandBuckets.get(b).get(bandKey(signature, b));
+            if (bucket == null) {
+                continue;
+            }
+            for (ProfileGroup group : bucket) {
+                if (seen.put(group, Boolean.TRUE) == null) {
+                    candidates.add(group);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Finds candidate users for a profile.
+     *
+     * @param topicMask Topic bitmask
+     * @param studyTimeMask Study time bitmask
+     * @param excludeUserId User ID to leave out (the user themself), or -1
+     * @return Candidate user IDs
+     */
+    public int[] findCandidates(int topicMask, int studyTimeMask, int excludeUserId) {
+        List<ProfileGroup> groups = findCandidateGroups(topicMask, studyTimeMask);
+
+        int total = 0;
+        for (ProfileGroup group : groups) {
+            total += group.size();
+        }
+
+        int[] candidates = new int[total];
+        int position = 0;
+        for (ProfileGroup group : groups) {
+            for (int i = 0; i < group.size(); i++) {
+                int userId = group.userIdAt(i);
+                if (userId != excludeUserId) {
+                    candidates[position++] = userId;
+                }
+            }
+        }
+        return position == total ? candidates : Arrays.copyOf(candidates, position);
+    }
+
+    /**
+     * Gets every profile group in the index.
+     *
+     * @return Profile groups
+     */
+    public Collection<ProfileGroup> getGroups() {
+        return groupsByKey.values();
+    }
+
+    /**
+     * Gets the number of indexed users.
+     *
+     * @return User count
+     */
+    public int size() {
+        return userCount;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private static int features(int topicMask, int studyTimeMask) {
+        return topicMask | (studyTimeMask << STUDY_TIME_SHIFT);
+    }
+
+    private static int profileKey(int topicMask, int studyTimeMask, int difficultyLevel) {
+        return features(topicMask, studyTimeMask) | ((difficultyLevel + 1) << FEATURE_COUNT);
+    }
+
+    /**
+     * MinHash signature: for each permutation, the smallest rank of any present feature.
+     */
+    private int[] signature(int features) {
+        int[] signature = new int[featureRanks.length];
+        for (int h = 0; h < featureRanks.length; h++) {
+            byte[] ranks = featureRanks[h];
+            int min = FEATURE_COUNT;
+            int remaining = features;
+            while (remaining != 0) {
+                int feature = Integer.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                if (ranks[feature] < min) {
+                    min = ranks[feature];
+                }
+            }
+            signature[h] = min;
+        }
+        return signature;
+    }
+
+    /**
+     * Packs one band of the signature into a bucket key.
+     */
+    private int bandKey(int[] signature, int band) {
+        int key = 0;
+        int offset = band * rowsPerBand;
+        for (int r = 0; r < rowsPerBand; r++) {
+            key = (key << RANK_BITS) | signature[offset + r];
+        }
+        return key;
+    }
+
+    /**
+     * Creates seeded random permutations of the feature positions.
+     */
+    private static byte[][] createPermutations(int count, long seed) {
+        Random random = new Random(seed);
+        byte[][] permutations = new byte[count][FEATURE_COUNT];
+        for (int h = 0; h < count; h++) {
+            byte[] ranks = permutations[h];
+            for (int f = 0; f < FEATURE_COUNT; f++) {
+                ranks[f] = (byte) f;
+            }
+            for (int f = FEATURE_COUNT - 1; f > 0; f--) {
+                int swap = random.nextInt(f + 1);
+                byte tmp = ranks[f];
+                ranks[f] = ranks[swap];
+                ranks[swap] = tmp;
+            }
+        }
+        return permutations;
+    }
+
+    /**
+     * ProfileGroup
+     *
+     * All indexed users sharing one exact (topics, study times, difficulty) profile.
+     * Any two members score identically against a third user.
+     */
+    public static final class ProfileGroup {
+
+        private final int topicMask;
+        private final int studyTimeMask;
+        private final int difficultyLevel;
+        private int[] userIds;
+        private int size;
+
+        ProfileGroup(int topicMask, int studyTimeMask, int difficultyLevel) {
+            this.topicMask = topicMask;
+            this.studyTimeMask = studyTimeMask;
+            this.difficultyLevel = difficultyLevel;
+            this.userIds = new int[4];
+            this.size = 0;
+        }
+
+        void addUser(int userId) {
+            if (size == userIds.length) {
+                userIds = Arrays.copyOf(userIds, size * 2);
+            }
+            userIds[size++] = userId;
+        }
+
+        /**
+         * Gets the group's topic bitmask.
+         *
+         * @return Topic bitmask
+         */
+        public int getTopicMask() {
+            return topicMask;
+        }
+
+        /**
+         * Gets the group's study time bitmask.
+         *
+         * @return Study time bitmask
+         */
+        public int getStudyTimeMask() {
+            return studyTimeMask;
+        }
+
+        /**
+         * Gets the group's difficulty level.
+         *
+         * @return Difficulty level, or -1 if unset
+         */
+        public int getDifficultyLevel() {
+            return difficultyLevel;
+        }
+
+        /**
+         * Gets the number of users in the group.
+         *
+         * @return Member count
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Gets a member's user ID.
+         *
+         * @param index Member position, 0 to size() - 1
+         * @return User ID
+         */
+        public int userIdAt(int index) {
+            return userIds[index];
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.studypartner.data.index;
+
+import com.example.studypartner.data.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * TopicBitmapIndex
+ *
+ * In-memory inverted index from topic name to the set of user ordinals (users.ID)
+ * interested in that topic, one {@link CompressedBitmap} per topic.
+ * Built once from the users table and kept current by DatabaseHelper on topic edits,
+ * so candidate lookup for the Match tab does not need a SQLite round trip.
+ *
+ * Features:
+ * - "Users sharing at least k topics" answered with word-parallel bit counting
+ * - Incremental add/replace of a single user's topics
+ * - Concurrent readers, exclusive writers
+ *
+ * Query cost is O(chunks x topics x 1024 words), independent of how many
+ * users are interested in each topic.
+ */
+public class TopicBitmapIndex {
+
+    // The bit-sliced counter holds 4 bits per position
+    private static final int MAX_QUERY_TOPICS = 15;
+
+    private final Map<String, CompressedBitmap> bitmapsByTopic;
+    private final ReentrantReadWriteLock lock;
+
+    /**
+     * Creates an empty index.
+     */
+    public TopicBitmapIndex() {
+        this.bitmapsByTopic = new HashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Builds an index from a list of users.
+     * Users without a numeric user ID are skipped.
+     *
+     * @param users Users to index
+     * @return Populated index
+     */
+    public static TopicBitmapIndex build(List<User> users) {
+        return build(users.iterator());
+    }
+
+    /**
+     * Builds an index from users as they are read, without holding them all.
+     * Users without a numeric user ID are skipped.
+     *
+     * @param users Users to index
+     * @return Populated index
+     */
+    public static TopicBitmapIndex build(Iterator<User> users) {
+        TopicBitmapIndex index = new TopicBitmapIndex();
+        while (users.hasNext()) {
+            User user = users.next();
+            int ordinal = parseOrdinal(user.getUserID());
+            if (ordinal >= 0) {
+                index.addUnlocked(ordinal, user.getTopicInterested());
+            }
+        }
+        return index;
+    }
+
+    // ==================== Mutation ====================
+
+    /**
+     * Replaces the indexed topics of a user.
+     *
+     * @param ordinal User's row ID
+     * @param topics User's new topics
+     */
+    public void updateUser(int ordinal, Collection<String> topics) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(ordinal);
+            addUnlocked(ordinal, topics);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a user from every topic.
+     *
+     * @param ordinal User's row ID
+     */
+    public void removeUser(int ordinal) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Finds users sharing at least {@code minShared} of the given topics.
+     *
+     * @param topics Topics to match against (at most 15 are considered)
+     * @param minShared Minimum number of shared topics, treated as 1 if lower
+     * @param excludeOrdinal Ordinal to leave out of the result (the current user), or -1
+     * @return Matching user ordinals in ascending order
+     */
+    public int[] findUsersSharingAtLeast(Collection<String> topics, int minShared, int excludeOrdinal) {
+        int threshold = Math.max(1, minShared);
+
+        lock.readLock().lock();
+        try {
+            List<CompressedBitmap> bitmaps = collectBitmaps(topics);
+            if (bitmaps.size() < threshold) {
+                return new int[0];
+            }
+            return thresholdQuery(bitmaps, threshold, excludeOrdinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of users interested in a topic.
+     *
+     * @param topic Topic name
+     * @return Number of users
+     */
+    public int countUsersForTopic(String topic) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap bitmap = bitmapsByTopic.get(topic);
+            return bitmap != null ? bitmap.cardinality() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap used by all topic bitmaps.
+     *
+     * @return Approximate size in bytes
+     */
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (CompressedBitmap bitmap : bitmapsByTopic.values()) {
+                bytes += bitmap.sizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Adds a user to each of the given topics. Caller holds the write lock.
+     */
+    private void addUnlocked(int ordinal, Collection<String> topics) {
+        if (topics == null) {
+            return;
+        }
+        for (String topic : topics) {
+            String key = topic == null ? "" : topic.trim();
+            if (key.isEmpty()) {
+                continue;
+            }
+            CompressedBitmap bitmap = bitmapsByTopic.get(key);
+            if (bitmap == null) {
+                bitmap = new CompressedBitmap();
+                bitmapsByTopic.put(key, bitmap);
+            }
+            bitmap.add(ordinal);
+        }
+    }
+
+    /**
+     * Removes a user from every topic. Caller holds the write lock.
+     */
+    private void removeUnlocked(int ordinal) {
+        for (CompressedBitmap bitmap : bitmapsByTopic.values()) {
+            bitmap.remove(ordinal);
+        }
+    }
+
+    /**
+     * Resolves distinct, known topics to their bitmaps.
+     */
+    private List<CompressedBitmap> collectBitmaps(Collection<String> topics) {
+        List<CompressedBitmap> bitmaps = new ArrayList<>();
+        if (topics == null) {
+            return bitmaps;
+        }
+        for (String topic : topics) {
+            CompressedBitmap bitmap = bitmapsByTopic.get(topic == null ? "" : topic.trim());
+            if (bitmap != null && !bitmaps.contains(bitmap) && bitmaps.size() < MAX_QUERY_TOPICS) {
+                bitmaps.add(bitmap);
+            }
+        }
+        return bitmaps;
+    }
+
+    /**
+     * Counts, for every ordinal, how many bitmaps contain it using a 4-bit
+     * bit-sliced adder per word, then keeps positions whose count >= threshold.
+     */
+    private static int[] thresholdQuery(List<CompressedBitmap> bitmaps, int threshold, int excludeOrdinal) {
+        int[] chunkKeys = unionChunkKeys(bitmaps);
+        int bitmapCount = bitmaps.size();
+        long[][] chunkWords = new long[bitmapCount][CompressedBitmap.WORDS_PER_CHUNK];
+        boolean[] present = new boolean[bitmapCount];
+
+        // Threshold bits as all-ones / all-zeros masks
+        long k0 = (threshold & 1) != 0 ? -1L : 0L;
+        long k1 = (threshold & 2) != 0 ? -1L : 0L;
+        long k2 = (threshold & 4) != 0 ? -1L : 0L;
+        long k3 = (threshold & 8) != 0 ? -1L : 0L;
+
+        int[] result = new int[64];
+        int resultSize = 0;
+
+        for (int key : chunkKeys) {
+            for (int b = 0; b < bitmapCount; b++) {
+                present[b] = bitmaps.get(b).fillChunkWords(key, chunkWords[b]);
+            }
+
+            int base = key << CompressedBitmap.CHUNK_BITS;
+            for (int w = 0; w < CompressedBitmap.WORDS_PER_CHUNK; w++) {
+                long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+                for (int b = 0; b < bitmapCount; b++) {
+                    if (!present[b]) {
+                        continue;
+                    }
+                    long carry = chunkWords[b][w];
+                    long t = s0 & carry; s0 ^= carry; carry = t;
+                    t = s1 & carry; s1 ^= carry; carry = t;
+                    t = s2 & carry; s2 ^= carry; carry = t;
+                    s3 |= carry;
+                }
+
+                // Bitwise (s3 s2 s1 s0) >= (k3 k2 k1 k0), most significant bit first
+                long greater = s3 & ~k3;
+                long equal = ~(s3 ^ k3);
+                greater |= equal & s2 & ~k2;
+                equal &= ~(s2 ^ k2);
+                greater |= equal & s1 & ~k1;
+                equal &= ~(s1 ^ k1);
+                greater |= equal & s0 & ~k0;
+                equal &= ~(s0 ^ k0);
+                long matches = greater | equal;
+
+                while (matches != 0) {
+                    int ordinal = base + (w << 6) + Long.numberOfTrailingZeros(matches);
+                    matches &= matches - 1;
+                    if (ordinal == excludeOrdinal) {
+                        continue;
+                    }
+                    if (resultSize == result.length) {
+                        result = Arrays.copyOf(result, resultSize * 2);
+                    }
+                    result[resultSize++] = ordinal;
+                }
+            }
+        }
+
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    /**
+     * Collects the sorted union of chunk keys across bitmaps.
+     */
+    private static int[] unionChunkKeys(List<CompressedBitmap> bitmaps) {
+        int total = 0;
+        for (CompressedBitmap bitmap : bitmaps) {
+            total += bitmap.chunkCount();
+        }
+
+        int[] keys = new int[total];
+        int position = 0;
+        for (CompressedBitmap bitmap : bitmaps) {
+            for (int i = 0; i < bitmap.chunkCount(); i++) {
+                keys[position++] = bitmap.chunkKey(i);
+            }
+        }
+        Arrays.sort(keys);
+
+        int distinct = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    /**
+     * Parses a user ID string into an ordinal.
+     *
+     * @param userID User ID string
+     * @return Ordinal, or -1 if missing or not numeric
+     */
+    private static int parseOrdinal(String userID) {
+        if (userID == null || userID.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(userID.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
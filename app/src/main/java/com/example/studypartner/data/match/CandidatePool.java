@@ -0,0 +1,88 @@
+package com.example.studypartner.data.match;
+
+import java.util.Arrays;
+
+/**
+ * CandidatePool
+ *
+ * Columnar, primitive-array store of candidate match profiles.
+ * About 17 bytes per candidate, with no per-candidate objects, so large pools
+ * can be scanned in parallel without pointer chasing or GC pressure.
+ *
+ * Not thread-safe for writes; concurrent reads after loading are safe.
+ */
+public final class CandidatePool {
+
+    private long[] ids;
+    private int[] topicMasks;
+    private int[] studyTimeMasks;
+    private byte[] difficultyLevels;
+    private int size;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param initialCapacity Expected number of candidates
+     */
+    public CandidatePool(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        this.ids = new long[capacity];
+        this.topicMasks = new int[capacity];
+        this.studyTimeMasks = new int[capacity];
+        this.difficultyLevels = new byte[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Appends a candidate.
+     *
+     * @param id Candidate's user ID
+     * @param topicMask Topic bitmask
+     * @param studyTimeMask Study time bitmask
+     * @param difficultyLevel Difficulty level, or -1 if unset
+     */
+    public void add(long id, int topicMask, int studyTimeMask, int difficultyLevel) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            topicMasks = Arrays.copyOf(topicMasks, capacity);
+            studyTimeMasks = Arrays.copyOf(studyTimeMasks, capacity);
+            difficultyLevels = Arrays.copyOf(difficultyLevels, capacity);
+        }
+        ids[size] = id;
+        topicMasks[size] = topicMask;
+        studyTimeMasks[size] = studyTimeMask;
+        difficultyLevels[size] = (byte) difficultyLevel;
+        size++;
+    }
+
+    /**
+     * Gets the number of candidates.
+     *
+     * @return Candidate count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Scores candidates [from, to) and offers them to a heap.
+     *
+     * @param scorer Scorer to use
+     * @param self Current user's profile
+     * @param from First index, inclusive
+     * @param to Last index, exclusive
+     * @param heap Heap receiving (id, score) pairs
+     */
+    void scoreRange(MatchScorer scorer, MatchProfile self, int from, int to, TopKHeap heap) {
+        int selfTopics = self.getTopicMask();
+        int selfTimes = self.getStudyTimeMask();
+        int selfDifficulty = self.getDifficultyLevel();
+
+        for (int i = from; i < to; i++) {
+            double score = scorer.score(selfTopics, selfTimes, selfDifficulty,
+                    topicMasks[i], studyTimeMasks[i], difficultyLevels[i]);
+            heap.offer(ids[i], score);
+        }
+    }
+}
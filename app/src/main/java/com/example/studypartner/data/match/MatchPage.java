@@ -0,0 +1,96 @@
+package com.example.studypartner.data.match;
+
+import java.util.List;
+
+/**
+ * MatchPage
+ *
+ * One page of match results in (score DESC, ID ASC) order, plus the keyset
+ * position to continue from. Pages are requested with the key of the last
+ * row seen rather than an offset, so a page costs the same wherever it is.
+ *
+ */
+public final class MatchPage {
+
+    private final List<MatchResult> results;
+    private final PageKey nextKey;
+
+    /**
+     * Creates a page.
+     *
+     * @param results Results on this page, best first
+     * @param nextKey Key to request the following page with, or null if this is the last page
+     */
+    public MatchPage(List<MatchResult> results, PageKey nextKey) {
+        this.results = results;
+        this.nextKey = nextKey;
+    }
+
+    /**
+     * Gets the results on this page.
+     *
+     * @return Results sorted by descending score, then ascending user ID
+     */
+    public List<MatchResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Gets the key of the following page.
+     *
+     * @return Next page key, or null if there are no more results
+     */
+    public PageKey getNextKey() {
+        return nextKey;
+    }
+
+    /**
+     * Checks whether more results follow this page.
+     *
+     * @return true if {@link #getNextKey()} is not null
+     */
+    public boolean hasMore() {
+        return nextKey != null;
+    }
+
+    /**
+     * PageKey
+     *
+     * Position of the last row of a page: rows strictly after it have a lower
+     * score, or the same score and a higher user ID.
+     */
+    public static final class PageKey {
+
+        private final double score;
+        private final long userId;
+
+        /**
+         * Creates a key.
+         *
+         * @param score Score of the last row seen
+         * @param userId User ID of the last row seen
+         */
+        public PageKey(double score, long userId) {
+            this.score = score;
+            this.userId = userId;
+        }
+
+        /**
+         * Gets the score of the last row seen.
+         *
+         * @return Score
+         */
+        public double getScore() {
+            return score;
+        }
+
+        /**
+         * Gets the user ID of the last row seen.
+         *
+         * @return User ID
+         */
+        public long getUserId() {
+            return userId;
+        }
+    }
+}
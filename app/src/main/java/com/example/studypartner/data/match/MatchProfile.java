@@ -0,0 +1,71 @@
+package com.example.studypartner.data.match;
+
+import com.example.studypartner.data.model.StudyPreferences;
+import com.example.studypartner.data.model.User;
+
+/**
+ * MatchProfile
+ *
+ * Pre-decoded, primitive view of a user's matching preferences.
+ * Built once per user so scoring never re-parses comma-separated strings.
+ *
+ */
+public final class MatchProfile {
+
+    private final int topicMask;
+    private final int studyTimeMask;
+    private final int difficultyLevel;
+
+    /**
+     * Creates a profile from already-encoded preferences.
+     *
+     * @param topicMask Topic bitmask (see {@link StudyPreferences#TOPICS})
+     * @param studyTimeMask Study time bitmask (see {@link StudyPreferences#STUDY_TIMES})
+     * @param difficultyLevel Difficulty level, or {@link StudyPreferences#NO_DIFFICULTY}
+     */
+    public MatchProfile(int topicMask, int studyTimeMask, int difficultyLevel) {
+        this.topicMask = topicMask;
+        this.studyTimeMask = studyTimeMask;
+        this.difficultyLevel = difficultyLevel;
+    }
+
+    /**
+     * Builds a profile from a user's preference bitmasks.
+     *
+     * @param user User to read
+     * @return Match profile for the user
+     */
+    public static MatchProfile fromUser(User user) {
+        return new MatchProfile(
+                user.getTopicMask(),
+                user.getStudyTimeMask(),
+                StudyPreferences.encodeDifficulty(user.getStudyDifficultyLevel()));
+    }
+
+    /**
+     * Gets the topic bitmask.
+     *
+     * @return Topic bitmask
+     */
+    public int getTopicMask() {
+        return topicMask;
+    }
+
+    /**
+     * Gets the study time bitmask.
+     *
+     * @return Study time bitmask
+     */
+    public int getStudyTimeMask() {
+        return studyTimeMask;
+    }
+
+    /**
+     * Gets the difficulty level.
+     *
+     * @return Difficulty level, or {@link StudyPreferences#NO_DIFFICULTY}
+     */
+    public int getDifficultyLevel() {
+        return difficultyLevel;
+    }
+}
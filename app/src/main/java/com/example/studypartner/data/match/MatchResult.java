@@ -0,0 +1,44 @@
+package com.example.studypartner.data.match;
+
+import com.example.studypartner.data.model.User;
+
+/**
+ * MatchResult
+ *
+ * A candidate user paired with its match score against the current user.
+ *
+ */
+public final class MatchResult {
+
+    private final User user;
+    private final double score;
+
+    /**
+     * Creates a scored match.
+     *
+     * @param user Candidate user
+     * @param score Match score, 0 to 1
+     */
+    public MatchResult(User user, double score) {
+        this.user = user;
+        this.score = score;
+    }
+
+    /**
+     * Gets the candidate user.
+     *
+     * @return Candidate user
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Gets the match score.
+     *
+     * @return Score between 0 and 1, higher is better
+     */
+    public double getScore() {
+        return score;
+    }
+}
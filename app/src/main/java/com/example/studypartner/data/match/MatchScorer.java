@@ -0,0 +1,105 @@
+package com.example.studypartner.data.match;
+
+import com.example.studypartner.data.model.StudyPreferences;
+
+/**
+ * MatchScorer
+ *
+ * Scores candidate study partners against the current user with a weighted score.
+ *
+ * Score Components (each 0 to 1):
+ * - Topics: Jaccard similarity of the topic sets
+ * - Study time: Jaccard similarity of the preferred study time slots
+ * - Difficulty: 1 for the same level, falling linearly to 0 at the opposite end
+ *   (0 when either side has no difficulty set)
+ *
+ * The final score is the weighted sum divided by the total weight, so it stays in [0, 1].
+ * All comparisons run on {@link MatchProfile} bitmasks.
+ */
+public class MatchScorer {
+
+    // Default component weights
+    public static final double DEFAULT_TOPIC_WEIGHT = 0.6;
+    public static final double DEFAULT_STUDY_TIME_WEIGHT = 0.25;
+    public static final double DEFAULT_DIFFICULTY_WEIGHT = 0.15;
+
+    private static final int MAX_DIFFICULTY_DISTANCE = StudyPreferences.DIFFICULTY_LEVELS.length - 1;
+
+    private final double topicWeight;
+    private final double studyTimeWeight;
+    private final double difficultyWeight;
+
+    /**
+     * Creates a scorer with the default weights.
+     */
+    public MatchScorer() {
+        this(DEFAULT_TOPIC_WEIGHT, DEFAULT_STUDY_TIME_WEIGHT, DEFAULT_DIFFICULTY_WEIGHT);
+    }
+
+    /**
+     * Creates a scorer with custom weights. Weights are normalized by their sum.
+     *
+     * @param topicWeight Weight of topic similarity
+     * @param studyTimeWeight Weight of study time overlap
+     * @param difficultyWeight Weight of difficulty closeness
+     * @throws IllegalArgumentException if a weight is negative or all are zero
+     */
+    public MatchScorer(double topicWeight, double studyTimeWeight, double difficultyWeight) {
+        double total = topicWeight + studyTimeWeight + difficultyWeight;
+        if (topicWeight < 0 || studyTimeWeight < 0 || difficultyWeight < 0 || total <= 0) {
+            throw new IllegalArgumentException("Weights must be non-negative and not all zero");
+        }
+        this.topicWeight = topicWeight / total;
+        this.studyTimeWeight = studyTimeWeight / total;
+        this.difficultyWeight = difficultyWeight / total;
+    }
+
+    // ==================== Scoring ====================
+
+    /**
+     * Scores a candidate profile against the current user's profile.
+     *
+     * @param current Current user's profile
+     * @param candidate Candidate's profile
+     * @return Score between 0 and 1
+     */
+    public double score(MatchProfile current, MatchProfile candidate) {
+        return score(current.getTopicMask(), current.getStudyTimeMask(), current.getDifficultyLevel(),
+                candidate.getTopicMask(), candidate.getStudyTimeMask(), candidate.getDifficultyLevel());
+    }
+
+    /**
+     * Scores two sets of encoded preferences without allocating.
+     *
+     * @param topicsA First topic bitmask
+     * @param timesA First study time bitmask
+     * @param difficultyA First difficulty level
+     * @param topicsB Second topic bitmask
+     * @param timesB Second study time bitmask
+     * @param difficultyB Second difficulty level
+     * @return Score between 0 and 1
+     */
+    public double score(int topicsA, int timesA, int difficultyA, int topicsB, int timesB, int difficultyB) {
+        double score = topicWeight * jaccard(topicsA, topicsB)
+                + studyTimeWeight * jaccard(timesA, timesB);
+
+        if (difficultyA >= 0 && difficultyB >= 0) {
+            int distance = Math.abs(difficultyA - difficultyB);
+            score += difficultyWeight * (1.0 - (double) distance / MAX_DIFFICULTY_DISTANCE);
+        }
+
+        return score;
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Jaccard similarity of two bitmasks.
+     *
+     * @return |a AND b| / |a OR b|, or 0 if both are empty
+     */
+    private static double jaccard(int a, int b) {
+        int union = Integer.bitCount(a | b);
+        return union == 0 ? 0.0 : (double) Integer.bitCount(a & b) / union;
+    }
+}
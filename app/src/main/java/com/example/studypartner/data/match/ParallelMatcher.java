@@ -0,0 +1,130 @@
+package com.example.studypartner.data.match;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ParallelMatcher
+ *
+ * Selects the top K candidates of a {@link CandidatePool} either on the calling
+ * thread or across a fork/join pool. In parallel mode the pool is split into
+ * chunks, each chunk keeps its own {@link TopKHeap}, and heaps are merged on
+ * the way back up. Because heaps break score ties by ID, both modes return
+ * identical results.
+ *
+ */
+public class ParallelMatcher {
+
+    /**
+     * Execution mode for a match run.
+     */
+    public enum Mode {
+        SEQUENTIAL,
+        PARALLEL
+    }
+
+    // Candidates per leaf task; below this, forking costs more than it saves
+    private static final int CHUNK_SIZE = 8192;
+
+    // Shared pool sized to the device's cores
+    private static volatile ForkJoinPool sharedPool;
+
+    private final MatchScorer scorer;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a matcher using the shared fork/join pool.
+     *
+     * @param scorer Scorer to rank candidates with
+     */
+    public ParallelMatcher(MatchScorer scorer) {
+        this(scorer, getSharedPool());
+    }
+
+    /**
+     * Creates a matcher using a specific fork/join pool.
+     *
+     * @param scorer Scorer to rank candidates with
+     * @param pool Pool to run parallel tasks on
+     */
+    public ParallelMatcher(MatchScorer scorer, ForkJoinPool pool) {
+        this.scorer = scorer;
+        this.pool = pool;
+    }
+
+    /**
+     * Finds the best K candidates for a user.
+     *
+     * @param self Current user's profile
+     * @param candidates Candidates to score
+     * @param k Number of results to keep
+     * @param mode Sequential or parallel execution
+     * @return Heap of the best K (id, score) pairs
+     */
+    public TopKHeap findTopK(MatchProfile self, CandidatePool candidates, int k, Mode mode) {
+        if (mode == Mode.SEQUENTIAL || candidates.size() <= CHUNK_SIZE) {
+            TopKHeap heap = new TopKHeap(k);
+            candidates.scoreRange(scorer, self, 0, candidates.size(), heap);
+            return heap;
+        }
+        return pool.invoke(new ScoreTask(self, candidates, 0, candidates.size(), k));
+    }
+
+    /**
+     * Gets the process-wide fork/join pool, creating it on first use.
+     *
+     * @return Pool with one worker per available core
+     */
+    private static ForkJoinPool getSharedPool() {
+        ForkJoinPool pool = sharedPool;
+        if (pool == null) {
+            synchronized (ParallelMatcher.class) {
+                pool = sharedPool;
+                if (pool == null) {
+                    pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+                    sharedPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Fork/join task scoring a range of the candidate pool.
+     */
+    private class ScoreTask extends RecursiveTask<TopKHeap> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final MatchProfile self;
+        private final CandidatePool candidates;
+        private final int from;
+        private final int to;
+        private final int k;
+
+        ScoreTask(MatchProfile self, CandidatePool candidates, int from, int to, int k) {
+            this.self = self;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+        }
+
+        @Override
+        protected TopKHeap compute() {
+            if (to - from <= CHUNK_SIZE) {
+                TopKHeap heap = new TopKHeap(k);
+                candidates.scoreRange(scorer, self, from, to, heap);
+                return heap;
+            }
+
+            int middle = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(self, candidates, from, middle, k);
+            ScoreTask right = new ScoreTask(self, candidates, middle, to, k);
+            left.fork();
+            TopKHeap heap = right.compute();
+            heap.merge(left.join());
+            return heap;
+        }
+    }
+}
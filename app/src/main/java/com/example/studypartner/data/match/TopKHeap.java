@@ -0,0 +1,215 @@
+package com.example.studypartner.data.match;
+
+/**
+ * TopKHeap
+ *
+ * Fixed-capacity min-heap keeping the K best (score, id) pairs seen so far.
+ * Backed by primitive arrays, so offering a candidate never allocates.
+ *
+ * Ordering:
+ * - Higher score is better
+ * - On equal scores the lower id is better, which keeps results deterministic
+ *   and consistent with (score DESC, ID ASC) keyset paging
+ *
+ * Not thread-safe; parallel callers keep one heap per worker and {@link #merge(TopKHeap)}.
+ */
+public final class TopKHeap {
+
+    private final int capacity;
+    private final long[] ids;
+    private final double[] scores;
+    private int size;
+
+    /**
+     * Creates an empty heap.
+     *
+     * @param capacity Maximum number of entries kept (K)
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public TopKHeap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.ids = new long[capacity];
+        this.scores = new double[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Offers a candidate.
+     *
+     * @param id Candidate ID
+     * @param score Candidate score
+     * @return true if the candidate is currently among the best K
+     */
+    public boolean offer(long id, double score) {
+        if (size < capacity) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+            return true;
+        }
+
+        // Root holds the worst kept entry
+        if (!isBetter(score, id, scores[0], ids[0])) {
+            return false;
+        }
+        ids[0] = id;
+        scores[0] = score;
+        siftDown(0);
+        return true;
+    }
+
+    /**
+     * Checks whether a candidate would be kept, without inserting it.
+     *
+     * @param id Candidate ID
+     * @param score Candidate score
+     * @return true if {@link #offer(long, double)} would accept it
+     */
+    public boolean wouldAccept(long id, double score) {
+        return size < capacity || isBetter(score, id, scores[0], ids[0]);
+    }
+
+    /**
+     * Offers every entry of another heap to this one.
+     *
+     * @param other Heap to merge in
+     */
+    public void merge(TopKHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ids[i], other.scores[i]);
+        }
+    }
+
+    /**
+     * Gets the number of entries kept.
+     *
+     * @return Entry count, at most the capacity
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sorts the kept entries, best first. The heap is not modified.
+     *
+     * @return IDs and scores sorted by descending score, then ascending id
+     */
+    public Sorted sorted() {
+        long[] sortedIds = new long[size];
+        double[] sortedScores = new double[size];
+        sortInto(sortedIds, sortedScores);
+        return new Sorted(sortedIds, sortedScores);
+    }
+
+    /**
+     * Sorted copy of a heap's entries, as aligned ID and score arrays.
+     */
+    public static final class Sorted {
+
+        private final long[] ids;
+        private final double[] scores;
+
+        private Sorted(long[] ids, double[] scores) {
+            this.ids = ids;
+            this.scores = scores;
+        }
+
+        /**
+         * Gets the IDs, best first.
+         *
+         * @return IDs sorted by descending score, then ascending id
+         */
+        public long[] getIds() {
+            return ids;
+        }
+
+        /**
+         * Gets the scores, aligned with {@link #getIds()}.
+         *
+         * @return Scores sorted descending
+         */
+        public double[] getScores() {
+            return scores;
+        }
+
+        /**
+         * Gets the number of entries.
+         *
+         * @return Entry count
+         */
+        public int size() {
+            return ids.length;
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Heap-sorts a copy of the entries into the given arrays, best first.
+     */
+    private void sortInto(long[] outIds, double[] outScores) {
+        TopKHeap copy = new TopKHeap(capacity);
+        System.arraycopy(ids, 0, copy.ids, 0, size);
+        System.arraycopy(scores, 0, copy.scores, 0, size);
+        copy.size = size;
+
+        // Repeatedly pop the worst entry into the tail
+        for (int i = size - 1; i >= 0; i--) {
+            outIds[i] = copy.ids[0];
+            outScores[i] = copy.scores[0];
+            copy.size--;
+            copy.ids[0] = copy.ids[copy.size];
+            copy.scores[0] = copy.scores[copy.size];
+            copy.siftDown(0);
+        }
+    }
+
+    /**
+     * Whether (scoreA, idA) ranks above (scoreB, idB).
+     */
+    private static boolean isBetter(double scoreA, long idA, double scoreB, long idB) {
+        return scoreA > scoreB || (scoreA == scoreB && idA < idB);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isBetter(scores[parent], ids[parent], scores[index], ids[index])) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && isBetter(scores[worst], ids[worst], scores[right], ids[right])) {
+                worst = right;
+            }
+            if (!isBetter(scores[index], ids[index], scores[worst], ids[worst])) {
+                return;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
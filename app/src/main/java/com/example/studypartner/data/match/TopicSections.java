@@ -0,0 +1,100 @@
+package com.example.studypartner.data.match;
+
+import com.example.studypartner.data.model.StudyPreferences;
+import com.example.studypartner.data.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TopicSections
+ *
+ * Groups matched users into one section per topic they share with the current
+ * user, for the sectioned match lists.
+ *
+ * Features:
+ * - Single pass over the users: each user is dropped into the bucket of every
+ *   shared topic bit, found with one AND of the topic bitmasks
+ * - Sections follow {@link StudyPreferences#TOPICS} catalog order, so the
+ *   layout is the same on every load
+ * - Users keep their relative order within each section
+ * - Later pages merge into earlier sections without breaking catalog order
+ */
+public final class TopicSections {
+
+    private TopicSections() {
+        // Utility class
+    }
+
+    /**
+     * Sections users by the topics they share with the current user.
+     *
+     * @param currentUserTopicMask Current user's topic bitmask
+     * @param users Matched users, in display order
+     * @return Ordered map of topic name to the users interested in it; empty topics are omitted
+     */
+    public static Map<String, List<User>> byTopic(int currentUserTopicMask, List<User> users) {
+        Map<String, List<User>> sections = new LinkedHashMap<>();
+        if (users == null || users.isEmpty() || currentUserTopicMask == 0) {
+            return sections;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<User>[] buckets = new List[StudyPreferences.TOPICS.length];
+        for (User user : users) {
+            int shared = user.getTopicMask() & currentUserTopicMask;
+            while (shared != 0) {
+                int topicId = Integer.numberOfTrailingZeros(shared);
+                shared &= shared - 1;
+                if (buckets[topicId] == null) {
+                    buckets[topicId] = new ArrayList<>();
+                }
+                buckets[topicId].add(user);
+            }
+        }
+
+        for (int topicId = 0; topicId < buckets.length; topicId++) {
+            if (buckets[topicId] != null) {
+                sections.put(StudyPreferences.TOPICS[topicId], buckets[topicId]);
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * Merges the sections of a later page into existing sections. Users are
+     * appended to their section, and sections keep {@link StudyPreferences#TOPICS}
+     * catalog order wherever a new one appears; sections outside the catalog
+     * follow, in the order first seen. Neither argument is modified.
+     *
+     * @param sections Sections loaded so far, in catalog order
+     * @param page Sections of the next page
+     * @return New ordered map holding the merged sections
+     */
+    public static Map<String, List<User>> merge(Map<String, List<User>> sections, Map<String, List<User>> page) {
+        Map<String, List<User>> combined = new LinkedHashMap<>();
+        for (Map<String, List<User>> source : Arrays.asList(sections, page)) {
+            for (Map.Entry<String, List<User>> entry : source.entrySet()) {
+                List<User> users = combined.get(entry.getKey());
+                if (users == null) {
+                    users = new ArrayList<>();
+                    combined.put(entry.getKey(), users);
+                }
+                users.addAll(entry.getValue());
+            }
+        }
+
+        Map<String, List<User>> merged = new LinkedHashMap<>();
+        for (String topic : StudyPreferences.TOPICS) {
+            List<User> users = combined.remove(topic);
+            if (users != null) {
+                merged.put(topic, users);
+            }
+        }
+        merged.putAll(combined);
+        return merged;
+    }
+}
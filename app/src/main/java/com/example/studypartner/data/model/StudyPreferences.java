@@ -0,0 +1,222 @@
+package com.example.studypartner.data.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * StudyPreferences
+ *
+ * Catalog of the fixed study preference values offered during profile setup,
+ * and codecs between their display strings and compact integer forms.
+ *
+ * Values:
+ * - Topics: the ten subjects in TopicPreferenceActivity, one bit each
+ * - Study times: the six Weekday/Weekend x Morning/Afternoon/Evening slots, one bit each
+ * - Difficulty: Easy, Medium, Hard as levels 0 to 2
+ *
+ * Strings not in the catalog encode to no bit (or level -1).
+ */
+public final class StudyPreferences {
+
+    // Topics, in the order shown on the topic selection screen
+    public static final String[] TOPICS = {
+            "Computer Science", "Biology", "Chemistry", "Mathematics", "Engineering",
+            "Physics", "English", "French", "History", "Philosophy"
+    };
+
+    // Study time slots, in the order shown on the study time screen
+    public static final String[] STUDY_TIMES = {
+            "Weekday Morning", "Weekday Afternoon", "Weekday Evening",
+            "Weekend Morning", "Weekend Afternoon", "Weekend Evening"
+    };
+
+    // Difficulty levels, easiest first
+    public static final String[] DIFFICULTY_LEVELS = {"Easy", "Medium", "Hard"};
+
+    // Unknown or unset difficulty
+    public static final int NO_DIFFICULTY = -1;
+
+    private StudyPreferences() {
+        // Utility class
+    }
+
+    // ==================== Encoding ====================
+
+    /**
+     * Encodes topic names as a bitmask, bit i set for {@link #TOPICS}[i].
+     *
+     * @param topics Topic names
+     * @return Topic bitmask
+     */
+    public static int encodeTopics(Collection<String> topics) {
+        return encode(topics, TOPICS);
+    }
+
+    /**
+     * Encodes study time slots as a bitmask, bit i set for {@link #STUDY_TIMES}[i].
+     *
+     * @param studyTimes Study time slot names
+     * @return Study time bitmask
+     */
+    public static int encodeStudyTimes(Collection<String> studyTimes) {
+        return encode(studyTimes, STUDY_TIMES);
+    }
+
+    /**
+     * Encodes a comma-separated topic string as a bitmask without splitting it.
+     *
+     * @param topicsCsv Comma-separated topic names, may be null
+     * @return Topic bitmask
+     */
+    public static int encodeTopics(String topicsCsv) {
+        return encodeCsv(topicsCsv, TOPICS);
+    }
+
+    /**
+     * Encodes a comma-separated study time string as a bitmask without splitting it.
+     *
+     * @param studyTimesCsv Comma-separated study time slots, may be null
+     * @return Study time bitmask
+     */
+    public static int encodeStudyTimes(String studyTimesCsv) {
+        return encodeCsv(studyTimesCsv, STUDY_TIMES);
+    }
+
+    /**
+     * Encodes a difficulty name as its level.
+     *
+     * @param difficulty Difficulty name
+     * @return Level 0 to 2, or {@link #NO_DIFFICULTY} if unknown
+     */
+    public static int encodeDifficulty(String difficulty) {
+        return indexOf(DIFFICULTY_LEVELS, difficulty);
+    }
+
+    /**
+     * Gets the ordinal of a topic name.
+     *
+     * @param topic Topic name
+     * @return Index into {@link #TOPICS}, or -1 if unknown
+     */
+    public static int topicOrdinal(String topic) {
+        return indexOf(TOPICS, topic);
+    }
+
+    /**
+     * Counts the topic names that {@link #encodeTopics(Collection)} would discard:
+     * non-blank names outside {@link #TOPICS}.
+     *
+     * @param topics Topic names, may be null
+     * @return Number of unknown topic names
+     */
+    public static int countUnknownTopics(Collection<String> topics) {
+        int unknown = 0;
+        if (topics == null) {
+            return unknown;
+        }
+        for (String topic : topics) {
+            if (topic != null && !topic.trim().isEmpty() && indexOf(TOPICS, topic) < 0) {
+                unknown++;
+            }
+        }
+        return unknown;
+    }
+
+    // ==================== Decoding ====================
+
+    /**
+     * Decodes a topic bitmask into topic names, in catalog order.
+     *
+     * @param mask Topic bitmask
+     * @return ArrayList of topic names
+     */
+    public static ArrayList<String> decodeTopics(int mask) {
+        return decode(mask, TOPICS);
+    }
+
+    /**
+     * Decodes a study time bitmask into slot names, in catalog order.
+     *
+     * @param mask Study time bitmask
+     * @return ArrayList of study time slot names
+     */
+    public static ArrayList<String> decodeStudyTimes(int mask) {
+        return decode(mask, STUDY_TIMES);
+    }
+
+    // ==================== Helper Methods ====================
+
+    private static int encode(Collection<String> values, String[] catalog) {
+        int mask = 0;
+        if (values == null) {
+            return mask;
+        }
+        for (String value : values) {
+            int index = indexOf(catalog, value);
+            if (index >= 0) {
+                mask |= 1 << index;
+            }
+        }
+        return mask;
+    }
+
+    private static int encodeCsv(String csv, String[] catalog) {
+        int mask = 0;
+        if (csv == null) {
+            return mask;
+        }
+
+        int length = csv.length();
+        int start = 0;
+        while (start < length) {
+            int end = csv.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+
+            // Trim the token in place
+            int tokenStart = start;
+            int tokenEnd = end;
+            while (tokenStart < tokenEnd && Character.isWhitespace(csv.charAt(tokenStart))) {
+                tokenStart++;
+            }
+            while (tokenEnd > tokenStart && Character.isWhitespace(csv.charAt(tokenEnd - 1))) {
+                tokenEnd--;
+            }
+
+            int tokenLength = tokenEnd - tokenStart;
+            for (int i = 0; i < catalog.length; i++) {
+                if (catalog[i].length() == tokenLength
+                        && csv.regionMatches(true, tokenStart, catalog[i], 0, tokenLength)) {
+                    mask |= 1 << i;
+                    break;
+                }
+            }
+            start = end + 1;
+        }
+        return mask;
+    }
+
+    private static ArrayList<String> decode(int mask, String[] catalog) {
+        ArrayList<String> values = new ArrayList<>(Integer.bitCount(mask));
+        for (int i = 0; i < catalog.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                values.add(catalog[i]);
+            }
+        }
+        return values;
+    }
+
+    private static int indexOf(String[] catalog, String value) {
+        if (value == null) {
+            return -1;
+        }
+        String trimmed = value.trim();
+        for (int i = 0; i < catalog.length; i++) {
+            if (catalog[i].equalsIgnoreCase(trimmed)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.studypartner.data.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -10,6 +11,10 @@ import java.util.List;
  * This class encapsulates all user-related information including personal details,
  * study preferences, and social media links.
  *
+ * Topics and study times are held as {@link StudyPreferences} bitmasks, so
+ * overlap checks are a single AND and lists are only built when read.
+ * Values outside the catalog are discarded when set.
+ *
  */
 public class User {
     // Personal Information
@@ -22,9 +27,10 @@ public class User {
     private String gender;
     private String occupation;
 
-    // Study Preferences
-    private ArrayList<String> preferredStudyTime;
-    private ArrayList<String> topicInterested;
+    // Study Preferences, as StudyPreferences bitmasks
+    private int studyTimeMask;
+    private int topicMask;
+    private int discardedTopicCount;
     private String studyDifficultyLevel;
 
     // Social Media Links
@@ -35,6 +41,9 @@ public class User {
     // Study Partner Connections
     private List<String> connections;
 
+    // Matching
+    private int sharedTopicCount;
+
     /**
      * Primary constructor for creating a new user with essential information.
      *
@@ -57,8 +66,9 @@ public class User {
         this.lastName = lastName;
         this.age = age;
         this.gender = gender;
-        this.preferredStudyTime = preferredStudyTime != null ? preferredStudyTime : new ArrayList<>();
-        this.topicInterested = topicInterested != null ? topicInterested : new ArrayList<>();
+        this.studyTimeMask = StudyPreferences.encodeStudyTimes(preferredStudyTime);
+        this.topicMask = StudyPreferences.encodeTopics(topicInterested);
+        this.discardedTopicCount = StudyPreferences.countUnknownTopics(topicInterested);
         this.studyDifficultyLevel = studyDifficultyLevel != null ? studyDifficultyLevel : "";
         this.connections = new ArrayList<>();
         this.linkedIn = "";
@@ -208,7 +218,7 @@ public class User {
      * @return Comma-separated string of study times
      */
     public String getFormattedStudyTime() {
-        return preferredStudyTime != null ? String.join(", ", preferredStudyTime) : "";
+        return String.join(", ", getPreferredStudyTime());
     }
 
     /**
@@ -221,21 +231,61 @@ public class User {
     }
 
     /**
-     * Gets the list of preferred study times.
+     * Gets the list of preferred study times, decoded from the bitmask on each call.
+     * The list is a read-only copy; change the slots with {@link #setPreferredStudyTime}.
+     *
+     * @return Unmodifiable list of study time slots, in catalog order
+     */
+    public List<String> getPreferredStudyTime() {
+        return Collections.unmodifiableList(StudyPreferences.decodeStudyTimes(studyTimeMask));
+    }
+
+    /**
+     * Gets the list of topics the user is interested in, decoded from the bitmask on each call.
+     * The list is a read-only copy; change the topics with {@link #setTopicInterested}.
      *
-     * @return ArrayList of study time slots
+     * @return Unmodifiable list of academic topics, in catalog order
      */
-    public ArrayList<String> getPreferredStudyTime() {
-        return preferredStudyTime;
+    public List<String> getTopicInterested() {
+        return Collections.unmodifiableList(StudyPreferences.decodeTopics(topicMask));
     }
 
     /**
-     * Gets the list of topics the user is interested in.
+     * Gets the user's preferred study times as a bitmask.
      *
-     * @return ArrayList of academic topics
+     * @return Study time bitmask (see {@link StudyPreferences#STUDY_TIMES})
      */
-    public ArrayList<String> getTopicInterested() {
-        return topicInterested;
+    public int getStudyTimeMask() {
+        return studyTimeMask;
+    }
+
+    /**
+     * Gets the user's topics as a bitmask.
+     *
+     * @return Topic bitmask (see {@link StudyPreferences#TOPICS})
+     */
+    public int getTopicMask() {
+        return topicMask;
+    }
+
+    /**
+     * Counts the topics this user shares with another user.
+     *
+     * @param other User to compare with
+     * @return Number of topics both users are interested in
+     */
+    public int countSharedTopics(User other) {
+        return Integer.bitCount(topicMask & other.topicMask);
+    }
+
+    /**
+     * Counts the study time slots this user shares with another user.
+     *
+     * @param other User to compare with
+     * @return Number of study time slots both users prefer
+     */
+    public int countSharedStudyTimes(User other) {
+        return Integer.bitCount(studyTimeMask & other.studyTimeMask);
     }
 
     /**
@@ -247,6 +297,26 @@ public class User {
         return connections;
     }
 
+    /**
+     * Gets the number of topic names discarded when the topics were last set
+     * from names, because they are not in {@link StudyPreferences#TOPICS}.
+     *
+     * @return Number of discarded topic names, or 0 if the topics were set from a bitmask
+     */
+    public int getDiscardedTopicCount() {
+        return discardedTopicCount;
+    }
+
+    /**
+     * Gets the number of topics this user shares with the user they were matched against.
+     * Only populated for users returned by a topic match query.
+     *
+     * @return Number of shared topics, or 0 if not a match result
+     */
+    public int getSharedTopicCount() {
+        return sharedTopicCount;
+    }
+
     /**
      * Gets the user's LinkedIn profile URL.
      *
@@ -286,21 +356,43 @@ public class User {
     }
 
     /**
-     * Sets the user's preferred study time slots.
+     * Sets the user's preferred study time slots. Slots not in
+     * {@link StudyPreferences#STUDY_TIMES} are discarded.
      *
      * @param time ArrayList of study time preferences
      */
     public void setPreferredStudyTime(ArrayList<String> time) {
-        this.preferredStudyTime = time != null ? time : new ArrayList<>();
+        this.studyTimeMask = StudyPreferences.encodeStudyTimes(time);
     }
 
     /**
-     * Sets the user's interested topics.
+     * Sets the user's interested topics. Topics not in
+     * {@link StudyPreferences#TOPICS} are discarded.
      *
      * @param updateTopic ArrayList of academic topics
      */
     public void setTopicInterested(ArrayList<String> updateTopic) {
-        this.topicInterested = updateTopic != null ? updateTopic : new ArrayList<>();
+        this.topicMask = StudyPreferences.encodeTopics(updateTopic);
+        this.discardedTopicCount = StudyPreferences.countUnknownTopics(updateTopic);
+    }
+
+    /**
+     * Sets the user's preferred study time slots from a bitmask.
+     *
+     * @param studyTimeMask Study time bitmask
+     */
+    public void setStudyTimeMask(int studyTimeMask) {
+        this.studyTimeMask = studyTimeMask;
+    }
+
+    /**
+     * Sets the user's interested topics from a bitmask.
+     *
+     * @param topicMask Topic bitmask
+     */
+    public void setTopicMask(int topicMask) {
+        this.topicMask = topicMask;
+        this.discardedTopicCount = 0;
     }
 
     /**
@@ -312,6 +404,24 @@ public class User {
         this.occupation = occupation != null ? occupation : "";
     }
 
+    /**
+     * Sets the user's unique identifier.
+     *
+     * @param userID The unique user identifier
+     */
+    public void setUserID(String userID) {
+        this.userID = userID;
+    }
+
+    /**
+     * Sets the number of topics shared with the matched-against user.
+     *
+     * @param sharedTopicCount Number of shared topics
+     */
+    public void setSharedTopicCount(int sharedTopicCount) {
+        this.sharedTopicCount = sharedTopicCount;
+    }
+
     // ==================== Connection Management ====================
 
     /**
@@ -27,9 +27,13 @@ import com.example.studypartner.activities.EditPersonalInformation;
 import com.example.studypartner.activities.EditPreferredTime;
 import com.example.studypartner.activities.LoginActivity;
 import com.example.studypartner.activities.ResetPassword;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
+import com.example.studypartner.data.database.InvalidationTracker;
 import com.example.studypartner.data.model.User;
 
+import java.util.ArrayList;
+
 /**
  * AccountFragment
  *
@@ -48,6 +52,8 @@ import com.example.studypartner.data.model.User;
  *   - Social Media Links
  *   - Login Password
  * - Logout functionality that clears session and returns to login
+ * - Profile loaded in one background call; edit screens open once it arrives
+ * - Refreshes itself whenever the users table changes, e.g. after an edit screen saves
  */
 public class AccountFragment extends Fragment {
 
@@ -95,13 +101,28 @@ public class AccountFragment extends Fragment {
     private ImageButton editSocial;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
     private SharedPreferences sharedPreferences;
 
     // Data
     private String userEmail;
     private User currentUser;
 
+    /**
+     * Everything the account page reads from the database, loaded together.
+     */
+    private static final class ProfileData {
+        final User user;
+        final String topics;
+        final String password;
+
+        ProfileData(User user, String topics, String password) {
+            this.user = user;
+            this.topics = topics;
+            this.password = password;
+        }
+    }
+
     /**
      * Creates and initializes the account fragment view.
      *
@@ -119,14 +140,22 @@ public class AccountFragment extends Fragment {
         View view = inflater.inflate(R.layout.activity_account, container, false);
 
         initializeComponents(view);
-        loadUserData();
-        populateProfileInformation();
         setupPasswordVisibilityToggle();
         setupClickListeners();
+        loadUserData();
 
         return view;
     }
 
+    /**
+     * Cancels pending database calls so no result is delivered to a destroyed view.
+     */
+    @Override
+    public void onDestroyView() {
+        databaseScope.cancel();
+        super.onDestroyView();
+    }
+
     /**
      * Initializes all components including views and database helper.
      *
@@ -169,10 +198,10 @@ public class AccountFragment extends Fragment {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope for this view.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(requireContext());
+        databaseScope = DatabaseManager.getInstance(requireContext()).newScope();
     }
 
     /**
@@ -184,23 +213,42 @@ public class AccountFragment extends Fragment {
     }
 
     /**
-     * Loads user data from database.
+     * Loads user data from database in the background, then populates the page,
+     * again after every change to the users table.
      */
     private void loadUserData() {
-        currentUser = databaseHelper.getUserDetailsForMyProfilePage(userEmail);
+        String email = userEmail;
+        databaseScope.observe((users, connections) -> new ProfileData(
+                users.getUserDetailsForMyProfilePage(email),
+                users.getUserTopicString(email),
+                users.getPassword(email)), this::onUserDataLoaded, InvalidationTracker.USERS);
+    }
+
+    /**
+     * Receives the loaded profile, populates the page and enables the edit buttons.
+     *
+     * @param data Profile data read from the database
+     */
+    private void onUserDataLoaded(ProfileData data) {
+        currentUser = data.user;
         Log.d(TAG, "Loaded profile data for user: " + userEmail);
+
+        populateProfileInformation(data);
+        setupEditClickListeners();
     }
 
     /**
      * Populates all profile information fields with user data.
+     *
+     * @param data Profile data read from the database
      */
-    private void populateProfileInformation() {
+    private void populateProfileInformation(ProfileData data) {
         userEmailTextView.setText(userEmail);
 
         populatePersonalInfo();
-        populateStudyPreferences();
+        populateStudyPreferences(data.topics);
         populateSocialLinks();
-        populatePassword();
+        populatePassword(data.password);
     }
 
     /**
@@ -217,9 +265,11 @@ public class AccountFragment extends Fragment {
 
     /**
      * Populates study preferences fields.
+     *
+     * @param topics The user's topics as stored
      */
-    private void populateStudyPreferences() {
-        myTopics.setText(databaseHelper.getUserTopicString(userEmail));
+    private void populateStudyPreferences(String topics) {
+        myTopics.setText(topics);
         myTime.setText(currentUser.getFormattedStudyTime());
         myDifficultyLevel.setText(currentUser.getStudyDifficultyLevel());
     }
@@ -235,9 +285,10 @@ public class AccountFragment extends Fragment {
 
     /**
      * Populates password field with masked password.
+     *
+     * @param password The user's password
      */
-    private void populatePassword() {
-        String password = databaseHelper.getPassword(userEmail);
+    private void populatePassword(String password) {
         passwordEditText.setText(password);
         passwordEditText.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_PASSWORD);
     }
@@ -257,16 +308,22 @@ public class AccountFragment extends Fragment {
     }
 
     /**
-     * Sets up click listeners for all interactive elements.
+     * Sets up click listeners that do not need the loaded profile.
      */
     private void setupClickListeners() {
+        logoutButton.setOnClickListener(v -> handleLogout());
+    }
+
+    /**
+     * Sets up click listeners for the edit buttons, which pass the loaded profile on.
+     */
+    private void setupEditClickListeners() {
         editMyTopics.setOnClickListener(v -> navigateToEditTopics());
         editDifficultyPreference.setOnClickListener(v -> navigateToEditDifficulty());
         editTimePreference.setOnClickListener(v -> navigateToEditTime());
         editPersonalInfo.setOnClickListener(v -> navigateToEditPersonalInfo());
         editLoginInfo.setOnClickListener(v -> navigateToResetPassword());
         editSocial.setOnClickListener(v -> navigateToEditSocialAccounts());
-        logoutButton.setOnClickListener(v -> handleLogout());
     }
 
     /**
@@ -275,7 +332,7 @@ public class AccountFragment extends Fragment {
     private void navigateToEditTopics() {
         Intent intent = new Intent(requireContext(), EditMyTopicPreferences.class);
         intent.putExtra(EXTRA_USER_EMAIL, userEmail);
-        intent.putExtra(EXTRA_TOPICS, currentUser.getTopicInterested());
+        intent.putStringArrayListExtra(EXTRA_TOPICS, new ArrayList<>(currentUser.getTopicInterested()));
         startActivity(intent);
     }
 
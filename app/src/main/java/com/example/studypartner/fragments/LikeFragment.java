@@ -17,12 +17,11 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.studypartner.R;
 import com.example.studypartner.adapter.UserAdapter;
-import com.example.studypartner.data.database.ConnectionsDB;
-import com.example.studypartner.data.database.DatabaseHelper;
-import com.example.studypartner.data.model.Connections;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
+import com.example.studypartner.data.database.InvalidationTracker;
 import com.example.studypartner.data.model.User;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -35,15 +34,15 @@ import java.util.List;
  * Features:
  * - Display list of users who sent connection requests
  * - Click on user to view their detailed profile
- * - Automatically loads data from ConnectionsDB
+ * - Automatically loads data from ConnectionsDB, off the main thread
+ * - Refreshes itself whenever a connection request or a user profile changes
  * - Shows error messages if user not logged in
  * - Empty state if no connection requests received
  *
  * Flow:
  * 1. Retrieves current user email from SharedPreferences
- * 2. Queries ConnectionsDB for connection requests
- * 3. Converts connections to User objects
- * 4. Displays users in RecyclerView
+ * 2. Queries ConnectionsDB for the senders of connection requests, in one joined query
+ * 3. Displays users in RecyclerView
  */
 public class LikeFragment extends Fragment {
 
@@ -57,8 +56,7 @@ public class LikeFragment extends Fragment {
     private RecyclerView recyclerView;
 
     // Business Logic
-    private ConnectionsDB connectionsDB;
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
     private SharedPreferences sharedPreferences;
 
     // Data
@@ -92,6 +90,15 @@ public class LikeFragment extends Fragment {
         return view;
     }
 
+    /**
+     * Cancels pending database calls so no result is delivered to a destroyed view.
+     */
+    @Override
+    public void onDestroyView() {
+        databaseScope.cancel();
+        super.onDestroyView();
+    }
+
     /**
      * Initializes all components including views and database helpers.
      *
@@ -114,11 +121,10 @@ public class LikeFragment extends Fragment {
     }
 
     /**
-     * Initializes database helpers.
+     * Initializes the database scope for this view.
      */
     private void initializeDatabases() {
-        connectionsDB = new ConnectionsDB(requireContext());
-        databaseHelper = new DatabaseHelper(requireContext());
+        databaseScope = DatabaseManager.getInstance(requireContext()).newScope();
     }
 
     /**
@@ -146,46 +152,16 @@ public class LikeFragment extends Fragment {
     }
 
     /**
-     * Loads connection requests and displays them in the RecyclerView.
+     * Loads connection requests in the background and displays them in the RecyclerView,
+     * again after every change to the connections or users tables.
      */
     private void loadAndDisplayConnectionRequests() {
-        List<Connections> connectionRequests = getConnectionRequests();
-        List<User> users = convertConnectionsToUsers(connectionRequests);
-        displayUsers(users);
-
-        Log.d(TAG, "Displayed " + users.size() + " connection requests");
-    }
-
-    /**
-     * Retrieves connection requests for the current user.
-     *
-     * @return List of connection requests
-     */
-    private List<Connections> getConnectionRequests() {
-        return connectionsDB.getConnectionRequests(currentUserEmail);
-    }
-
-    /**
-     * Converts connection requests to User objects.
-     *
-     * @param connections List of connection requests
-     * @return List of User objects
-     */
-    private List<User> convertConnectionsToUsers(List<Connections> connections) {
-        List<User> users = new ArrayList<>();
-
-        for (Connections connection : connections) {
-            String senderEmail = connection.getSenderEmail();
-            User user = databaseHelper.getUserInfoByEmail(senderEmail);
-
-            if (user != null) {
-                users.add(user);
-            } else {
-                Log.w(TAG, "Could not find user with email: " + senderEmail);
-            }
-        }
+        String email = currentUserEmail;
+        databaseScope.observe((users, connections) -> connections.getLikes(email), users -> {
+            displayUsers(users);
 
-        return users;
+            Log.d(TAG, "Displayed " + users.size() + " connection requests");
+        }, InvalidationTracker.CONNECTIONS, InvalidationTracker.USERS);
     }
 
     /**
@@ -16,13 +16,19 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.studypartner.R;
 import com.example.studypartner.adapter.SectionedUserAdapter;
-import com.example.studypartner.data.database.DatabaseHelper;
+import com.example.studypartner.data.database.DatabaseManager;
+import com.example.studypartner.data.database.DatabaseScope;
+import com.example.studypartner.data.database.InvalidationTracker;
+import com.example.studypartner.data.database.UserProjection;
+import com.example.studypartner.data.match.MatchPage;
+import com.example.studypartner.data.match.MatchResult;
+import com.example.studypartner.data.match.TopicSections;
 import com.example.studypartner.data.model.User;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * MatchUserFragment
@@ -38,11 +44,17 @@ import java.util.Map;
  * - Filters out the current user from results
  * - Shows only users with at least one matching topic
  * - Click on user to view their detailed profile
+ * - Loads further pages of matches as the list is scrolled
+ * - All queries run off the main thread and are dropped with the view
+ * - Reloads from the first page when the current user's topics, study times
+ *   or difficulty change; other writes to the users table keep the list
  *
  * Matching Algorithm:
  * 1. Retrieves current user's topic interests
- * 2. Finds all users sharing at least one topic
- * 3. Organizes results by topic (users can appear under multiple topics)
+ * 2. Pages through the user's cached match list, PAGE_SIZE at a time,
+ *    in MatchScorer score order (topics, study time, difficulty)
+ * 3. Organizes results by topic, best match first within each section
+ *    (users can appear under multiple topics)
  * 4. Excludes current user from results
  */
 public class MatchUserFragment extends Fragment {
@@ -53,16 +65,23 @@ public class MatchUserFragment extends Fragment {
     private static final String PREFS_NAME = "UserPrefs";
     private static final String KEY_USER_EMAIL = "userEmail";
 
+    // Number of matches loaded per page
+    private static final int PAGE_SIZE = 30;
+
     // UI Components
     private RecyclerView recyclerView;
+    private SectionedUserAdapter adapter;
 
     // Business Logic
-    private DatabaseHelper databaseHelper;
+    private DatabaseScope databaseScope;
     private SharedPreferences sharedPreferences;
 
     // Data
     private String currentUserEmail;
     private User currentUser;
+    private MatchPage.PageKey nextPageKey;
+    // Bumped on every reload, so pages requested for an older list are discarded
+    private int listGeneration;
 
     /**
      * Creates and initializes the match user fragment view.
@@ -81,20 +100,20 @@ public class MatchUserFragment extends Fragment {
         View view = inflater.inflate(R.layout.activity_match_user, container, false);
 
         initializeComponents(view);
-
-        if (!loadCurrentUser()) {
-            return view;
-        }
-
-        if (!validateUserTopics()) {
-            return view;
-        }
-
-        loadAndDisplayMatches();
+        loadCurrentUser();
 
         return view;
     }
 
+    /**
+     * Cancels pending database calls so no result is delivered to a destroyed view.
+     */
+    @Override
+    public void onDestroyView() {
+        databaseScope.cancel();
+        super.onDestroyView();
+    }
+
     /**
      * Initializes all components including views and database helper.
      *
@@ -117,10 +136,10 @@ public class MatchUserFragment extends Fragment {
     }
 
     /**
-     * Initializes the database helper.
+     * Initializes the database scope for this view.
      */
     private void initializeDatabase() {
-        databaseHelper = new DatabaseHelper(requireContext());
+        databaseScope = DatabaseManager.getInstance(requireContext()).newScope();
     }
 
     /**
@@ -132,21 +151,64 @@ public class MatchUserFragment extends Fragment {
     }
 
     /**
-     * Loads the current user's data from database.
+     * Loads the current user's data in the background, then their matches.
+     * The lookup re-runs after every change to the users table, and matches
+     * reload only if the current user's matching preferences changed.
+     */
+    private void loadCurrentUser() {
+        String email = currentUserEmail;
+        databaseScope.observe((users, connections) -> users.getUserInfoByEmail(email, UserProjection.MATCHING),
+                this::onCurrentUserLoaded, InvalidationTracker.USERS);
+    }
+
+    /**
+     * Receives the current user and reloads matches from the first page if they
+     * have topics and their matching preferences differ from the loaded ones.
      *
-     * @return true if user loaded successfully, false otherwise
+     * @param user The current user, or null if not found
      */
-    private boolean loadCurrentUser() {
-        currentUser = databaseHelper.getUserInfoByEmail(currentUserEmail);
-
-        if (currentUser != null) {
-            Log.d(TAG, "Current user fetched: " + currentUser.getEmail());
-            Log.d(TAG, "Topics interested: " + currentUser.getTopicInterested());
-            return true;
-        } else {
+    private void onCurrentUserLoaded(User user) {
+        User previousUser = currentUser;
+        currentUser = user;
+        if (previousUser != null && user != null && sameMatchingPreferences(previousUser, user)) {
+            return;
+        }
+        clearMatches();
+
+        if (currentUser == null) {
             Log.e(TAG, "No user found with email: " + currentUserEmail);
-            return false;
+            return;
         }
+
+        Log.d(TAG, "Current user fetched: " + currentUser.getEmail());
+        Log.d(TAG, "Topics interested: " + currentUser.getTopicInterested());
+
+        if (validateUserTopics()) {
+            loadAndDisplayMatches();
+        }
+    }
+
+    /**
+     * Checks whether two loads of the current user would produce the same matches.
+     *
+     * @param a One load of the user
+     * @param b Another load of the user
+     * @return true if topics, study times and difficulty are all equal
+     */
+    private static boolean sameMatchingPreferences(User a, User b) {
+        return a.getTopicMask() == b.getTopicMask()
+                && a.getStudyTimeMask() == b.getStudyTimeMask()
+                && Objects.equals(a.getStudyDifficultyLevel(), b.getStudyDifficultyLevel());
+    }
+
+    /**
+     * Removes the displayed matches and restarts paging from the first page.
+     */
+    private void clearMatches() {
+        listGeneration++;
+        nextPageKey = null;
+        adapter = null;
+        recyclerView.setAdapter(null);
     }
 
     /**
@@ -166,92 +228,74 @@ public class MatchUserFragment extends Fragment {
     }
 
     /**
-     * Loads matched users and displays them in the RecyclerView.
+     * Loads the first page of matched users and displays them in the RecyclerView.
      */
     private void loadAndDisplayMatches() {
-        List<String> currentUserTopics = currentUser.getTopicInterested();
-        ArrayList<User> matchedUsers = getMatchedUsers(currentUserTopics);
-        removeCurrentUserFromMatches(matchedUsers);
+        loadNextPage(this::displayFirstPage, null);
+    }
 
-        if (matchedUsers.isEmpty()) {
+    /**
+     * Displays the first page of matched users.
+     *
+     * @param rankedUsers Matched users on the page, best match first
+     */
+    private void displayFirstPage(List<User> rankedUsers) {
+        if (rankedUsers.isEmpty()) {
             Log.e(TAG, "No users found with matching topics.");
             return;
         }
 
-        Log.d(TAG, "Users retrieved: " + matchedUsers.size());
+        Log.d(TAG, "Users retrieved: " + rankedUsers.size());
 
-        Map<String, List<User>> sectionedData = organizeUsersByTopic(currentUserTopics, matchedUsers);
+        Map<String, List<User>> sectionedData = TopicSections.byTopic(currentUser.getTopicMask(), rankedUsers);
         Log.d(TAG, "Sectioned data size: " + sectionedData.size());
 
         displayMatches(sectionedData);
     }
 
     /**
-     * Retrieves users with matching topic interests.
-     *
-     * @param currentUserTopics List of current user's topics
-     * @return List of matched users
+     * Loads the following page of matches and appends it to the adapter.
      */
-    private ArrayList<User> getMatchedUsers(List<String> currentUserTopics) {
-        if (currentUserTopics == null || currentUserTopics.isEmpty()) {
-            Log.e(TAG, "Current user has no topics to match.");
-            return new ArrayList<>();
+    private void loadAndAppendNextPage() {
+        if (adapter == null || nextPageKey == null) {
+            return;
         }
 
-        return databaseHelper.getUsersWithSameTopics(currentUserTopics, currentUserEmail);
-    }
+        SectionedUserAdapter pagingAdapter = adapter;
+        loadNextPage(rankedUsers -> {
+            adapter.appendSectionedData(TopicSections.byTopic(currentUser.getTopicMask(), rankedUsers));
+            adapter.setHasMorePages(nextPageKey != null);
 
-    /**
-     * Removes the current user from the matched users list.
-     *
-     * @param users List of matched users
-     */
-    private void removeCurrentUserFromMatches(ArrayList<User> users) {
-        users.removeIf(user -> user.getEmail().equals(currentUser.getEmail()));
+            Log.d(TAG, "Appended page of " + rankedUsers.size() + " users");
+        }, error -> {
+            Log.e(TAG, "Failed to load next page of matches", error);
+            pagingAdapter.onLoadMoreFailed();
+        });
     }
 
     /**
-     * Organizes users by their matching topics into sections.
+     * Retrieves the next page of best-scoring users in the background and
+     * advances the page key before handing the page on.
      *
-     * @param currentUserTopics Current user's topic interests
-     * @param users List of matched users
-     * @return Map of topics to lists of users interested in that topic
+     * @param onPage Receives matched users on the page, best match first
+     * @param onError Receives a failed load, or null to log it
      */
-    private Map<String, List<User>> organizeUsersByTopic(List<String> currentUserTopics, ArrayList<User> users) {
-        Map<String, List<User>> sectionedData = new HashMap<>();
-
-        if (users == null || users.isEmpty()) {
-            return sectionedData;
-        }
-
-        for (String topic : currentUserTopics) {
-            List<User> filteredUsers = getUsersForTopic(users, topic);
-
-            if (!filteredUsers.isEmpty()) {
-                sectionedData.put(topic, filteredUsers);
+    private void loadNextPage(DatabaseScope.Callback<List<User>> onPage, DatabaseScope.ErrorCallback onError) {
+        String email = currentUserEmail;
+        MatchPage.PageKey pageKey = nextPageKey;
+        int generation = listGeneration;
+        databaseScope.run((users, connections) -> users.getMatchPage(email, pageKey, PAGE_SIZE), page -> {
+            if (generation != listGeneration) {
+                return;
             }
-        }
-
-        return sectionedData;
-    }
-
-    /**
-     * Filters users who are interested in a specific topic.
-     *
-     * @param users List of users to filter
-     * @param topic Topic to filter by
-     * @return List of users interested in the topic
-     */
-    private List<User> getUsersForTopic(ArrayList<User> users, String topic) {
-        List<User> filteredUsers = new ArrayList<>();
+            nextPageKey = page.getNextKey();
 
-        for (User user : users) {
-            if (user.getTopicInterested() != null && user.getTopicInterested().contains(topic)) {
-                filteredUsers.add(user);
+            List<User> rankedUsers = new ArrayList<>(page.getResults().size());
+            for (MatchResult result : page.getResults()) {
+                rankedUsers.add(result.getUser());
             }
-        }
-
-        return filteredUsers;
+            onPage.onResult(rankedUsers);
+        }, onError);
     }
 
     /**
@@ -260,7 +304,28 @@ public class MatchUserFragment extends Fragment {
      * @param sectionedData Map of topics to user lists
      */
     private void displayMatches(Map<String, List<User>> sectionedData) {
-        SectionedUserAdapter adapter = new SectionedUserAdapter(sectionedData);
+        adapter = new SectionedUserAdapter(sectionedData);
+        adapter.setOnLoadMoreListener(this::loadAndAppendNextPage);
+        adapter.setOnLikeListener(this::sendConnectionRequest);
+        adapter.setHasMorePages(nextPageKey != null);
         recyclerView.setAdapter(adapter);
     }
+
+    /**
+     * Sends the logged-in user's connection request to a liked user in the background.
+     *
+     * @param likedUser User whose card was liked
+     */
+    private void sendConnectionRequest(User likedUser) {
+        String senderEmail = currentUserEmail;
+        String receiverEmail = likedUser.getEmail();
+        databaseScope.write((users, connections) -> connections.insertConnectionRequest(senderEmail, receiverEmail),
+                isConnected -> {
+                    if (isConnected) {
+                        Log.d(TAG, "Connection request sent to " + receiverEmail);
+                    } else {
+                        Log.w(TAG, "Connection request not stored: " + senderEmail + " -> " + receiverEmail);
+                    }
+                });
+    }
 }
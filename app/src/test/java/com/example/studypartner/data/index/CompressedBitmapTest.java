@@ -0,0 +1,98 @@
+package com.example.studypartner.data.index;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests checking {@link CompressedBitmap} against a {@link TreeSet},
+ * across sparse and dense chunks and the conversions between them.
+ */
+public class CompressedBitmapTest {
+
+    @Test
+    public void randomOperationsMatchTreeSet() {
+        Random random = new Random(11L);
+        CompressedBitmap bitmap = new CompressedBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            // Chunk 0 fills up past the array limit, the others stay sparse
+            int value = random.nextBoolean() ? random.nextInt(20_000) : random.nextInt(1 << 20);
+            switch (random.nextInt(3)) {
+                case 0:
+                case 1:
+                    assertEquals(expected.add(value), bitmap.add(value));
+                    break;
+                default:
+                    assertEquals(expected.remove(value), bitmap.remove(value));
+                    break;
+            }
+        }
+
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertEquals(new ArrayList<>(expected), values(bitmap));
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(1 << 20);
+            assertEquals(expected.contains(value), bitmap.contains(value));
+        }
+    }
+
+    @Test
+    public void denseChunkShrinksBackWhenEmptied() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < 65_536; i++) {
+            bitmap.add(i);
+        }
+        long denseBytes = bitmap.sizeInBytes();
+
+        for (int i = 0; i < 65_536; i++) {
+            if (i != 42) {
+                assertTrue(bitmap.remove(i));
+            }
+        }
+
+        assertEquals(1, bitmap.cardinality());
+        assertTrue(bitmap.contains(42));
+        assertTrue(bitmap.sizeInBytes() < denseBytes);
+
+        assertTrue(bitmap.remove(42));
+        assertEquals(0, bitmap.cardinality());
+        assertEquals(0, bitmap.chunkCount());
+    }
+
+    @Test
+    public void duplicateAddsAndMissingRemovesAreNoOps() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        assertTrue(bitmap.add(70_000));
+        assertFalse(bitmap.add(70_000));
+        assertFalse(bitmap.remove(5));
+        assertFalse(bitmap.contains(5));
+        assertEquals(1, bitmap.cardinality());
+    }
+
+    /**
+     * Lists every value through the chunk words, in ascending order.
+     */
+    private static List<Integer> values(CompressedBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        long[] words = new long[CompressedBitmap.WORDS_PER_CHUNK];
+        for (int c = 0; c < bitmap.chunkCount(); c++) {
+            int key = bitmap.chunkKey(c);
+            assertTrue(bitmap.fillChunkWords(key, words));
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values.add((key << 16) | (w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+        return values;
+    }
+}
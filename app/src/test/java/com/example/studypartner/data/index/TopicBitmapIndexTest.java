@@ -0,0 +1,125 @@
+package com.example.studypartner.data.index;
+
+import com.example.studypartner.data.model.StudyPreferences;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link TopicBitmapIndex}: threshold queries checked
+ * against a brute-force count, incremental edits, and the memory and latency
+ * of an index over one million users.
+ */
+public class TopicBitmapIndexTest {
+
+    @Test
+    public void thresholdQueryMatchesBruteForce() {
+        Random random = new Random(3L);
+        int users = 150_000;
+        List<List<String>> topicsByUser = new ArrayList<>();
+        TopicBitmapIndex index = new TopicBitmapIndex();
+        for (int ordinal = 0; ordinal < users; ordinal++) {
+            // Skewed, so some topics fill dense chunks and others stay sparse
+            List<String> topics = new ArrayList<>();
+            for (int t = 0; t < StudyPreferences.TOPICS.length; t++) {
+                if (random.nextInt(StudyPreferences.TOPICS.length * 2) < StudyPreferences.TOPICS.length - t) {
+                    topics.add(StudyPreferences.TOPICS[t]);
+                }
+            }
+            topicsByUser.add(topics);
+            index.updateUser(ordinal, topics);
+        }
+
+        List<String> query = Arrays.asList("Computer Science", "Mathematics", "Physics", "History", "Philosophy");
+        int exclude = 1234;
+        for (int k = 1; k <= query.size() + 1; k++) {
+            assertArrayEquals("k=" + k, bruteForce(topicsByUser, query, k, exclude),
+                    index.findUsersSharingAtLeast(query, k, exclude));
+        }
+        for (String topic : StudyPreferences.TOPICS) {
+            int expected = 0;
+            for (List<String> topics : topicsByUser) {
+                expected += topics.contains(topic) ? 1 : 0;
+            }
+            assertEquals(topic, expected, index.countUsersForTopic(topic));
+        }
+    }
+
+    @Test
+    public void editsReplaceAndRemoveTopics() {
+        TopicBitmapIndex index = new TopicBitmapIndex();
+        index.updateUser(1, Arrays.asList("Biology", "Chemistry"));
+        index.updateUser(2, Arrays.asList("Biology"));
+        index.updateUser(70_000, Arrays.asList("Chemistry", "Physics"));
+
+        assertArrayEquals(new int[]{1, 2}, index.findUsersSharingAtLeast(Arrays.asList("Biology"), 1, -1));
+        assertArrayEquals(new int[]{1, 70_000}, index.findUsersSharingAtLeast(Arrays.asList("Chemistry"), 0, -1));
+        assertArrayEquals(new int[]{70_000}, index.findUsersSharingAtLeast(Arrays.asList("Chemistry"), 1, 1));
+
+        index.updateUser(1, Arrays.asList("Physics"));
+        assertArrayEquals(new int[]{2}, index.findUsersSharingAtLeast(Arrays.asList("Biology"), 1, -1));
+        assertArrayEquals(new int[]{70_000}, index.findUsersSharingAtLeast(
+                Arrays.asList("Chemistry", "Physics"), 2, -1));
+
+        index.removeUser(70_000);
+        assertArrayEquals(new int[]{1}, index.findUsersSharingAtLeast(Arrays.asList("Physics"), 1, -1));
+        assertEquals(0, index.countUsersForTopic("Chemistry"));
+        assertArrayEquals(new int[0], index.findUsersSharingAtLeast(Arrays.asList("Unknown"), 1, -1));
+    }
+
+    @Test
+    public void millionUsersFitInUnderOneAndAHalfMegabytesAndQueryInUnderAMillisecond() {
+        Random random = new Random(1L);
+        TopicBitmapIndex index = new TopicBitmapIndex();
+        List<String> topics = new ArrayList<>();
+        for (int ordinal = 1; ordinal <= 1_000_000; ordinal++) {
+            // Three random topics per user
+            topics.clear();
+            while (topics.size() < 3) {
+                String topic = StudyPreferences.TOPICS[random.nextInt(StudyPreferences.TOPICS.length)];
+                if (!topics.contains(topic)) {
+                    topics.add(topic);
+                }
+            }
+            index.updateUser(ordinal, topics);
+        }
+
+        assertTrue("index uses " + index.sizeInBytes() + " bytes", index.sizeInBytes() < 1_500_000);
+
+        List<String> query = Arrays.asList("Computer Science", "Biology", "Mathematics", "Physics");
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 50; run++) {
+            long start = System.nanoTime();
+            index.findUsersSharingAtLeast(query, 4, -1);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        assertTrue("best k=4 query took " + best / 1000 + " us", best < 1_000_000);
+    }
+
+    /**
+     * Counts shared topics user by user.
+     */
+    private static int[] bruteForce(List<List<String>> topicsByUser, List<String> query, int k, int exclude) {
+        List<Integer> matches = new ArrayList<>();
+        for (int ordinal = 0; ordinal < topicsByUser.size(); ordinal++) {
+            int shared = 0;
+            for (String topic : query) {
+                shared += topicsByUser.get(ordinal).contains(topic) ? 1 : 0;
+            }
+            if (shared >= k && ordinal != exclude) {
+                matches.add(ordinal);
+            }
+        }
+        int[] result = new int[matches.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = matches.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.studypartner.data.match;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link ParallelMatcher}: both modes must select the
+ * same candidates in the same order, ties included.
+ */
+public class ParallelMatcherTest {
+
+    private static final MatchScorer SCORER = new MatchScorer();
+
+    @Test
+    public void parallelMatchesSequentialOnLargePool() {
+        // Several chunks, so the parallel run really forks and merges
+        CandidatePool pool = seededPool(50_000, 42L);
+        MatchProfile self = new MatchProfile(0b0000000111, 0b000011, 1);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            ParallelMatcher matcher = new ParallelMatcher(SCORER, forkJoinPool);
+            for (int k : new int[]{1, 10, 100, 1000}) {
+                TopKHeap.Sorted sequential = matcher.findTopK(self, pool, k, ParallelMatcher.Mode.SEQUENTIAL).sorted();
+                TopKHeap.Sorted parallel = matcher.findTopK(self, pool, k, ParallelMatcher.Mode.PARALLEL).sorted();
+
+                assertEquals(k, sequential.size());
+                assertArrayEquals(sequential.getIds(), parallel.getIds());
+                assertArrayEquals(sequential.getScores(), parallel.getScores(), 0.0);
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void tiedScoresKeepLowestIdsInBothModes() {
+        // Every candidate has the same profile, so every score ties
+        CandidatePool pool = new CandidatePool(40_000);
+        for (int i = 40_000; i > 0; i--) {
+            pool.add(i, 0b11, 0b1, 2);
+        }
+        MatchProfile self = new MatchProfile(0b11, 0b1, 2);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            ParallelMatcher matcher = new ParallelMatcher(SCORER, forkJoinPool);
+            long[] sequential = matcher.findTopK(self, pool, 5, ParallelMatcher.Mode.SEQUENTIAL).sorted().getIds();
+            long[] parallel = matcher.findTopK(self, pool, 5, ParallelMatcher.Mode.PARALLEL).sorted().getIds();
+
+            assertArrayEquals(new long[]{1, 2, 3, 4, 5}, sequential);
+            assertArrayEquals(sequential, parallel);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    /**
+     * Builds a pool with few distinct profiles, so many scores tie, in shuffled ID order.
+     */
+    private static CandidatePool seededPool(int size, long seed) {
+        Random random = new Random(seed);
+        long[] ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+        }
+
+        CandidatePool pool = new CandidatePool(size);
+        for (long id : ids) {
+            pool.add(id, random.nextInt(1 << 4), random.nextInt(1 << 3), random.nextInt(4) - 1);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.studypartner.data.match;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link TopKHeap}: bounded size, eviction of the
+ * worst entry and (score DESC, ID ASC) tie-breaking.
+ */
+public class TopKHeapTest {
+
+    @Test
+    public void sizeNeverExceedsCapacity() {
+        TopKHeap heap = new TopKHeap(3);
+        for (int i = 0; i < 10; i++) {
+            heap.offer(i, i);
+            assertEquals(Math.min(i + 1, 3), heap.size());
+        }
+        assertEquals(3, heap.sorted().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveCapacity() {
+        new TopKHeap(0);
+    }
+
+    @Test
+    public void evictsWorstEntryFirst() {
+        TopKHeap heap = new TopKHeap(3);
+        heap.offer(1, 0.5);
+        heap.offer(2, 0.9);
+        heap.offer(3, 0.1);
+
+        // Evicts 3, the worst
+        assertTrue(heap.offer(4, 0.7));
+        // Worse than everything kept
+        assertFalse(heap.wouldAccept(5, 0.2));
+        assertFalse(heap.offer(5, 0.2));
+
+        TopKHeap.Sorted sorted = heap.sorted();
+        assertArrayEquals(new long[]{2, 4, 1}, sorted.getIds());
+        assertArrayEquals(new double[]{0.9, 0.7, 0.5}, sorted.getScores(), 0.0);
+    }
+
+    @Test
+    public void tiesKeepLowerIds() {
+        TopKHeap heap = new TopKHeap(2);
+        heap.offer(7, 1.0);
+        heap.offer(3, 1.0);
+        heap.offer(5, 1.0);
+        assertFalse(heap.offer(9, 1.0));
+        assertTrue(heap.offer(1, 1.0));
+
+        assertArrayEquals(new long[]{1, 3}, heap.sorted().getIds());
+    }
+
+    @Test
+    public void sortingDoesNotModifyHeap() {
+        TopKHeap heap = new TopKHeap(4);
+        heap.offer(1, 0.3);
+        heap.offer(2, 0.6);
+        long[] first = heap.sorted().getIds();
+
+        heap.offer(3, 0.9);
+        assertArrayEquals(new long[]{2, 1}, first);
+        assertArrayEquals(new long[]{3, 2, 1}, heap.sorted().getIds());
+    }
+
+    @Test
+    public void matchesFullSortOfRandomStream() {
+        Random random = new Random(7L);
+        int count = 5000;
+        int k = 50;
+        long[][] entries = new long[count][];
+        TopKHeap heap = new TopKHeap(k);
+        TopKHeap merged = new TopKHeap(k);
+        TopKHeap[] halves = {new TopKHeap(k), new TopKHeap(k)};
+        for (int i = 0; i < count; i++) {
+            // Few distinct scores, so ties are common
+            int score = random.nextInt(20);
+            entries[i] = new long[]{score, i};
+            heap.offer(i, score);
+            halves[i % 2].offer(i, score);
+        }
+        merged.merge(halves[0]);
+        merged.merge(halves[1]);
+
+        Arrays.sort(entries, Comparator.<long[]>comparingLong(e -> -e[0]).thenComparingLong(e -> e[1]));
+        long[] expectedIds = new long[k];
+        double[] expectedScores = new double[k];
+        for (int i = 0; i < k; i++) {
+            expectedScores[i] = entries[i][0];
+            expectedIds[i] = entries[i][1];
+        }
+
+        TopKHeap.Sorted sorted = heap.sorted();
+        assertArrayEquals(expectedIds, sorted.getIds());
+        assertArrayEquals(expectedScores, sorted.getScores(), 0.0);
+        assertArrayEquals(expectedIds, merged.sorted().getIds());
+    }
+}
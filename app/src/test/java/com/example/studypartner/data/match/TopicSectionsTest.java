@@ -0,0 +1,149 @@
+package com.example.studypartner.data.match;
+
+import com.example.studypartner.data.model.StudyPreferences;
+import com.example.studypartner.data.model.User;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link TopicSections}: catalog section order, users in
+ * several sections, merging later pages, and work that grows linearly with the
+ * number of users.
+ */
+public class TopicSectionsTest {
+
+    @Test
+    public void sectionsFollowCatalogOrderWhateverTheInputOrder() {
+        int self = StudyPreferences.encodeTopics(Arrays.asList("Philosophy", "Biology", "Physics"));
+        List<User> users = Arrays.asList(
+                user("a", "Philosophy"),
+                user("b", "Physics"),
+                user("c", "Biology"));
+
+        Map<String, List<User>> sections = TopicSections.byTopic(self, users);
+        assertEquals(Arrays.asList("Biology", "Physics", "Philosophy"), new ArrayList<>(sections.keySet()));
+
+        Collections.reverse(users);
+        assertEquals(new ArrayList<>(sections.keySet()),
+                new ArrayList<>(TopicSections.byTopic(self, users).keySet()));
+    }
+
+    @Test
+    public void userSharingSeveralTopicsAppearsInEachSection() {
+        int self = StudyPreferences.encodeTopics(Arrays.asList("Biology", "Chemistry", "History"));
+        User both = user("both", "Biology", "Chemistry", "English");
+        User biology = user("biology", "Biology");
+        User none = user("none", "French");
+        User chemistry = user("chemistry", "Chemistry");
+
+        Map<String, List<User>> sections = TopicSections.byTopic(self,
+                Arrays.asList(both, biology, none, chemistry));
+
+        assertEquals(Arrays.asList("Biology", "Chemistry"), new ArrayList<>(sections.keySet()));
+        // Display order is kept within each section
+        assertEquals(Arrays.asList(both, biology), sections.get("Biology"));
+        assertEquals(Arrays.asList(both, chemistry), sections.get("Chemistry"));
+    }
+
+    @Test
+    public void noSharedTopicsGivesNoSections() {
+        List<User> users = Arrays.asList(user("a", "Biology"));
+        assertTrue(TopicSections.byTopic(0, users).isEmpty());
+        assertTrue(TopicSections.byTopic(StudyPreferences.encodeTopics("Physics"), users).isEmpty());
+        assertTrue(TopicSections.byTopic(StudyPreferences.encodeTopics("Physics"), null).isEmpty());
+    }
+
+    @Test
+    public void mergedPageSectionsTakeTheirCatalogPlace() {
+        int self = StudyPreferences.encodeTopics(Arrays.asList("Biology", "Physics", "Philosophy"));
+        User first = user("first", "Physics");
+        User second = user("second", "Biology", "Philosophy");
+        User third = user("third", "Physics");
+
+        Map<String, List<User>> sections = TopicSections.byTopic(self, Arrays.asList(first));
+        Map<String, List<User>> merged = TopicSections.merge(sections,
+                TopicSections.byTopic(self, Arrays.asList(second, third)));
+
+        // Biology and Philosophy first appear on page two, yet sit where one load would put them
+        assertEquals(Arrays.asList("Biology", "Physics", "Philosophy"), new ArrayList<>(merged.keySet()));
+        assertEquals(TopicSections.byTopic(self, Arrays.asList(first, second, third)), merged);
+        assertEquals(Arrays.asList(first, third), merged.get("Physics"));
+
+        // Inputs are left as they were
+        assertEquals(Arrays.asList("Physics"), new ArrayList<>(sections.keySet()));
+        assertEquals(Arrays.asList(first), sections.get("Physics"));
+    }
+
+    @Test
+    public void sectionsOutsideTheCatalogFollowCatalogSections() {
+        Map<String, List<User>> sections = new LinkedHashMap<>();
+        sections.put("Astronomy", new ArrayList<>(Arrays.asList(user("a"))));
+        Map<String, List<User>> page = new LinkedHashMap<>();
+        page.put("History", new ArrayList<>(Arrays.asList(user("b"))));
+        page.put("Art", new ArrayList<>(Arrays.asList(user("c"))));
+
+        Map<String, List<User>> merged = TopicSections.merge(sections, page);
+        assertEquals(Arrays.asList("History", "Astronomy", "Art"), new ArrayList<>(merged.keySet()));
+    }
+
+    @Test
+    public void sectioningScalesLinearly() {
+        int self = (1 << StudyPreferences.TOPICS.length) - 1;
+        List<User> small = randomUsers(50_000, 5L);
+        List<User> large = randomUsers(400_000, 5L);
+
+        // Every shared topic bit lands the user in exactly one more section
+        long entries = 0;
+        for (List<User> section : TopicSections.byTopic(self, large).values()) {
+            entries += section.size();
+        }
+        long expected = 0;
+        for (User user : large) {
+            expected += Integer.bitCount(user.getTopicMask());
+        }
+        assertEquals(expected, entries);
+
+        // 8x the users should take about 8x the time; allow generous noise
+        long smallNanos = bestOf(self, small);
+        long largeNanos = bestOf(self, large);
+        assertTrue("50k users: " + smallNanos / 1000 + " us, 400k users: " + largeNanos / 1000 + " us",
+                largeNanos < smallNanos * 24);
+    }
+
+    private static long bestOf(int self, List<User> users) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 15; run++) {
+            long start = System.nanoTime();
+            TopicSections.byTopic(self, users);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static List<User> randomUsers(int count, long seed) {
+        Random random = new Random(seed);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User("user" + i + "@example.com");
+            user.setTopicMask(random.nextInt(1 << StudyPreferences.TOPICS.length));
+            users.add(user);
+        }
+        return users;
+    }
+
+    private static User user(String name, String... topics) {
+        User user = new User(name + "@example.com");
+        user.setTopicInterested(new ArrayList<>(Arrays.asList(topics)));
+        return user;
+    }
+}
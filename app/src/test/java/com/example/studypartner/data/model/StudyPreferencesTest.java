@@ -0,0 +1,87 @@
+package com.example.studypartner.data.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the {@link StudyPreferences} codecs and the
+ * read-only preference lists of {@link User}.
+ */
+public class StudyPreferencesTest {
+
+    @Test
+    public void everyTopicMaskRoundTrips() {
+        for (int mask = 0; mask < 1 << StudyPreferences.TOPICS.length; mask++) {
+            List<String> topics = StudyPreferences.decodeTopics(mask);
+            assertEquals(mask, StudyPreferences.encodeTopics(topics));
+            assertEquals(mask, StudyPreferences.encodeTopics(String.join(", ", topics)));
+        }
+    }
+
+    @Test
+    public void everyStudyTimeMaskRoundTrips() {
+        for (int mask = 0; mask < 1 << StudyPreferences.STUDY_TIMES.length; mask++) {
+            List<String> studyTimes = StudyPreferences.decodeStudyTimes(mask);
+            assertEquals(mask, StudyPreferences.encodeStudyTimes(studyTimes));
+            assertEquals(mask, StudyPreferences.encodeStudyTimes(String.join(",", studyTimes)));
+        }
+    }
+
+    @Test
+    public void csvEncodingTrimsIgnoresCaseAndOrder() {
+        assertEquals(StudyPreferences.encodeTopics(Arrays.asList("Biology", "Physics")),
+                StudyPreferences.encodeTopics("  physics ,BIOLOGY,"));
+        assertEquals(StudyPreferences.encodeStudyTimes(Arrays.asList("Weekend Evening")),
+                StudyPreferences.encodeStudyTimes("Weekend Evening, Weekend Evening"));
+    }
+
+    @Test
+    public void valuesOutsideCatalogAreDiscarded() {
+        assertEquals(0, StudyPreferences.encodeTopics((String) null));
+        assertEquals(0, StudyPreferences.encodeTopics(Collections.<String>emptyList()));
+        assertEquals(StudyPreferences.encodeTopics(Arrays.asList("History")),
+                StudyPreferences.encodeTopics("Astrology, History, Comp"));
+        assertEquals(StudyPreferences.encodeStudyTimes(Arrays.asList("Weekday Morning")),
+                StudyPreferences.encodeStudyTimes(Arrays.asList("Midnight", "Weekday Morning", null)));
+    }
+
+    @Test
+    public void unknownTopicsAreCountedWhereTheyAreDiscarded() {
+        assertEquals(0, StudyPreferences.countUnknownTopics(null));
+        assertEquals(2, StudyPreferences.countUnknownTopics(Arrays.asList("Astrology", " physics ", "", null, "Comp")));
+
+        User user = new User("student@example.com");
+        user.setTopicInterested(new ArrayList<>(Arrays.asList("Physics", "Astrology")));
+        assertEquals(1, user.getDiscardedTopicCount());
+        user.setTopicMask(StudyPreferences.encodeTopics("Biology"));
+        assertEquals(0, user.getDiscardedTopicCount());
+    }
+
+    @Test
+    public void userListsAreReadOnlyCatalogValues() {
+        User user = new User("student@example.com");
+        user.setTopicInterested(new ArrayList<>(Arrays.asList("Physics", "Astrology", "Biology")));
+        user.setPreferredStudyTime(new ArrayList<>(Arrays.asList("Weekend Morning")));
+
+        assertEquals(Arrays.asList("Biology", "Physics"), user.getTopicInterested());
+        assertEquals(Arrays.asList("Weekend Morning"), user.getPreferredStudyTime());
+        try {
+            user.getTopicInterested().add("Chemistry");
+            fail("Topic list should be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // Topics change through setTopicInterested only
+        }
+        try {
+            user.getPreferredStudyTime().clear();
+            fail("Study time list should be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // Study times change through setPreferredStudyTime only
+        }
+    }
+}